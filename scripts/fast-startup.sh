@@ -0,0 +1,44 @@
+#!/usr/bin/env bash
+# Usage: scripts/fast-startup.sh archive|run [application args...]
+#   archive - builds the AOT jar, unpacks it to target/fast-startup and records an AppCDS archive
+#             from a training run (needs a reachable database, e.g. SPRING_DATASOURCE_URL/USERNAME/PASSWORD)
+#   run     - starts the unpacked application with AOT bean definitions and the CDS archive
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+JAR=target/aot/ApplicationManager-0.0.1-SNAPSHOT.jar
+OUT=target/fast-startup
+MAIN=roman.lazarchik.ApplicationManager.ApplicationManagerApplication
+JVM_OPTS=(-Dspring.aot.enabled=true -Dspring.profiles.active=fast-startup)
+
+# CDS only archives classes loaded from jars, so the application classes are repacked into application.jar
+unpack() {
+  rm -rf "$OUT" && mkdir -p "$OUT/tmp"
+  (cd "$OUT/tmp" && jar -xf "../../../$JAR")
+  jar -cf "$OUT/application.jar" -C "$OUT/tmp/BOOT-INF/classes" .
+  mv "$OUT"/tmp/BOOT-INF/lib "$OUT/lib"
+  mv "$OUT"/tmp/BOOT-INF/classpath.idx "$OUT/classpath.idx"
+  rm -rf "$OUT/tmp"
+}
+
+classpath() {
+  echo "$OUT/application.jar:$(sed -e 's/^- "BOOT-INF\/\(.*\)"$/\1/' -e "s|^|$OUT/|" "$OUT/classpath.idx" | paste -sd: -)"
+}
+
+case "${1:-}" in
+  archive)
+    shift
+    mvn -B -q -Pfast-startup -DskipTests package
+    unpack
+    java -XX:ArchiveClassesAtExit="$OUT/application.jsa" "${JVM_OPTS[@]}" -cp "$(classpath)" "$MAIN" \
+      --application.startup.exit-on-ready=true "$@"
+    ;;
+  run)
+    shift
+    exec java -XX:SharedArchiveFile="$OUT/application.jsa" "${JVM_OPTS[@]}" -cp "$(classpath)" "$MAIN" "$@"
+    ;;
+  *)
+    sed -n '2,5p' "$0"
+    exit 1
+    ;;
+esac
@@ -0,0 +1,109 @@
+package db.migration.common;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+import roman.lazarchik.ApplicationManager.analytics.DurationHistogram;
+import roman.lazarchik.ApplicationManager.models.ApplicationStatus;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.HashMap;
+import java.util.Map;
+
+public class V11__transition_duration_rollup extends BaseJavaMigration {
+
+    private static final int BATCH_SIZE = 1000;
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        Connection connection = context.getConnection();
+        try (Statement ddl = connection.createStatement()) {
+            ddl.execute("CREATE TABLE IF NOT EXISTS transition_duration_rollup ("
+                    + "from_status VARCHAR(255) NOT NULL, to_status VARCHAR(255) NOT NULL, period_start TIMESTAMP(6) NOT NULL, "
+                    + "bucket INTEGER NOT NULL, samples BIGINT NOT NULL, PRIMARY KEY (from_status, to_status, period_start, bucket))");
+            ddl.execute("ALTER TABLE application ADD COLUMN IF NOT EXISTS status_changed_at TIMESTAMP(6)");
+        }
+
+        Map<Cell, Long> cells = new HashMap<>();
+        try (Statement select = connection.createStatement();
+             PreparedStatement statusChanged = connection.prepareStatement("UPDATE application SET status_changed_at = ? WHERE id = ?")) {
+            select.setFetchSize(BATCH_SIZE);
+            long application = -1;
+            ApplicationStatus previous = null;
+            LocalDateTime since = null;
+            int pending = 0;
+            try (ResultSet rs = select.executeQuery("SELECT h.application_id, h.status, h.timestamp, a.created_at "
+                    + "FROM application_history h JOIN application a ON a.id = h.application_id "
+                    + "WHERE h.status IS NOT NULL AND h.timestamp IS NOT NULL ORDER BY h.application_id, h.id")) {
+                while (rs.next()) {
+                    long id = rs.getLong("application_id");
+                    ApplicationStatus status = ApplicationStatus.valueOf(rs.getString("status"));
+                    LocalDateTime at = rs.getObject("timestamp", LocalDateTime.class);
+                    LocalDateTime createdAt = rs.getObject("created_at", LocalDateTime.class);
+                    if (id != application) {
+                        pending += flush(statusChanged, application, since);
+                        if (pending == BATCH_SIZE) {
+                            statusChanged.executeBatch();
+                            pending = 0;
+                        }
+                        application = id;
+                        previous = status;
+                        since = at;
+                        continue;
+                    }
+                    if (status == previous) {
+                        continue;
+                    }
+                    cells.merge(Cell.of(previous, status, at, Duration.between(since, at)), 1L, Long::sum);
+                    if (previous != ApplicationStatus.CREATED && createdAt != null) {
+                        cells.merge(Cell.of(ApplicationStatus.CREATED, status, at, Duration.between(createdAt, at)), 1L, Long::sum);
+                    }
+                    previous = status;
+                    since = at;
+                }
+            }
+            flush(statusChanged, application, since);
+            statusChanged.executeBatch();
+        }
+
+        try (PreparedStatement insert = connection.prepareStatement("INSERT INTO transition_duration_rollup "
+                + "(from_status, to_status, period_start, bucket, samples) VALUES (?, ?, ?, ?, ?)")) {
+            int pending = 0;
+            for (Map.Entry<Cell, Long> cell : cells.entrySet()) {
+                insert.setString(1, cell.getKey().from().name());
+                insert.setString(2, cell.getKey().to().name());
+                insert.setObject(3, cell.getKey().hour());
+                insert.setInt(4, cell.getKey().bucket());
+                insert.setLong(5, cell.getValue());
+                insert.addBatch();
+                if (++pending == BATCH_SIZE) {
+                    insert.executeBatch();
+                    pending = 0;
+                }
+            }
+            insert.executeBatch();
+        }
+    }
+
+    private static int flush(PreparedStatement statusChanged, long application, LocalDateTime since) throws Exception {
+        if (since == null) {
+            return 0;
+        }
+        statusChanged.setObject(1, since);
+        statusChanged.setLong(2, application);
+        statusChanged.addBatch();
+        return 1;
+    }
+
+    private record Cell(ApplicationStatus from, ApplicationStatus to, LocalDateTime hour, int bucket) {
+
+        static Cell of(ApplicationStatus from, ApplicationStatus to, LocalDateTime at, Duration duration) {
+            return new Cell(from, to, at.truncatedTo(ChronoUnit.HOURS), DurationHistogram.bucketOf(duration));
+        }
+    }
+}
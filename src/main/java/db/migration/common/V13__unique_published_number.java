@@ -0,0 +1,56 @@
+package db.migration.common;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+public class V13__unique_published_number extends BaseJavaMigration {
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        Connection connection = context.getConnection();
+
+        List<Long> duplicates = new ArrayList<>();
+        try (Statement select = connection.createStatement();
+             ResultSet rs = select.executeQuery("SELECT a.id FROM application a "
+                     + "WHERE a.published_number IS NOT NULL AND EXISTS (SELECT 1 FROM application b "
+                     + "WHERE b.published_number = a.published_number AND b.id < a.id) "
+                     + "ORDER BY a.published_number, a.id")) {
+            while (rs.next()) {
+                duplicates.add(rs.getLong("id"));
+            }
+        }
+
+        if (!duplicates.isEmpty()) {
+            long next;
+            try (Statement select = connection.createStatement();
+                 ResultSet rs = select.executeQuery("SELECT COALESCE(MAX(published_number), 0) FROM application")) {
+                rs.next();
+                next = rs.getLong(1) + 1;
+            }
+            try (PreparedStatement renumber = connection.prepareStatement("UPDATE application SET published_number = ? WHERE id = ?")) {
+                for (Long id : duplicates) {
+                    renumber.setLong(1, next++);
+                    renumber.setLong(2, id);
+                    renumber.addBatch();
+                }
+                renumber.executeBatch();
+            }
+            try (PreparedStatement counter = connection.prepareStatement("UPDATE published_number_counter SET allocated = ? WHERE allocated < ?")) {
+                counter.setLong(1, next - 1);
+                counter.setLong(2, next - 1);
+                counter.executeUpdate();
+            }
+        }
+
+        try (Statement ddl = connection.createStatement()) {
+            ddl.execute("CREATE UNIQUE INDEX IF NOT EXISTS ux_application_published_number ON application (published_number)");
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package db.migration.common;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+import roman.lazarchik.ApplicationManager.models.ContentCodec;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+public class V7__application_content_blobs extends BaseJavaMigration {
+
+    private static final int BATCH_SIZE = 500;
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        Connection connection = context.getConnection();
+        try (Statement ddl = connection.createStatement()) {
+            ddl.execute("CREATE TABLE IF NOT EXISTS application_content (hash VARCHAR(64) PRIMARY KEY, data BYTEA NOT NULL)");
+            ddl.execute("ALTER TABLE application ADD COLUMN IF NOT EXISTS content_hash VARCHAR(64)");
+        }
+
+        try (Statement select = connection.createStatement();
+             PreparedStatement insertBlob = connection.prepareStatement("INSERT INTO application_content (hash, data) "
+                     + "SELECT ?, ? WHERE NOT EXISTS (SELECT 1 FROM application_content WHERE hash = ?)");
+             PreparedStatement updateHash = connection.prepareStatement("UPDATE application SET content_hash = ? WHERE id = ?")) {
+            select.setFetchSize(BATCH_SIZE);
+            int pending = 0;
+            try (ResultSet rs = select.executeQuery("SELECT id, content FROM application WHERE content IS NOT NULL ORDER BY id")) {
+                while (rs.next()) {
+                    String content = rs.getString("content");
+                    String hash = ContentCodec.hash(content);
+                    insertBlob.setString(1, hash);
+                    insertBlob.setBytes(2, ContentCodec.compress(content));
+                    insertBlob.setString(3, hash);
+                    insertBlob.executeUpdate();
+                    updateHash.setString(1, hash);
+                    updateHash.setLong(2, rs.getLong("id"));
+                    updateHash.addBatch();
+                    if (++pending == BATCH_SIZE) {
+                        updateHash.executeBatch();
+                        pending = 0;
+                    }
+                }
+            }
+            if (pending > 0) {
+                updateHash.executeBatch();
+            }
+        }
+
+        try (Statement ddl = connection.createStatement()) {
+            ddl.execute("DROP INDEX IF EXISTS idx_application_name_content");
+            ddl.execute("CREATE INDEX IF NOT EXISTS idx_application_name_content_hash ON application (name, content_hash)");
+        }
+    }
+}
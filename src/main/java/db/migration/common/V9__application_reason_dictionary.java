@@ -0,0 +1,49 @@
+package db.migration.common;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+import roman.lazarchik.ApplicationManager.models.ReasonCodec;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+public class V9__application_reason_dictionary extends BaseJavaMigration {
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        Connection connection = context.getConnection();
+        try (Statement ddl = connection.createStatement()) {
+            ddl.execute("CREATE TABLE IF NOT EXISTS application_reason (code BIGINT PRIMARY KEY, text VARCHAR(255) NOT NULL)");
+            ddl.execute("ALTER TABLE application ADD COLUMN IF NOT EXISTS reason_code BIGINT");
+        }
+
+        List<String> reasons = new ArrayList<>();
+        try (Statement select = connection.createStatement();
+             ResultSet rs = select.executeQuery("SELECT reason FROM application WHERE reason IS NOT NULL "
+                     + "GROUP BY reason HAVING COUNT(*) > 1")) {
+            while (rs.next()) {
+                reasons.add(rs.getString("reason"));
+            }
+        }
+
+        try (PreparedStatement insertReason = connection.prepareStatement("INSERT INTO application_reason (code, text) VALUES (?, ?)")) {
+            for (String reason : reasons) {
+                insertReason.setLong(1, ReasonCodec.code(reason));
+                insertReason.setString(2, reason);
+                insertReason.addBatch();
+            }
+            insertReason.executeBatch();
+        }
+
+        try (Statement encode = connection.createStatement()) {
+            encode.executeUpdate("UPDATE application SET "
+                    + "reason_code = (SELECT r.code FROM application_reason r WHERE r.text = application.reason), "
+                    + "reason = NULL "
+                    + "WHERE reason IN (SELECT text FROM application_reason)");
+        }
+    }
+}
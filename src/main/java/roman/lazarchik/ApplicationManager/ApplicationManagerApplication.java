@@ -2,8 +2,10 @@ package roman.lazarchik.ApplicationManager;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class ApplicationManagerApplication {
 
     public static void main(String[] args) {
@@ -0,0 +1,68 @@
+package roman.lazarchik.ApplicationManager.analytics;
+
+import java.time.Duration;
+import java.util.Arrays;
+
+public class DurationHistogram {
+
+    public static final int BUCKETS = 200;
+
+    private static final double STEP = Math.log(2) / 4;
+
+    private final long[] counts = new long[BUCKETS];
+    private long total;
+
+    public static int bucketOf(Duration duration) {
+        long millis = Math.max(duration.toMillis(), 0);
+        if (millis < 1) {
+            return 0;
+        }
+        return (int) Math.min(BUCKETS - 1, 1 + (long) Math.floor(Math.log(millis) / STEP));
+    }
+
+    public static Duration upperBound(int bucket) {
+        return bucket == 0 ? Duration.ZERO : Duration.ofMillis((long) Math.ceil(Math.exp(bucket * STEP)));
+    }
+
+    public void add(int bucket, long samples) {
+        counts[bucket] += samples;
+        total += samples;
+    }
+
+    public DurationHistogram merge(DurationHistogram other) {
+        for (int bucket = 0; bucket < BUCKETS; bucket++) {
+            counts[bucket] += other.counts[bucket];
+        }
+        total += other.total;
+        return this;
+    }
+
+    public long getCount() {
+        return total;
+    }
+
+    public Duration percentile(double quantile) {
+        if (total == 0) {
+            return null;
+        }
+        long rank = Math.max(1, (long) Math.ceil(quantile * total));
+        long seen = 0;
+        for (int bucket = 0; bucket < BUCKETS; bucket++) {
+            seen += counts[bucket];
+            if (seen >= rank) {
+                return upperBound(bucket);
+            }
+        }
+        return upperBound(BUCKETS - 1);
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof DurationHistogram histogram && Arrays.equals(counts, histogram.counts);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(counts);
+    }
+}
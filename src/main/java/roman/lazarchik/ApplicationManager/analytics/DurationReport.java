@@ -0,0 +1,21 @@
+package roman.lazarchik.ApplicationManager.analytics;
+
+import roman.lazarchik.ApplicationManager.models.ApplicationStatus;
+
+import java.util.List;
+
+public record DurationReport(ApplicationStatus from, ApplicationStatus to, List<DurationWindow> windows) {
+
+    public DurationReport merge(DurationReport other) {
+        for (int i = 0; i < windows.size(); i++) {
+            windows.get(i).histogram().merge(other.windows().get(i).histogram());
+        }
+        return this;
+    }
+
+    public DurationReport copy() {
+        return new DurationReport(from, to, windows.stream()
+                .map(window -> new DurationWindow(window.start(), window.end(), new DurationHistogram().merge(window.histogram())))
+                .toList());
+    }
+}
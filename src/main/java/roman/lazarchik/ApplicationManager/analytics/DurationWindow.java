@@ -0,0 +1,6 @@
+package roman.lazarchik.ApplicationManager.analytics;
+
+import java.time.LocalDateTime;
+
+public record DurationWindow(LocalDateTime start, LocalDateTime end, DurationHistogram histogram) {
+}
@@ -0,0 +1,9 @@
+package roman.lazarchik.ApplicationManager.analytics;
+
+import roman.lazarchik.ApplicationManager.models.ApplicationStatus;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+public record TransitionSample(ApplicationStatus from, ApplicationStatus to, LocalDateTime at, Duration duration) {
+}
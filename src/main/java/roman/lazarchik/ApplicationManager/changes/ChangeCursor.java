@@ -0,0 +1,58 @@
+package roman.lazarchik.ApplicationManager.changes;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.stream.Collectors;
+
+public record ChangeCursor(long[] positions) {
+
+    public static final ChangeCursor START = new ChangeCursor(new long[0]);
+
+    public long position(int shard) {
+        return shard < positions.length ? positions[shard] : 0;
+    }
+
+    public ChangeCursor advance(int shard, long position) {
+        long[] advanced = Arrays.copyOf(positions, Math.max(positions.length, shard + 1));
+        advanced[shard] = Math.max(advanced[shard], position);
+        return new ChangeCursor(advanced);
+    }
+
+    public String encode() {
+        String joined = Arrays.stream(positions).mapToObj(Long::toString).collect(Collectors.joining(","));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(joined.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static ChangeCursor decode(String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return START;
+        }
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            long[] positions = decoded.isEmpty() ? new long[0]
+                    : Arrays.stream(decoded.split(",", -1)).mapToLong(Long::parseLong).toArray();
+            if (Arrays.stream(positions).anyMatch(position -> position < 0)) {
+                throw new IllegalArgumentException("Negative position");
+            }
+            return new ChangeCursor(positions);
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid change cursor: " + cursor, e);
+        }
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof ChangeCursor cursor && Arrays.equals(positions, cursor.positions);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(positions);
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(positions);
+    }
+}
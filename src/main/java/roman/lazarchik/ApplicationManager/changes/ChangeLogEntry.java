@@ -0,0 +1,6 @@
+package roman.lazarchik.ApplicationManager.changes;
+
+import java.time.LocalDateTime;
+
+public record ChangeLogEntry(long historyId, long applicationId, LocalDateTime timestamp) {
+}
@@ -0,0 +1,12 @@
+package roman.lazarchik.ApplicationManager.changes;
+
+import roman.lazarchik.ApplicationManager.models.Application;
+
+import java.util.List;
+
+public record ChangePage(List<Application> applications, ChangeCursor next, boolean hasMore) {
+
+    public String nextCursor() {
+        return next.encode();
+    }
+}
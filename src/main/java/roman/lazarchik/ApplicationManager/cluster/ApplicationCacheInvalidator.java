@@ -0,0 +1,63 @@
+package roman.lazarchik.ApplicationManager.cluster;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import roman.lazarchik.ApplicationManager.config.CacheConfig;
+
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+@Component
+public class ApplicationCacheInvalidator implements DisposableBean {
+
+    private final CacheManager cacheManager;
+    private final Duration reEvictDelay;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "application-cache-re-evict");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public ApplicationCacheInvalidator(CacheManager cacheManager,
+                                       @Value("${application.cache.re-evict-delay:5s}") Duration reEvictDelay) {
+        this.cacheManager = cacheManager;
+        this.reEvictDelay = reEvictDelay;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onApplicationChanged(ApplicationChangedEvent event) {
+        evict(event.applicationId());
+    }
+
+    public void evict(long applicationId) {
+        evictNow(applicationId);
+        if (!reEvictDelay.isZero()) {
+            scheduler.schedule(() -> evictNow(applicationId), reEvictDelay.toMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    public void clear() {
+        Cache cache = cacheManager.getCache(CacheConfig.APPLICATIONS);
+        if (cache != null) {
+            cache.clear();
+        }
+    }
+
+    @Override
+    public void destroy() {
+        scheduler.shutdownNow();
+    }
+
+    private void evictNow(long applicationId) {
+        Cache cache = cacheManager.getCache(CacheConfig.APPLICATIONS);
+        if (cache != null) {
+            cache.evict(applicationId);
+        }
+    }
+}
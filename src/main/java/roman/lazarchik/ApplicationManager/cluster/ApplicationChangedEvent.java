@@ -0,0 +1,4 @@
+package roman.lazarchik.ApplicationManager.cluster;
+
+public record ApplicationChangedEvent(Long applicationId) {
+}
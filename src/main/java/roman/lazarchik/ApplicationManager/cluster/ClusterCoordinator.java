@@ -0,0 +1,53 @@
+package roman.lazarchik.ApplicationManager.cluster;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.UUID;
+
+@Slf4j
+public class ClusterCoordinator implements InvalidationListener, InitializingBean, DisposableBean {
+
+    private final String nodeId = UUID.randomUUID().toString();
+    private final InvalidationTransport transport;
+    private final ApplicationCacheInvalidator invalidator;
+
+    public ClusterCoordinator(InvalidationTransport transport, ApplicationCacheInvalidator invalidator) {
+        this.transport = transport;
+        this.invalidator = invalidator;
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        transport.start(this);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onApplicationChanged(ApplicationChangedEvent event) {
+        transport.publish(nodeId, event.applicationId());
+    }
+
+    @Override
+    public void onInvalidation(String sourceNodeId, long applicationId) {
+        if (!nodeId.equals(sourceNodeId)) {
+            invalidator.evict(applicationId);
+        }
+    }
+
+    @Override
+    public void onReset() {
+        log.info("Invalidation stream reset, clearing local application cache");
+        invalidator.clear();
+    }
+
+    @Override
+    public void destroy() {
+        transport.stop();
+    }
+}
@@ -0,0 +1,8 @@
+package roman.lazarchik.ApplicationManager.cluster;
+
+public interface InvalidationListener {
+
+    void onInvalidation(String nodeId, long applicationId);
+
+    void onReset();
+}
@@ -0,0 +1,10 @@
+package roman.lazarchik.ApplicationManager.cluster;
+
+public interface InvalidationTransport {
+
+    void start(InvalidationListener listener);
+
+    void publish(String nodeId, long applicationId);
+
+    void stop();
+}
@@ -0,0 +1,97 @@
+package roman.lazarchik.ApplicationManager.cluster;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+public class PollingChangeTableTransport implements InvalidationTransport {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Duration pollInterval;
+    private final Duration overlap;
+    private final Duration retention;
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "cluster-change-poller");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final Map<Long, LocalDateTime> seen = new HashMap<>();
+
+    private InvalidationListener listener;
+    private LocalDateTime cursor;
+    private boolean failing;
+
+    public PollingChangeTableTransport(DataSource dataSource, Duration pollInterval, Duration overlap, Duration retention) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.pollInterval = pollInterval;
+        this.overlap = overlap;
+        this.retention = retention;
+    }
+
+    @Override
+    public void start(InvalidationListener listener) {
+        this.listener = listener;
+        cursor = databaseTime();
+        executor.scheduleWithFixedDelay(this::poll, pollInterval.toMillis(), pollInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void publish(String nodeId, long applicationId) {
+        executor.execute(() -> {
+            try {
+                jdbcTemplate.update("INSERT INTO application_change (node_id, application_id) VALUES (?, ?)", nodeId, applicationId);
+            } catch (DataAccessException e) {
+                log.warn("Failed to record invalidation for application {}", applicationId, e);
+            }
+        });
+    }
+
+    @Override
+    public void stop() {
+        executor.shutdown();
+    }
+
+    void poll() {
+        try {
+            LocalDateTime from = cursor.minus(overlap);
+            jdbcTemplate.query("SELECT id, node_id, application_id, changed_at FROM application_change "
+                    + "WHERE changed_at >= ? ORDER BY changed_at", rs -> {
+                long id = rs.getLong("id");
+                LocalDateTime changedAt = rs.getTimestamp("changed_at").toLocalDateTime();
+                if (seen.putIfAbsent(id, changedAt) == null) {
+                    listener.onInvalidation(rs.getString("node_id"), rs.getLong("application_id"));
+                }
+                if (changedAt.isAfter(cursor)) {
+                    cursor = changedAt;
+                }
+            }, Timestamp.valueOf(from));
+            seen.values().removeIf(changedAt -> changedAt.isBefore(from));
+            jdbcTemplate.update("DELETE FROM application_change WHERE changed_at < ?", Timestamp.valueOf(cursor.minus(retention)));
+
+            if (failing) {
+                failing = false;
+                listener.onReset();
+            }
+        } catch (DataAccessException e) {
+            if (!failing) {
+                log.warn("Failed to poll application changes", e);
+            }
+            failing = true;
+        }
+    }
+
+    private LocalDateTime databaseTime() {
+        return jdbcTemplate.queryForObject("SELECT LOCALTIMESTAMP", Timestamp.class).toLocalDateTime();
+    }
+}
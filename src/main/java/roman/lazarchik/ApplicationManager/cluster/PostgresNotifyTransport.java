@@ -0,0 +1,125 @@
+package roman.lazarchik.ApplicationManager.cluster;
+
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.regex.Pattern;
+
+@Slf4j
+public class PostgresNotifyTransport implements InvalidationTransport {
+
+    private static final Pattern CHANNEL = Pattern.compile("[a-z_][a-z0-9_]*");
+    private static final int RECEIVE_TIMEOUT_MILLIS = 500;
+
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+    private final String channel;
+    private final Duration reconnectDelay;
+    private final ExecutorService sender = Executors.newSingleThreadExecutor(runnable -> daemon(runnable, "cluster-notify-sender"));
+
+    private volatile boolean running;
+    private Thread receiver;
+
+    public PostgresNotifyTransport(DataSource dataSource, String channel, Duration reconnectDelay) {
+        if (!CHANNEL.matcher(channel).matches()) {
+            throw new IllegalArgumentException("Invalid notification channel: " + channel);
+        }
+        this.dataSource = dataSource;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.channel = channel;
+        this.reconnectDelay = reconnectDelay;
+    }
+
+    @Override
+    public void start(InvalidationListener listener) {
+        running = true;
+        receiver = daemon(() -> receive(listener), "cluster-notify-receiver");
+        receiver.start();
+    }
+
+    @Override
+    public void publish(String nodeId, long applicationId) {
+        sender.execute(() -> {
+            try {
+                jdbcTemplate.query("SELECT pg_notify(?, ?)", (ResultSetExtractor<Void>) rs -> null,
+                        channel, nodeId + ":" + applicationId);
+            } catch (DataAccessException e) {
+                log.warn("Failed to publish invalidation for application {}", applicationId, e);
+            }
+        });
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        sender.shutdown();
+        if (receiver != null) {
+            receiver.interrupt();
+        }
+    }
+
+    private void receive(InvalidationListener listener) {
+        while (running) {
+            try (Connection connection = dataSource.getConnection()) {
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + channel);
+                }
+                listener.onReset();
+
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(RECEIVE_TIMEOUT_MILLIS);
+                    if (notifications != null) {
+                        for (PGNotification notification : notifications) {
+                            dispatch(notification.getParameter(), listener);
+                        }
+                    }
+                }
+            } catch (SQLException e) {
+                if (running) {
+                    log.warn("Lost notification connection on channel {}, reconnecting", channel, e);
+                    pause();
+                }
+            }
+        }
+    }
+
+    private void dispatch(String payload, InvalidationListener listener) {
+        int separator = payload.lastIndexOf(':');
+        if (separator < 0) {
+            log.warn("Ignoring malformed invalidation payload {}", payload);
+            return;
+        }
+        try {
+            listener.onInvalidation(payload.substring(0, separator), Long.parseLong(payload.substring(separator + 1)));
+        } catch (NumberFormatException e) {
+            log.warn("Ignoring malformed invalidation payload {}", payload);
+        }
+    }
+
+    private void pause() {
+        try {
+            Thread.sleep(reconnectDelay.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+
+    private static Thread daemon(Runnable runnable, String name) {
+        Thread thread = new Thread(runnable, name);
+        thread.setDaemon(true);
+        return thread;
+    }
+}
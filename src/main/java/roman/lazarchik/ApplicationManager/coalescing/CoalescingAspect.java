@@ -0,0 +1,42 @@
+package roman.lazarchik.ApplicationManager.coalescing;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import roman.lazarchik.ApplicationManager.datasource.ReplicaRoutingContext;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@ConditionalOnProperty(prefix = "application.coalescing", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class CoalescingAspect {
+
+    private final SingleFlight<Call, Object> singleFlight;
+
+    public CoalescingAspect(@Value("${application.coalescing.wait-timeout:5s}") Duration waitTimeout) {
+        this.singleFlight = new SingleFlight<>(waitTimeout, DetachedCopies::copy);
+    }
+
+    @Around("@annotation(roman.lazarchik.ApplicationManager.coalescing.Coalesced)")
+    public Object coalesce(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (ReplicaRoutingContext.isPinnedToPrimary()) {
+            return joinPoint.proceed();
+        }
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        return singleFlight.execute(new Call(method, Arrays.asList(joinPoint.getArgs())), joinPoint::proceed);
+    }
+
+    private record Call(Method method, List<Object> args) {
+    }
+}
@@ -0,0 +1,45 @@
+package roman.lazarchik.ApplicationManager.coalescing;
+
+import org.springframework.data.domain.Slice;
+import roman.lazarchik.ApplicationManager.analytics.DurationReport;
+import roman.lazarchik.ApplicationManager.changes.ChangePage;
+import roman.lazarchik.ApplicationManager.models.Application;
+import roman.lazarchik.ApplicationManager.search.RankedApplication;
+import roman.lazarchik.ApplicationManager.search.SearchPage;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+final class DetachedCopies {
+
+    private DetachedCopies() {
+    }
+
+    static Object copy(Object result) {
+        if (result instanceof Application app) {
+            return app.detachedCopy();
+        }
+        if (result instanceof Slice<?> slice) {
+            return slice.map(DetachedCopies::copy);
+        }
+        if (result instanceof List<?> list) {
+            return list.stream().map(DetachedCopies::copy).toList();
+        }
+        if (result instanceof Map<?, ?> map) {
+            return new LinkedHashMap<>(map);
+        }
+        if (result instanceof SearchPage page) {
+            return new SearchPage(page.results().stream()
+                    .map(ranked -> new RankedApplication(ranked.application().detachedCopy(), ranked.hit()))
+                    .toList(), page.hasNext());
+        }
+        if (result instanceof ChangePage page) {
+            return new ChangePage(page.applications().stream().map(Application::detachedCopy).toList(), page.next(), page.hasMore());
+        }
+        if (result instanceof DurationReport report) {
+            return report.copy();
+        }
+        return result;
+    }
+}
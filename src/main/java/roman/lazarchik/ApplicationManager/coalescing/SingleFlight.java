@@ -0,0 +1,63 @@
+package roman.lazarchik.ApplicationManager.coalescing;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.UnaryOperator;
+
+public class SingleFlight<K, V> {
+
+    private final ConcurrentMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final long waitTimeoutNanos;
+    private final UnaryOperator<V> share;
+
+    public SingleFlight(Duration waitTimeout, UnaryOperator<V> share) {
+        this.waitTimeoutNanos = waitTimeout.toNanos();
+        this.share = share;
+    }
+
+    public V execute(K key, Call<V> call) throws Throwable {
+        CompletableFuture<V> own = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, own);
+        if (existing != null) {
+            try {
+                return share.apply(await(existing));
+            } catch (TimeoutException e) {
+                return call.call();
+            }
+        }
+
+        try {
+            V result = call.call();
+            own.complete(result);
+            return result;
+        } catch (Throwable e) {
+            own.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, own);
+        }
+    }
+
+    public int inFlightCount() {
+        return inFlight.size();
+    }
+
+    private V await(CompletableFuture<V> future) throws Throwable {
+        try {
+            return future.get(waitTimeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (ExecutionException e) {
+            throw e.getCause();
+        }
+    }
+
+    @FunctionalInterface
+    public interface Call<V> {
+
+        V call() throws Throwable;
+    }
+}
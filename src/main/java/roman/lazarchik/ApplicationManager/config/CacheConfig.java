@@ -0,0 +1,28 @@
+package roman.lazarchik.ApplicationManager.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String APPLICATIONS = "applications";
+
+    @Bean
+    public CacheManager cacheManager(@Value("${application.cache.ttl:10m}") Duration ttl) {
+        return new ConcurrentMapCacheManager() {
+            @Override
+            protected Cache createConcurrentMapCache(String name) {
+                return new ExpiringConcurrentMapCache(name, ttl);
+            }
+        };
+    }
+}
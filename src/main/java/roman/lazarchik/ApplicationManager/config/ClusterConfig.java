@@ -0,0 +1,34 @@
+package roman.lazarchik.ApplicationManager.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import roman.lazarchik.ApplicationManager.cluster.ApplicationCacheInvalidator;
+import roman.lazarchik.ApplicationManager.cluster.ClusterCoordinator;
+import roman.lazarchik.ApplicationManager.cluster.InvalidationTransport;
+import roman.lazarchik.ApplicationManager.cluster.PollingChangeTableTransport;
+import roman.lazarchik.ApplicationManager.cluster.PostgresNotifyTransport;
+
+import javax.sql.DataSource;
+
+@Configuration
+@EnableConfigurationProperties(ClusterProperties.class)
+@ConditionalOnProperty(prefix = "application.cluster", name = "enabled", havingValue = "true")
+public class ClusterConfig {
+
+    @Bean
+    public InvalidationTransport invalidationTransport(ClusterProperties properties, DataSource dataSource) {
+        return switch (properties.getTransport()) {
+            case NOTIFY -> new PostgresNotifyTransport(dataSource, properties.getChannel(), properties.getReconnectDelay());
+            case POLLING -> new PollingChangeTableTransport(dataSource, properties.getPollInterval(),
+                    properties.getPollOverlap(), properties.getRetention());
+        };
+    }
+
+    @Bean
+    public ClusterCoordinator clusterCoordinator(InvalidationTransport invalidationTransport,
+                                                 ApplicationCacheInvalidator applicationCacheInvalidator) {
+        return new ClusterCoordinator(invalidationTransport, applicationCacheInvalidator);
+    }
+}
@@ -0,0 +1,23 @@
+package roman.lazarchik.ApplicationManager.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "application.cluster")
+public class ClusterProperties {
+
+    private boolean enabled;
+    private Transport transport = Transport.NOTIFY;
+    private String channel = "application_changes";
+    private Duration reconnectDelay = Duration.ofSeconds(1);
+    private Duration pollInterval = Duration.ofMillis(500);
+    private Duration pollOverlap = Duration.ofSeconds(2);
+    private Duration retention = Duration.ofMinutes(10);
+
+    public enum Transport {
+        NOTIFY, POLLING
+    }
+}
@@ -0,0 +1,52 @@
+package roman.lazarchik.ApplicationManager.config;
+
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class ExpiringConcurrentMapCache extends ConcurrentMapCache {
+
+    private final long ttlNanos;
+
+    public ExpiringConcurrentMapCache(String name, Duration ttl) {
+        super(name, new ConcurrentHashMap<>(256), true, null);
+        this.ttlNanos = ttl.toNanos();
+    }
+
+    @Override
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        lookup(key);
+        return super.get(key, valueLoader);
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        lookup(key);
+        return super.putIfAbsent(key, value);
+    }
+
+    @Override
+    protected Object lookup(Object key) {
+        Object stored = getNativeCache().get(key);
+        if (stored instanceof Expiring expiring && System.nanoTime() - expiring.expiresAt() >= 0) {
+            getNativeCache().remove(key, stored);
+            return null;
+        }
+        return stored;
+    }
+
+    @Override
+    protected Object toStoreValue(Object userValue) {
+        return new Expiring(super.toStoreValue(userValue), System.nanoTime() + ttlNanos);
+    }
+
+    @Override
+    protected Object fromStoreValue(Object storeValue) {
+        return super.fromStoreValue(storeValue instanceof Expiring expiring ? expiring.value() : storeValue);
+    }
+
+    private record Expiring(Object value, long expiresAt) {
+    }
+}
@@ -0,0 +1,43 @@
+package roman.lazarchik.ApplicationManager.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import roman.lazarchik.ApplicationManager.limiter.AimdLimiter;
+import roman.lazarchik.ApplicationManager.limiter.ConcurrencyLimitFilter;
+
+@Configuration
+@EnableConfigurationProperties(LimiterProperties.class)
+@ConditionalOnProperty(prefix = "application.limiter", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class LimiterConfig {
+
+    @Bean
+    public FilterRegistrationBean<ConcurrencyLimitFilter> concurrencyLimitFilter(LimiterProperties properties, MeterRegistry meterRegistry,
+                                                                                 ObjectMapper objectMapper,
+                                                                                 @Value("${application.endpoint.root}") String endpointRoot) {
+        AimdLimiter readLimiter = register(properties.getRead().build(), "read", meterRegistry);
+        AimdLimiter writeLimiter = register(properties.getWrite().build(), "write", meterRegistry);
+
+        ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter(readLimiter, writeLimiter,
+                rejected("read", meterRegistry), rejected("write", meterRegistry),
+                endpointRoot, properties.getRetryAfter(), objectMapper);
+        return new FilterRegistrationBean<>(filter);
+    }
+
+    private static AimdLimiter register(AimdLimiter limiter, String kind, MeterRegistry meterRegistry) {
+        Gauge.builder("application.limiter.limit", limiter, AimdLimiter::getLimit).tag("kind", kind).register(meterRegistry);
+        Gauge.builder("application.limiter.in-flight", limiter, AimdLimiter::getInFlight).tag("kind", kind).register(meterRegistry);
+        return limiter;
+    }
+
+    private static Counter rejected(String kind, MeterRegistry meterRegistry) {
+        return Counter.builder("application.limiter.rejected").tag("kind", kind).register(meterRegistry);
+    }
+}
@@ -0,0 +1,40 @@
+package roman.lazarchik.ApplicationManager.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import roman.lazarchik.ApplicationManager.limiter.AimdLimiter;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "application.limiter")
+public class LimiterProperties {
+
+    private boolean enabled = true;
+    private Duration retryAfter = Duration.ofSeconds(1);
+    private Limit read = new Limit(50, 400, Duration.ofMillis(250));
+    private Limit write = new Limit(20, 100, Duration.ofMillis(500));
+
+    @Data
+    public static class Limit {
+
+        private int initialLimit;
+        private int minLimit = 1;
+        private int maxLimit;
+        private double backoffRatio = 0.9;
+        private Duration latencyThreshold;
+
+        public Limit() {
+        }
+
+        public Limit(int initialLimit, int maxLimit, Duration latencyThreshold) {
+            this.initialLimit = initialLimit;
+            this.maxLimit = maxLimit;
+            this.latencyThreshold = latencyThreshold;
+        }
+
+        public AimdLimiter build() {
+            return new AimdLimiter(initialLimit, minLimit, maxLimit, backoffRatio, latencyThreshold);
+        }
+    }
+}
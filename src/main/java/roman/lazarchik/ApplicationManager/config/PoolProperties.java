@@ -0,0 +1,26 @@
+package roman.lazarchik.ApplicationManager.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.Data;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+
+import javax.sql.DataSource;
+
+@Data
+public class PoolProperties {
+
+    private String url;
+    private String username;
+    private String password;
+    private String driverClassName;
+
+    public DataSource build(String defaultDriverClassName) {
+        return DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .driverClassName(driverClassName != null ? driverClassName : defaultDriverClassName)
+                .url(url)
+                .username(username)
+                .password(password)
+                .build();
+    }
+}
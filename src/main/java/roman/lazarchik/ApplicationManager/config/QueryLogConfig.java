@@ -0,0 +1,38 @@
+package roman.lazarchik.ApplicationManager.config;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import roman.lazarchik.ApplicationManager.querylog.QueryTimingDataSourcePostProcessor;
+import roman.lazarchik.ApplicationManager.querylog.SlowQueryEndpoint;
+import roman.lazarchik.ApplicationManager.querylog.SlowQueryLog;
+import roman.lazarchik.ApplicationManager.querylog.SlowQueryRegistry;
+
+@Configuration
+@EnableConfigurationProperties(QueryLogProperties.class)
+@ConditionalOnProperty(prefix = "application.query-log", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class QueryLogConfig {
+
+    @Bean
+    public static QueryTimingDataSourcePostProcessor queryTimingDataSourcePostProcessor(ObjectProvider<SlowQueryLog> slowQueryLog) {
+        return new QueryTimingDataSourcePostProcessor(slowQueryLog);
+    }
+
+    @Bean
+    public SlowQueryRegistry slowQueryRegistry(QueryLogProperties properties) {
+        return new SlowQueryRegistry(properties.getTopSize());
+    }
+
+    @Bean
+    public SlowQueryLog slowQueryLog(QueryLogProperties properties, SlowQueryRegistry slowQueryRegistry) {
+        return new SlowQueryLog(properties.getThreshold(), properties.getSampleRate(), properties.isRedactParameters(),
+                slowQueryRegistry);
+    }
+
+    @Bean
+    public SlowQueryEndpoint slowQueryEndpoint(SlowQueryRegistry slowQueryRegistry) {
+        return new SlowQueryEndpoint(slowQueryRegistry);
+    }
+}
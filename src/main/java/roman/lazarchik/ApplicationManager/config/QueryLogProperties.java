@@ -0,0 +1,17 @@
+package roman.lazarchik.ApplicationManager.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "application.query-log")
+public class QueryLogProperties {
+
+    private boolean enabled = true;
+    private Duration threshold = Duration.ofMillis(200);
+    private double sampleRate;
+    private boolean redactParameters = true;
+    private int topSize = 20;
+}
@@ -0,0 +1,17 @@
+package roman.lazarchik.ApplicationManager.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@ConfigurationProperties(prefix = "application.replica")
+public class ReplicaProperties {
+
+    private boolean enabled;
+    private Duration readYourWritesWindow = Duration.ofSeconds(5);
+    private List<PoolProperties> pools = new ArrayList<>();
+}
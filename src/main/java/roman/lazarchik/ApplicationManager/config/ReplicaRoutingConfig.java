@@ -0,0 +1,67 @@
+package roman.lazarchik.ApplicationManager.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import roman.lazarchik.ApplicationManager.datasource.ReadYourWritesInterceptor;
+import roman.lazarchik.ApplicationManager.datasource.ReadYourWritesTracker;
+import roman.lazarchik.ApplicationManager.datasource.ReplicaHealthMonitor;
+import roman.lazarchik.ApplicationManager.datasource.ReplicaRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.List;
+
+@Configuration
+@EnableConfigurationProperties({DataSourceProperties.class, ReplicaProperties.class})
+@ConditionalOnProperty(prefix = "application.replica", name = "enabled", havingValue = "true")
+public class ReplicaRoutingConfig implements WebMvcConfigurer {
+
+    private final ReplicaProperties replicaProperties;
+    private final ReadYourWritesTracker readYourWritesTracker;
+
+    public ReplicaRoutingConfig(ReplicaProperties replicaProperties) {
+        this.replicaProperties = replicaProperties;
+        this.readYourWritesTracker = new ReadYourWritesTracker(replicaProperties.getReadYourWritesWindow(), Clock.systemUTC());
+    }
+
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(DataSourceProperties primaryProperties) {
+        DataSource primary = primaryProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+
+        List<DataSource> replicas = new ArrayList<>();
+        for (PoolProperties pool : replicaProperties.getPools()) {
+            replicas.add(pool.build(primaryProperties.determineDriverClassName()));
+        }
+        return new ReplicaRoutingDataSource(primary, replicas);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+
+    @Bean
+    public ReadYourWritesTracker readYourWritesTracker() {
+        return readYourWritesTracker;
+    }
+
+    @Bean
+    public ReplicaHealthMonitor replicaHealthMonitor(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new ReplicaHealthMonitor(replicaRoutingDataSource, readYourWritesTracker);
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new ReadYourWritesInterceptor(readYourWritesTracker));
+    }
+}
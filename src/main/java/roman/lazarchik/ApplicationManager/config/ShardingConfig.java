@@ -0,0 +1,77 @@
+package roman.lazarchik.ApplicationManager.config;
+
+import org.flywaydb.core.Flyway;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import roman.lazarchik.ApplicationManager.datasource.ShardResolver;
+import roman.lazarchik.ApplicationManager.datasource.ShardRoutingAspect;
+import roman.lazarchik.ApplicationManager.datasource.ShardRoutingDataSource;
+import roman.lazarchik.ApplicationManager.services.CounterPublishedNumberAllocator;
+import roman.lazarchik.ApplicationManager.services.PublishedNumberAllocator;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Configuration
+@EnableConfigurationProperties({DataSourceProperties.class, ShardingProperties.class})
+@ConditionalOnProperty(prefix = "application.sharding", name = "enabled", havingValue = "true")
+public class ShardingConfig {
+
+    @Bean
+    public ShardResolver shardResolver(ShardingProperties shardingProperties) {
+        return new ShardResolver(shardingProperties.getShards().size());
+    }
+
+    @Bean
+    @Primary
+    public ShardRoutingDataSource dataSource(ShardingProperties shardingProperties, DataSourceProperties primaryProperties) {
+        List<DataSource> shards = new ArrayList<>();
+        for (PoolProperties pool : shardingProperties.getShards()) {
+            shards.add(pool.build(primaryProperties.determineDriverClassName()));
+        }
+
+        return new ShardRoutingDataSource(shards);
+    }
+
+    @Bean
+    public FlywayMigrationStrategy shardMigrationStrategy(ShardRoutingDataSource dataSource, ShardResolver shardResolver) {
+        return flyway -> {
+            for (int shard = 0; shard < dataSource.getShardCount(); shard++) {
+                Map<String, String> placeholders = new HashMap<>(flyway.getConfiguration().getPlaceholders());
+                placeholders.put("identity_start", String.valueOf(shardResolver.identityStart(shard)));
+                placeholders.put("identity_increment", String.valueOf(shardResolver.getShardCount()));
+                Flyway.configure()
+                        .configuration(flyway.getConfiguration())
+                        .dataSource(dataSource.getShard(shard))
+                        .placeholders(placeholders)
+                        .load()
+                        .migrate();
+            }
+        };
+    }
+
+    @Bean
+    @Primary
+    public PublishedNumberAllocator shardCounterPublishedNumberAllocator(ShardRoutingDataSource dataSource) {
+        List<JdbcTemplate> shards = new ArrayList<>();
+        for (int shard = 0; shard < dataSource.getShardCount(); shard++) {
+            shards.add(new JdbcTemplate(dataSource.getShard(shard)));
+        }
+        return new CounterPublishedNumberAllocator(shards.get(0), new DataSourceTransactionManager(dataSource.getShard(0)), shards);
+    }
+
+    @Bean
+    public ShardRoutingAspect shardRoutingAspect(ShardResolver shardResolver) {
+        return new ShardRoutingAspect(shardResolver);
+    }
+}
@@ -0,0 +1,15 @@
+package roman.lazarchik.ApplicationManager.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@ConfigurationProperties(prefix = "application.sharding")
+public class ShardingProperties {
+
+    private boolean enabled;
+    private List<PoolProperties> shards = new ArrayList<>();
+}
@@ -0,0 +1,35 @@
+package roman.lazarchik.ApplicationManager.config;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationInitializer;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import roman.lazarchik.ApplicationManager.cluster.ClusterCoordinator;
+import roman.lazarchik.ApplicationManager.datasource.ReplicaHealthMonitor;
+import roman.lazarchik.ApplicationManager.services.AutoPublisher;
+
+import javax.sql.DataSource;
+
+@Configuration
+public class StartupConfig {
+
+    @Bean
+    public static LazyInitializationExcludeFilter eagerStartupBeans() {
+        return LazyInitializationExcludeFilter.forBeanTypes(DataSource.class, FlywayMigrationInitializer.class,
+                EntityManagerFactory.class, ClusterCoordinator.class, ReplicaHealthMonitor.class, AutoPublisher.class);
+    }
+
+    @Bean
+    public ApplicationListener<ApplicationReadyEvent> exitOnReady(@Value("${application.startup.exit-on-ready:false}") boolean exitOnReady) {
+        return event -> {
+            if (exitOnReady) {
+                System.exit(SpringApplication.exit(event.getApplicationContext()));
+            }
+        };
+    }
+}
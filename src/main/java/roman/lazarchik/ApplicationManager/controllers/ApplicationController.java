@@ -3,36 +3,76 @@ package roman.lazarchik.ApplicationManager.controllers;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Min;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import roman.lazarchik.ApplicationManager.analytics.DurationHistogram;
+import roman.lazarchik.ApplicationManager.analytics.DurationReport;
+import roman.lazarchik.ApplicationManager.changes.ChangePage;
+import roman.lazarchik.ApplicationManager.dto.ApplicationChangesResponse;
 import roman.lazarchik.ApplicationManager.dto.ApplicationDTO;
+import roman.lazarchik.ApplicationManager.dto.ApplicationFilterRequest;
+import roman.lazarchik.ApplicationManager.dto.ApplicationPageResponse;
+import roman.lazarchik.ApplicationManager.dto.ApplicationSearchResponse;
+import roman.lazarchik.ApplicationManager.dto.ClaimResponse;
 import roman.lazarchik.ApplicationManager.dto.DeleteDTO;
+import roman.lazarchik.ApplicationManager.dto.DurationWindowDTO;
+import roman.lazarchik.ApplicationManager.dto.ReasonCountDTO;
 import roman.lazarchik.ApplicationManager.dto.RejectDTO;
+import roman.lazarchik.ApplicationManager.dto.TotalMode;
+import roman.lazarchik.ApplicationManager.dto.TransitionDurationsResponse;
 import roman.lazarchik.ApplicationManager.dto.UpdateContentDTO;
+import roman.lazarchik.ApplicationManager.exceptions.InvalidInputException;
 import roman.lazarchik.ApplicationManager.mapper.ApplicationMapper;
 import roman.lazarchik.ApplicationManager.models.Application;
 import roman.lazarchik.ApplicationManager.models.ApplicationStatus;
+import roman.lazarchik.ApplicationManager.registry.PublishedApplication;
+import roman.lazarchik.ApplicationManager.registry.PublishedRange;
+import roman.lazarchik.ApplicationManager.search.SearchPage;
 import roman.lazarchik.ApplicationManager.services.ApplicationService;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Comparator;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.OptionalLong;
 
 @RestController
 @RequestMapping("${application.endpoint.root}")
 @RequiredArgsConstructor
 public class ApplicationController {
 
+    public static final String REVIEWER_HEADER = "X-Reviewer-Id";
+    public static final String STATUS_FACET = "status";
+
+    private static final CacheControl IMMUTABLE = CacheControl.maxAge(Duration.ofDays(365)).cachePublic().immutable();
+
     private final ApplicationService service;
     private final ApplicationMapper mapper;
 
+    @Value("${application.published-registry.range-max-age:60s}")
+    private Duration publishedRangeMaxAge;
+
     @PostMapping
     public ResponseEntity<ApplicationDTO> createApplication(@RequestBody ApplicationDTO appDTO) {
         Application createdApp = service.createApplication(mapper.toEntity(appDTO));
         return new ResponseEntity<>(mapper.toDto(createdApp), HttpStatus.CREATED);
     }
 
+    @GetMapping("/{id}")
+    public ResponseEntity<ApplicationDTO> getApplication(@PathVariable Long id) {
+        Application app = service.getApplication(id);
+        return new ResponseEntity<>(mapper.toDto(app), HttpStatus.OK);
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<ApplicationDTO> updateContent(@PathVariable Long id, @Valid @RequestBody UpdateContentDTO updateContent) {
         Application updatedApp = service.updateContent(id, updateContent.getContent());
@@ -70,12 +110,120 @@ public class ApplicationController {
         return new ResponseEntity<>(mapper.toDto(publishedApp), HttpStatus.OK);
     }
 
+    @PostMapping("/claim")
+    public ResponseEntity<ClaimResponse> claimApplications(@RequestHeader(REVIEWER_HEADER) String reviewer,
+                                                           @RequestParam ApplicationStatus status,
+                                                           @RequestParam(defaultValue = "10") int limit) {
+        List<Application> claimed = service.claimApplications(reviewer, status, limit);
+        List<ApplicationDTO> applications = claimed.stream().map(mapper::toDto).toList();
+        LocalDateTime leaseExpiresAt = claimed.isEmpty() ? null : claimed.get(0).getClaimExpiresAt();
+        return new ResponseEntity<>(new ClaimResponse(reviewer, leaseExpiresAt, applications), HttpStatus.OK);
+    }
+
+    @GetMapping("/published/{publishedNumber}")
+    public ResponseEntity<PublishedApplication> getPublishedApplication(@PathVariable int publishedNumber) {
+        PublishedApplication app = service.getPublishedApplication(publishedNumber);
+        return ResponseEntity.ok().cacheControl(IMMUTABLE).eTag(app.etag()).body(app);
+    }
+
+    @GetMapping("/published")
+    public ResponseEntity<List<PublishedApplication>> getPublishedApplications(@RequestParam(defaultValue = "1") int from,
+                                                                               @RequestParam(defaultValue = "100") int size) {
+        PublishedRange range = service.getPublishedApplications(from, size);
+        CacheControl cacheControl = range.isComplete() ? IMMUTABLE : CacheControl.maxAge(publishedRangeMaxAge).cachePublic();
+        return ResponseEntity.ok().cacheControl(cacheControl).eTag(range.etag()).body(range.applications());
+    }
+
+    @GetMapping("/reasons")
+    public ResponseEntity<List<ReasonCountDTO>> getReasonFrequencies(@RequestParam(defaultValue = "REJECTED") ApplicationStatus status) {
+        List<ReasonCountDTO> reasons = service.countApplicationsByReason(status).entrySet().stream()
+                .map(entry -> new ReasonCountDTO(entry.getKey().code(), entry.getKey().text(), entry.getValue()))
+                .sorted(Comparator.comparingLong(ReasonCountDTO::getCount).reversed())
+                .toList();
+        return new ResponseEntity<>(reasons, HttpStatus.OK);
+    }
+
+    @GetMapping("/analytics/durations")
+    public ResponseEntity<TransitionDurationsResponse> getTransitionDurations(
+            @RequestParam(defaultValue = "CREATED") ApplicationStatus from,
+            @RequestParam(defaultValue = "PUBLISHED") ApplicationStatus to,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Optional<LocalDateTime> since,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Optional<LocalDateTime> until,
+            @RequestParam(defaultValue = "P1D") Duration window) {
+        LocalDateTime end = until.orElseGet(() -> LocalDateTime.now().truncatedTo(ChronoUnit.HOURS).plusHours(1));
+        DurationReport report = service.getTransitionDurations(from, to, since.orElse(end.minusDays(7)), end, window);
+        List<DurationWindowDTO> windows = report.windows().stream()
+                .map(durations -> new DurationWindowDTO(durations.start(), durations.end(), durations.histogram().getCount(),
+                        millis(durations.histogram(), 0.5), millis(durations.histogram(), 0.95), millis(durations.histogram(), 0.99)))
+                .toList();
+        return new ResponseEntity<>(new TransitionDurationsResponse(report.from(), report.to(), windows), HttpStatus.OK);
+    }
+
+    @GetMapping("/changes")
+    public ResponseEntity<ApplicationChangesResponse> getChanges(@RequestParam Optional<String> since,
+                                                                 @RequestParam(defaultValue = "100") int limit) {
+        ChangePage page = service.getChanges(since.orElse(null), limit);
+        List<ApplicationDTO> applications = page.applications().stream().map(mapper::toDto).toList();
+        return new ResponseEntity<>(new ApplicationChangesResponse(applications, page.nextCursor(), page.hasMore()), HttpStatus.OK);
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<ApplicationSearchResponse> searchApplications(@RequestParam String q,
+                                                                        @RequestParam Optional<String> cursor,
+                                                                        @RequestParam(defaultValue = "10") int size) {
+        SearchPage page = service.searchApplications(q, cursor.orElse(null), size);
+        List<ApplicationDTO> applications = page.results().stream().map(result -> mapper.toDto(result.application())).toList();
+        return new ResponseEntity<>(new ApplicationSearchResponse(applications, page.nextCursor()), HttpStatus.OK);
+    }
+
     @GetMapping
-    public ResponseEntity<Map<String, Object>> getApplications(
+    public ResponseEntity<ApplicationPageResponse> getApplications(
             @RequestParam Optional<String> name,
-            @RequestParam Optional<ApplicationStatus> status,
+            @RequestParam(name = "status", defaultValue = "") List<ApplicationStatus> statuses,
             @RequestParam(defaultValue = "0") @Min(0) int page,
-            @RequestParam(defaultValue = "10") @Min(1) int size) {
+            @RequestParam(defaultValue = "10") @Min(1) int size,
+            @RequestParam Optional<String> total,
+            @RequestParam Optional<String> facets,
+            ApplicationFilterRequest filter) {
+
+        Optional<TotalMode> requestedTotal = total.map(TotalMode::fromParameter);
+        TotalMode totalMode = requestedTotal.orElse(TotalMode.EXACT);
+
+        if (!filter.isEmpty() || statuses.size() > 1) {
+            if (facets.isPresent()) {
+                throw new InvalidInputException("Parameter 'facets' cannot be combined with filter parameters");
+            }
+            if (requestedTotal.isPresent() && totalMode != TotalMode.NONE) {
+                throw new InvalidInputException("Parameter 'total' must be none when filter parameters are used");
+            }
+            Slice<Application> slice = service.filterApplications(filter.toFilter(name.orElse(null), statuses), page, size);
+            return new ResponseEntity<>(service.getPaginatedApplicationsResponse(slice), HttpStatus.OK);
+        }
+        Optional<ApplicationStatus> status = statuses.stream().findFirst();
+
+        if (facets.isPresent()) {
+            if (!STATUS_FACET.equalsIgnoreCase(facets.get().trim())) {
+                throw new InvalidInputException("Parameter 'facets' must be: " + STATUS_FACET);
+            }
+            if (totalMode != TotalMode.EXACT) {
+                throw new InvalidInputException("Parameter 'total' must be exact when facets are requested");
+            }
+            Map<ApplicationStatus, Long> statusCounts = service.countApplicationsByStatus(name.orElse(null));
+            Slice<Application> slice = service.getApplicationsSlice(name.orElse(null), status.orElse(null), page, size);
+            return new ResponseEntity<>(service.getPaginatedApplicationsResponse(slice, statusCounts, status.orElse(null)), HttpStatus.OK);
+        }
+
+        if (totalMode == TotalMode.NONE) {
+            Slice<Application> slice = service.getApplicationsSlice(name.orElse(null), status.orElse(null), page, size);
+            return new ResponseEntity<>(service.getPaginatedApplicationsResponse(slice), HttpStatus.OK);
+        }
+        if (totalMode == TotalMode.APPROX) {
+            OptionalLong estimate = service.estimateApplicationsCount(name.orElse(null), status.orElse(null));
+            if (estimate.isPresent()) {
+                Slice<Application> slice = service.getApplicationsSlice(name.orElse(null), status.orElse(null), page, size);
+                return new ResponseEntity<>(service.getPaginatedApplicationsResponse(slice, estimate.getAsLong()), HttpStatus.OK);
+            }
+        }
 
         Page<Application> applications;
         if (name.isPresent() && status.isPresent()) {
@@ -88,10 +236,13 @@ public class ApplicationController {
             applications = service.getAllApplications(page, size);
         }
 
-        Page<ApplicationDTO> dtoPage = applications.map(mapper::toDto);
-
-        Map<String, Object> response = service.getPaginatedApplicationsResponse(dtoPage);
+        ApplicationPageResponse response = service.getPaginatedApplicationsResponse(applications);
 
         return new ResponseEntity<>(response, HttpStatus.OK);
     }
-}
\ No newline at end of file
+
+    private static Long millis(DurationHistogram histogram, double quantile) {
+        Duration percentile = histogram.percentile(quantile);
+        return percentile == null ? null : percentile.toMillis();
+    }
+}
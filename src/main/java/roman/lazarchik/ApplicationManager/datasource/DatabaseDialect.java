@@ -0,0 +1,31 @@
+package roman.lazarchik.ApplicationManager.datasource;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+
+@Component
+@RequiredArgsConstructor
+public class DatabaseDialect {
+
+    private final DataSource dataSource;
+
+    private volatile Boolean postgres;
+
+    public boolean isPostgres() {
+        Boolean supported = postgres;
+        if (supported == null) {
+            try {
+                String product = JdbcUtils.extractDatabaseMetaData(dataSource,
+                        metaData -> metaData.getDatabaseProductName());
+                supported = "PostgreSQL".equalsIgnoreCase(product);
+            } catch (Exception e) {
+                supported = false;
+            }
+            postgres = supported;
+        }
+        return supported;
+    }
+}
@@ -0,0 +1,40 @@
+package roman.lazarchik.ApplicationManager.datasource;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+@RequiredArgsConstructor
+public class ReadYourWritesInterceptor implements HandlerInterceptor {
+
+    public static final String CLIENT_HEADER = "X-Client-Id";
+
+    private final ReadYourWritesTracker tracker;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (isRead(request) && tracker.isWithinWindow(clientOf(request))) {
+            ReplicaRoutingContext.pinToPrimary();
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        ReplicaRoutingContext.clear();
+        if (!isRead(request) && ex == null && response.getStatus() < 400) {
+            tracker.recordWrite(clientOf(request));
+        }
+    }
+
+    private static boolean isRead(HttpServletRequest request) {
+        return HttpMethod.GET.matches(request.getMethod()) || HttpMethod.HEAD.matches(request.getMethod());
+    }
+
+    private static String clientOf(HttpServletRequest request) {
+        String client = request.getHeader(CLIENT_HEADER);
+        return client != null && !client.isBlank() ? client : request.getRemoteAddr();
+    }
+}
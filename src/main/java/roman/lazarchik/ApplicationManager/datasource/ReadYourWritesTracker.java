@@ -0,0 +1,38 @@
+package roman.lazarchik.ApplicationManager.datasource;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class ReadYourWritesTracker {
+
+    private final ConcurrentHashMap<String, Long> lastWrites = new ConcurrentHashMap<>();
+    private final long windowMillis;
+    private final Clock clock;
+
+    public ReadYourWritesTracker(Duration window, Clock clock) {
+        this.windowMillis = window.toMillis();
+        this.clock = clock;
+    }
+
+    public void recordWrite(String client) {
+        lastWrites.put(client, clock.millis());
+    }
+
+    public boolean isWithinWindow(String client) {
+        Long lastWrite = lastWrites.get(client);
+        if (lastWrite == null) {
+            return false;
+        }
+        if (clock.millis() - lastWrite < windowMillis) {
+            return true;
+        }
+        lastWrites.remove(client, lastWrite);
+        return false;
+    }
+
+    public void evictExpired() {
+        long cutoff = clock.millis() - windowMillis;
+        lastWrites.values().removeIf(lastWrite -> lastWrite < cutoff);
+    }
+}
@@ -0,0 +1,17 @@
+package roman.lazarchik.ApplicationManager.datasource;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+
+@RequiredArgsConstructor
+public class ReplicaHealthMonitor {
+
+    private final ReplicaRoutingDataSource routingDataSource;
+    private final ReadYourWritesTracker readYourWritesTracker;
+
+    @Scheduled(fixedDelayString = "${application.replica.health-check-interval:5000}")
+    public void check() {
+        routingDataSource.checkReplicaHealth();
+        readYourWritesTracker.evictExpired();
+    }
+}
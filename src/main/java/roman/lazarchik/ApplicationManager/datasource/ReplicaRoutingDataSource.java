@@ -0,0 +1,77 @@
+package roman.lazarchik.ApplicationManager.datasource;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    public static final String PRIMARY = "primary";
+
+    private final List<DataSource> replicas;
+    private final AtomicReferenceArray<Boolean> healthy;
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ReplicaRoutingDataSource(DataSource primary, List<DataSource> replicas) {
+        this.replicas = List.copyOf(replicas);
+        this.healthy = new AtomicReferenceArray<>(replicas.size());
+
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        for (int i = 0; i < replicas.size(); i++) {
+            targets.put(i, replicas.get(i));
+            healthy.set(i, Boolean.TRUE);
+        }
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly() || ReplicaRoutingContext.isPinnedToPrimary()) {
+            return PRIMARY;
+        }
+        int size = replicas.size();
+        int start = Math.floorMod(next.getAndIncrement(), Math.max(size, 1));
+        for (int i = 0; i < size; i++) {
+            int candidate = (start + i) % size;
+            if (healthy.get(candidate)) {
+                return candidate;
+            }
+        }
+        return PRIMARY;
+    }
+
+    public void checkReplicaHealth() {
+        for (int i = 0; i < replicas.size(); i++) {
+            boolean up;
+            try (Connection connection = replicas.get(i).getConnection()) {
+                up = connection.isValid(1);
+            } catch (Exception e) {
+                up = false;
+            }
+            boolean wasUp = healthy.getAndSet(i, up);
+            if (wasUp != up) {
+                log.warn("Read replica {} is now {}", i, up ? "healthy" : "unhealthy");
+            }
+        }
+    }
+
+    public void markReplicaHealth(int replica, boolean up) {
+        healthy.set(replica, up);
+    }
+
+    public int getReplicaCount() {
+        return replicas.size();
+    }
+}
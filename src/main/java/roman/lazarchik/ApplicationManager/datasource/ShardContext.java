@@ -0,0 +1,25 @@
+package roman.lazarchik.ApplicationManager.datasource;
+
+public final class ShardContext {
+
+    private static final ThreadLocal<Integer> CURRENT_SHARD = new ThreadLocal<>();
+
+    private ShardContext() {
+    }
+
+    public static void set(int shard) {
+        CURRENT_SHARD.set(shard);
+    }
+
+    public static Integer current() {
+        return CURRENT_SHARD.get();
+    }
+
+    public static boolean isBound() {
+        return CURRENT_SHARD.get() != null;
+    }
+
+    public static void clear() {
+        CURRENT_SHARD.remove();
+    }
+}
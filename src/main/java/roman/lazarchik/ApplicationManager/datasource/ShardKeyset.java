@@ -0,0 +1,20 @@
+package roman.lazarchik.ApplicationManager.datasource;
+
+import java.util.List;
+
+public record ShardKeyset(List<Object> after, boolean counted) {
+
+    private static final ThreadLocal<ShardKeyset> CURRENT = new ThreadLocal<>();
+
+    public static void set(ShardKeyset keyset) {
+        CURRENT.set(keyset);
+    }
+
+    public static ShardKeyset current() {
+        return CURRENT.get();
+    }
+
+    public static void clear() {
+        CURRENT.remove();
+    }
+}
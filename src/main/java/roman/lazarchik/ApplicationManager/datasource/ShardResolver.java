@@ -0,0 +1,31 @@
+package roman.lazarchik.ApplicationManager.datasource;
+
+import java.util.Objects;
+
+public class ShardResolver {
+
+    private final int shardCount;
+
+    public ShardResolver(int shardCount) {
+        if (shardCount < 1) {
+            throw new IllegalArgumentException("At least one shard must be configured");
+        }
+        this.shardCount = shardCount;
+    }
+
+    public int getShardCount() {
+        return shardCount;
+    }
+
+    public int shardForId(long id) {
+        return (int) Math.floorMod(id, (long) shardCount);
+    }
+
+    public int shardForContent(String name, String content) {
+        return Math.floorMod(Objects.hash(name, content), shardCount);
+    }
+
+    public long identityStart(int shard) {
+        return shard == 0 ? shardCount : shard;
+    }
+}
@@ -0,0 +1,13 @@
+package roman.lazarchik.ApplicationManager.datasource;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ShardRouted {
+
+    ShardStrategy value();
+}
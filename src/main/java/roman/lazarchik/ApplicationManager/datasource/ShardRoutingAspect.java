@@ -0,0 +1,427 @@
+package roman.lazarchik.ApplicationManager.datasource;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.annotation.Transactional;
+import roman.lazarchik.ApplicationManager.analytics.DurationReport;
+import roman.lazarchik.ApplicationManager.changes.ChangeCursor;
+import roman.lazarchik.ApplicationManager.changes.ChangePage;
+import roman.lazarchik.ApplicationManager.exceptions.ApplicationNotFoundException;
+import roman.lazarchik.ApplicationManager.filter.ApplicationSortKey;
+import roman.lazarchik.ApplicationManager.models.Application;
+import roman.lazarchik.ApplicationManager.search.RankedApplication;
+import roman.lazarchik.ApplicationManager.search.SearchHit;
+import roman.lazarchik.ApplicationManager.search.SearchPage;
+
+import java.lang.reflect.Method;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Aspect
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class ShardRoutingAspect implements DisposableBean {
+
+    private static final int PAGE_POSITIONS = 1024;
+    private static final long PAGE_POSITIONS_TTL_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    private final ShardResolver resolver;
+    private final ExecutorService executor;
+    private final AtomicInteger nextShard = new AtomicInteger();
+    private final Map<PageKey, PagePositions> pagePositions = Collections.synchronizedMap(
+            new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<PageKey, PagePositions> eldest) {
+                    return size() > PAGE_POSITIONS;
+                }
+            });
+
+    public ShardRoutingAspect(ShardResolver resolver) {
+        this.resolver = resolver;
+        AtomicInteger threads = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(resolver.getShardCount(), runnable -> {
+            Thread thread = new Thread(runnable, "shard-query-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Around("@annotation(routed)")
+    public Object route(ProceedingJoinPoint joinPoint, ShardRouted routed) throws Throwable {
+        if (ShardContext.isBound()) {
+            return joinPoint.proceed();
+        }
+
+        if (isWrite(joinPoint)) {
+            try {
+                return routeUnbound(joinPoint, routed);
+            } finally {
+                pagePositions.clear();
+            }
+        }
+        return routeUnbound(joinPoint, routed);
+    }
+
+    private Object routeUnbound(ProceedingJoinPoint joinPoint, ShardRouted routed) throws Throwable {
+        Object[] args = joinPoint.getArgs();
+        return switch (routed.value()) {
+            case BY_ID -> onShard(resolver.shardForId((Long) args[0]), joinPoint, args);
+            case BY_IDS -> partitionByShard(joinPoint, args, (Collection<?>) args[0]);
+            case BY_CONTENT -> args[0] instanceof Application app && app.getName() != null && app.getContent() != null
+                    ? onShard(resolver.shardForContent(app.getName(), app.getContent()), joinPoint, args)
+                    : joinPoint.proceed();
+            case SCATTER_PAGE -> scatterPage(joinPoint, args, Page.class.isAssignableFrom(returnType(joinPoint)));
+            case SCATTER_ESTIMATE -> scatterEstimate(joinPoint, args);
+            case SCATTER_SEARCH -> scatterSearch(joinPoint, args);
+            case SCATTER_COUNTS -> scatterCounts(joinPoint, args);
+            case SCATTER_DURATIONS -> scatterDurations(joinPoint, args);
+            case DRAIN -> drainShards(joinPoint, args);
+            case DRAIN_CHANGES -> drainChanges(joinPoint, args);
+        };
+    }
+
+    private Object onShard(int shard, ProceedingJoinPoint joinPoint, Object[] args) throws Throwable {
+        return onShard(shard, joinPoint, args, null);
+    }
+
+    private Object onShard(int shard, ProceedingJoinPoint joinPoint, Object[] args, ShardKeyset keyset) throws Throwable {
+        ShardContext.set(shard);
+        ShardKeyset.set(keyset);
+        try {
+            return joinPoint.proceed(args);
+        } finally {
+            ShardKeyset.clear();
+            ShardContext.clear();
+        }
+    }
+
+    private Object partitionByShard(ProceedingJoinPoint joinPoint, Object[] args, Collection<?> ids) throws Throwable {
+        Map<Integer, List<Object>> idsByShard = new TreeMap<>();
+        for (Object id : ids) {
+            idsByShard.computeIfAbsent(resolver.shardForId((Long) id), shard -> new ArrayList<>()).add(id);
+        }
+
+        List<Object> results = new ArrayList<>();
+        for (Map.Entry<Integer, List<Object>> shardIds : idsByShard.entrySet()) {
+            Object[] shardArgs = args.clone();
+            shardArgs[0] = shardIds.getValue();
+            results.addAll((List<?>) onShard(shardIds.getKey(), joinPoint, shardArgs));
+        }
+        return results;
+    }
+
+    private Object drainShards(ProceedingJoinPoint joinPoint, Object[] args) throws Throwable {
+        int limitIndex = args.length - 1;
+        int remaining = (int) args[limitIndex];
+        int first = Math.floorMod(nextShard.getAndIncrement(), resolver.getShardCount());
+
+        List<Object> results = new ArrayList<>();
+        for (int i = 0; i < resolver.getShardCount() && remaining > 0; i++) {
+            Object[] shardArgs = args.clone();
+            shardArgs[limitIndex] = remaining;
+            List<?> shardResults = (List<?>) onShard((first + i) % resolver.getShardCount(), joinPoint, shardArgs);
+            results.addAll(shardResults);
+            remaining -= shardResults.size();
+        }
+        return results;
+    }
+
+    private Object drainChanges(ProceedingJoinPoint joinPoint, Object[] args) throws Throwable {
+        int remaining = (int) args[1];
+        int first = Math.floorMod(nextShard.getAndIncrement(), resolver.getShardCount());
+
+        List<Application> applications = new ArrayList<>();
+        Object[] shardArgs = args.clone();
+        ChangeCursor next = null;
+        boolean hasMore = false;
+        for (int i = 0; i < resolver.getShardCount(); i++) {
+            if (remaining <= 0) {
+                hasMore = true;
+                break;
+            }
+            shardArgs[1] = remaining;
+            ChangePage page = (ChangePage) onShard((first + i) % resolver.getShardCount(), joinPoint, shardArgs);
+            applications.addAll(page.applications());
+            remaining -= page.applications().size();
+            hasMore |= page.hasMore();
+            next = page.next();
+            shardArgs[0] = page.nextCursor();
+        }
+        return new ChangePage(applications, next, hasMore);
+    }
+
+    private static boolean isWrite(ProceedingJoinPoint joinPoint) {
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        Transactional transactional = AnnotatedElementUtils.findMergedAnnotation(method, Transactional.class);
+        return transactional != null && !transactional.readOnly();
+    }
+
+    private static Class<?> returnType(ProceedingJoinPoint joinPoint) {
+        return ((MethodSignature) joinPoint.getSignature()).getReturnType();
+    }
+
+    private Object scatterPage(ProceedingJoinPoint joinPoint, Object[] args, boolean counted) throws Throwable {
+        int pageIndex = args.length - 2;
+        int page = (int) args[pageIndex];
+        int size = (int) args[pageIndex + 1];
+        long skip = Math.multiplyExact((long) page, size);
+
+        Object[] shardArgs = args.clone();
+        shardArgs[pageIndex] = 0;
+        PageKey key = PageKey.of(joinPoint, args, pageIndex);
+        PagePositions cached = pagePositions.get(key.at(page));
+        List<List<Object>> start = cached == null || cached.isExpired() ? null : cached.shards();
+        if (start != null) {
+            skip = 0;
+        }
+
+        List<Object> results = scatter(shard -> onShard(shard, joinPoint, shardArgs,
+                start == null || start.get(shard) == null ? null : new ShardKeyset(start.get(shard), counted)));
+
+        if (start == null && results.stream().allMatch(ApplicationNotFoundException.class::isInstance)) {
+            throw (ApplicationNotFoundException) results.get(0);
+        }
+
+        List<ShardStream> streams = new ArrayList<>();
+        Sort sort = Sort.by("id");
+        long total = 0;
+        for (int shard = 0; shard < results.size(); shard++) {
+            streams.add(new ShardStream(shard, start == null ? null : start.get(shard)));
+            if (results.get(shard) instanceof Slice<?> slice) {
+                sort = slice.getSort().isSorted() ? slice.getSort() : sort;
+                total += slice instanceof Page<?> counts ? counts.getTotalElements() : 0;
+            }
+        }
+
+        Comparator<Application> order = ApplicationSortKey.comparator(sort);
+        PriorityQueue<ShardStream> heads = new PriorityQueue<>(Comparator.comparing(ShardStream::head, order));
+        for (ShardStream stream : streams) {
+            if (stream.accept(results.get(stream.shard), size)) {
+                heads.add(stream);
+            }
+        }
+
+        List<Application> content = new ArrayList<>(size);
+        while (content.size() < size && !heads.isEmpty()) {
+            ShardStream stream = heads.poll();
+            Application next = stream.take(sort);
+            if (skip > 0) {
+                skip--;
+            } else {
+                content.add(next);
+            }
+            if (stream.hasBuffered() || (content.size() < size && stream.refill(joinPoint, shardArgs, sort, size))) {
+                heads.add(stream);
+            }
+        }
+
+        List<List<Object>> positions = new ArrayList<>();
+        streams.forEach(stream -> positions.add(stream.consumed));
+        pagePositions.put(key.at(page + 1), new PagePositions(positions, System.nanoTime() + PAGE_POSITIONS_TTL_NANOS));
+
+        Pageable pageable = PageRequest.of(page, size, sort);
+        if (counted) {
+            return new PageImpl<>(content, pageable, total);
+        }
+        boolean hasNext = !heads.isEmpty() || streams.stream().anyMatch(stream -> !stream.exhausted);
+        return new SliceImpl<>(content, pageable, hasNext);
+    }
+
+    private Object scatterEstimate(ProceedingJoinPoint joinPoint, Object[] args) throws Throwable {
+        long total = 0;
+        for (Object result : scatter(joinPoint, args)) {
+            OptionalLong estimate = (OptionalLong) result;
+            if (estimate.isEmpty()) {
+                return OptionalLong.empty();
+            }
+            total += estimate.getAsLong();
+        }
+        return OptionalLong.of(total);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Object scatterCounts(ProceedingJoinPoint joinPoint, Object[] args) throws Throwable {
+        Map<Object, Long> total = new LinkedHashMap<>();
+        for (Object result : scatter(joinPoint, args)) {
+            ((Map<Object, Long>) result).forEach((key, count) -> total.merge(key, count, Long::sum));
+        }
+        return total;
+    }
+
+    private Object scatterDurations(ProceedingJoinPoint joinPoint, Object[] args) throws Throwable {
+        DurationReport merged = null;
+        for (Object result : scatter(joinPoint, args)) {
+            merged = merged == null ? (DurationReport) result : merged.merge((DurationReport) result);
+        }
+        return merged;
+    }
+
+    private Object scatterSearch(ProceedingJoinPoint joinPoint, Object[] args) throws Throwable {
+        int limit = (int) args[args.length - 1];
+        List<RankedApplication> merged = new ArrayList<>();
+        boolean hasNext = false;
+        for (Object result : scatter(joinPoint, args)) {
+            SearchPage page = (SearchPage) result;
+            merged.addAll(page.results());
+            hasNext |= page.hasNext();
+        }
+
+        merged.sort(Comparator.comparing(RankedApplication::hit, SearchHit.ORDER));
+        if (merged.size() > limit) {
+            return new SearchPage(new ArrayList<>(merged.subList(0, limit)), true);
+        }
+        return new SearchPage(merged, hasNext);
+    }
+
+    private List<Object> scatter(ProceedingJoinPoint joinPoint, Object[] args) throws Throwable {
+        return scatter(shard -> onShard(shard, joinPoint, args));
+    }
+
+    private List<Object> scatter(ShardQuery shardQuery) throws Throwable {
+        List<Future<Object>> futures = new ArrayList<>();
+        for (int shard = 0; shard < resolver.getShardCount(); shard++) {
+            int target = shard;
+            Callable<Object> query = () -> {
+                try {
+                    return shardQuery.run(target);
+                } catch (ApplicationNotFoundException e) {
+                    return e;
+                } catch (Exception | Error e) {
+                    throw e;
+                } catch (Throwable e) {
+                    throw new IllegalStateException(e);
+                }
+            };
+            futures.add(executor.submit(query));
+        }
+
+        List<Object> results = new ArrayList<>();
+        try {
+            for (Future<Object> future : futures) {
+                results.add(future.get());
+            }
+        } catch (ExecutionException e) {
+            futures.forEach(future -> future.cancel(true));
+            throw e.getCause();
+        } catch (InterruptedException e) {
+            futures.forEach(future -> future.cancel(true));
+            Thread.currentThread().interrupt();
+            throw e;
+        }
+        return results;
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    private interface ShardQuery {
+
+        Object run(int shard) throws Throwable;
+    }
+
+    private record PageKey(Method method, List<Object> args, int page) {
+
+        static PageKey of(ProceedingJoinPoint joinPoint, Object[] args, int pageIndex) {
+            List<Object> query = new ArrayList<>(Arrays.asList(args));
+            query.set(pageIndex, null);
+            return new PageKey(((MethodSignature) joinPoint.getSignature()).getMethod(), query, -1);
+        }
+
+        PageKey at(int page) {
+            return new PageKey(method, args, page);
+        }
+    }
+
+    private record PagePositions(List<List<Object>> shards, long expiresAt) {
+
+        boolean isExpired() {
+            return System.nanoTime() - expiresAt > 0;
+        }
+    }
+
+    private final class ShardStream {
+
+        private final int shard;
+        private final Deque<Application> buffered = new ArrayDeque<>();
+        private List<Object> consumed;
+        private Application last;
+        private boolean exhausted;
+
+        ShardStream(int shard, List<Object> consumed) {
+            this.shard = shard;
+            this.consumed = consumed;
+        }
+
+        Application head() {
+            return buffered.peekFirst();
+        }
+
+        boolean hasBuffered() {
+            return !buffered.isEmpty();
+        }
+
+        Application take(Sort sort) {
+            Application next = buffered.pollFirst();
+            consumed = ApplicationSortKey.values(sort, next);
+            return next;
+        }
+
+        boolean accept(Object result, int size) {
+            if (result instanceof Slice<?> slice) {
+                for (Object app : slice) {
+                    buffered.addLast((Application) app);
+                    last = (Application) app;
+                }
+                exhausted = slice.getNumberOfElements() < size || !(slice instanceof Page) && !slice.hasNext();
+            } else {
+                exhausted = true;
+            }
+            return hasBuffered();
+        }
+
+        boolean refill(ProceedingJoinPoint joinPoint, Object[] shardArgs, Sort sort, int size) throws Throwable {
+            if (exhausted) {
+                return false;
+            }
+            Object result;
+            try {
+                result = onShard(shard, joinPoint, shardArgs, new ShardKeyset(ApplicationSortKey.values(sort, last), false));
+            } catch (ApplicationNotFoundException e) {
+                result = e;
+            }
+            return accept(result, size);
+        }
+    }
+}
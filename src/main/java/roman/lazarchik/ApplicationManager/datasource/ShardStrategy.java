@@ -0,0 +1,19 @@
+package roman.lazarchik.ApplicationManager.datasource;
+
+public enum ShardStrategy {
+    /** First argument is the application id. */
+    BY_ID,
+    /** First argument is a collection of ids; the returned lists are concatenated. */
+    BY_IDS,
+    /** First argument is a new application, placed by name and content. */
+    BY_CONTENT,
+    /** Trailing page and size arguments; shard pages are merged with per-shard keyset cursors. */
+    SCATTER_PAGE,
+    SCATTER_ESTIMATE,
+    SCATTER_SEARCH,
+    SCATTER_COUNTS,
+    SCATTER_DURATIONS,
+    /** Trailing limit argument; shards are drained in turn until the limit is reached. */
+    DRAIN,
+    DRAIN_CHANGES
+}
@@ -0,0 +1,17 @@
+package roman.lazarchik.ApplicationManager.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ApplicationChangesResponse {
+
+    private List<ApplicationDTO> applications;
+    private String nextCursor;
+    private boolean hasMore;
+}
@@ -0,0 +1,54 @@
+package roman.lazarchik.ApplicationManager.dto;
+
+import lombok.Data;
+import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
+import roman.lazarchik.ApplicationManager.exceptions.InvalidInputException;
+import roman.lazarchik.ApplicationManager.filter.ApplicationFilter;
+import roman.lazarchik.ApplicationManager.filter.ApplicationSortKey;
+import roman.lazarchik.ApplicationManager.models.ApplicationStatus;
+
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+
+@Data
+public class ApplicationFilterRequest {
+
+    private String namePrefix;
+    private Integer publishedNumberFrom;
+    private Integer publishedNumberTo;
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime createdFrom;
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime createdTo;
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime updatedFrom;
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime updatedTo;
+    private String sort;
+    private String direction;
+
+    public boolean isEmpty() {
+        return namePrefix == null && publishedNumberFrom == null && publishedNumberTo == null
+                && createdFrom == null && createdTo == null && updatedFrom == null && updatedTo == null
+                && sort == null && direction == null;
+    }
+
+    public ApplicationFilter toFilter(String nameContains, List<ApplicationStatus> statuses) {
+        return ApplicationFilter.builder()
+                .statuses(statuses.isEmpty() ? null : EnumSet.copyOf(statuses))
+                .namePrefix(namePrefix)
+                .nameContains(nameContains)
+                .publishedNumberFrom(publishedNumberFrom)
+                .publishedNumberTo(publishedNumberTo)
+                .createdFrom(createdFrom)
+                .createdTo(createdTo)
+                .updatedFrom(updatedFrom)
+                .updatedTo(updatedTo)
+                .sort(sort == null ? null : ApplicationSortKey.fromParameter(sort))
+                .direction(direction == null ? null : Sort.Direction.fromOptionalString(direction.trim())
+                        .orElseThrow(() -> new InvalidInputException("Parameter 'direction' must be one of: asc, desc")))
+                .build();
+    }
+}
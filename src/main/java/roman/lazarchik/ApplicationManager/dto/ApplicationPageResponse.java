@@ -0,0 +1,58 @@
+package roman.lazarchik.ApplicationManager.dto;
+
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import lombok.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
+import roman.lazarchik.ApplicationManager.mapper.ApplicationPageSerializer;
+import roman.lazarchik.ApplicationManager.models.Application;
+import roman.lazarchik.ApplicationManager.models.ApplicationStatus;
+
+import java.util.List;
+import java.util.Map;
+
+@Value
+@JsonSerialize(using = ApplicationPageSerializer.class)
+public class ApplicationPageResponse {
+
+    List<Application> applications;
+    int currentPage;
+    Long totalItems;
+    Integer totalPages;
+    boolean hasNext;
+    TotalMode totalMode;
+    Map<ApplicationStatus, Long> statusCounts;
+
+    public static ApplicationPageResponse of(Page<Application> page) {
+        return new ApplicationPageResponse(page.getContent(), page.getNumber(), page.getTotalElements(),
+                page.getTotalPages(), page.hasNext(), TotalMode.EXACT, null);
+    }
+
+    public static ApplicationPageResponse of(Slice<Application> slice) {
+        return new ApplicationPageResponse(slice.getContent(), slice.getNumber(), null, null, slice.hasNext(), TotalMode.NONE, null);
+    }
+
+    public static ApplicationPageResponse faceted(Slice<Application> slice, Map<ApplicationStatus, Long> statusCounts,
+                                                  ApplicationStatus status) {
+        long totalItems = status == null
+                ? statusCounts.values().stream().mapToLong(Long::longValue).sum()
+                : statusCounts.getOrDefault(status, 0L);
+        return new ApplicationPageResponse(slice.getContent(), slice.getNumber(), totalItems, totalPages(totalItems, slice.getSize()),
+                slice.hasNext(), TotalMode.EXACT, statusCounts);
+    }
+
+    public static ApplicationPageResponse approximate(Slice<Application> slice, long estimatedTotal) {
+        long seen = (long) slice.getNumber() * slice.getSize() + slice.getNumberOfElements() + (slice.hasNext() ? 1 : 0);
+        long totalItems = Math.max(estimatedTotal, seen);
+        return new ApplicationPageResponse(slice.getContent(), slice.getNumber(), totalItems, totalPages(totalItems, slice.getSize()),
+                slice.hasNext(), TotalMode.APPROX, null);
+    }
+
+    private static int totalPages(long totalItems, int size) {
+        return size == 0 ? 1 : (int) Math.ceil((double) totalItems / size);
+    }
+
+    public boolean isTotalApproximate() {
+        return totalMode == TotalMode.APPROX;
+    }
+}
@@ -0,0 +1,18 @@
+package roman.lazarchik.ApplicationManager.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ClaimResponse {
+
+    private String reviewer;
+    private LocalDateTime leaseExpiresAt;
+    private List<ApplicationDTO> applications;
+}
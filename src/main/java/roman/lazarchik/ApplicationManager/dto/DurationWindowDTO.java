@@ -0,0 +1,20 @@
+package roman.lazarchik.ApplicationManager.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DurationWindowDTO {
+
+    private LocalDateTime start;
+    private LocalDateTime end;
+    private long count;
+    private Long p50Millis;
+    private Long p95Millis;
+    private Long p99Millis;
+}
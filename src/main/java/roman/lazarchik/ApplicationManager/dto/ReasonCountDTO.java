@@ -0,0 +1,15 @@
+package roman.lazarchik.ApplicationManager.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReasonCountDTO {
+
+    private String code;
+    private String text;
+    private long count;
+}
@@ -1,6 +1,7 @@
 package roman.lazarchik.ApplicationManager.dto;
 
-import jakarta.validation.constraints.NotBlank;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.validation.constraints.AssertTrue;
 import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -10,7 +11,18 @@ import lombok.NoArgsConstructor;
 @NoArgsConstructor
 @AllArgsConstructor
 public class RejectDTO {
-    @NotBlank(message = "Reason must not be empty")
     @Size(max = 255, message = "Reason must not exceed 255 characters")
     private String reason;
-}
\ No newline at end of file
+
+    private String reasonCode;
+
+    public RejectDTO(String reason) {
+        this.reason = reason;
+    }
+
+    @JsonIgnore
+    @AssertTrue(message = "Reason must not be empty")
+    public boolean isReasonPresent() {
+        return reasonCode != null || (reason != null && !reason.isBlank());
+    }
+}
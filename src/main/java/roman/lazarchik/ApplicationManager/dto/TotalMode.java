@@ -0,0 +1,16 @@
+package roman.lazarchik.ApplicationManager.dto;
+
+import roman.lazarchik.ApplicationManager.exceptions.InvalidInputException;
+
+public enum TotalMode {
+    EXACT, APPROX, NONE;
+
+    public static TotalMode fromParameter(String value) {
+        for (TotalMode mode : values()) {
+            if (mode.name().equalsIgnoreCase(value.trim())) {
+                return mode;
+            }
+        }
+        throw new InvalidInputException("Parameter 'total' must be one of: exact, approx, none");
+    }
+}
@@ -0,0 +1,18 @@
+package roman.lazarchik.ApplicationManager.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import roman.lazarchik.ApplicationManager.models.ApplicationStatus;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransitionDurationsResponse {
+
+    private ApplicationStatus from;
+    private ApplicationStatus to;
+    private List<DurationWindowDTO> windows;
+}
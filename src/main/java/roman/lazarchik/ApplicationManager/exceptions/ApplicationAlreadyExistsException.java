@@ -1,6 +1,6 @@
 package roman.lazarchik.ApplicationManager.exceptions;
 
-public class ApplicationAlreadyExistsException extends RuntimeException {
+public class ApplicationAlreadyExistsException extends DomainException {
     public ApplicationAlreadyExistsException(String message) {
         super(message);
     }
@@ -1,6 +1,6 @@
 package roman.lazarchik.ApplicationManager.exceptions;
 
-public class ApplicationNotFoundException extends RuntimeException {
+public class ApplicationNotFoundException extends DomainException {
     public ApplicationNotFoundException(String message) {
         super(message);
     }
@@ -1,6 +1,6 @@
 package roman.lazarchik.ApplicationManager.exceptions;
 
-public class ContentEditNotAllowedException extends RuntimeException {
+public class ContentEditNotAllowedException extends DomainException {
     public ContentEditNotAllowedException(String message) {
         super(message);
     }
@@ -0,0 +1,8 @@
+package roman.lazarchik.ApplicationManager.exceptions;
+
+public abstract class DomainException extends RuntimeException {
+
+    protected DomainException(String message) {
+        super(message, null, false, false);
+    }
+}
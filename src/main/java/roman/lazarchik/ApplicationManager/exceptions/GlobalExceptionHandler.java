@@ -1,6 +1,8 @@
 package roman.lazarchik.ApplicationManager.exceptions;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
@@ -14,40 +16,41 @@ import java.util.stream.Collectors;
 @ControllerAdvice
 public class GlobalExceptionHandler {
 
+    private static final ErrorTemplate NOT_FOUND = new ErrorTemplate(HttpStatus.NOT_FOUND, "Application not found");
+    private static final ErrorTemplate INVALID_STATUS = new ErrorTemplate(HttpStatus.BAD_REQUEST, "Invalid Application Status");
+    private static final ErrorTemplate ALREADY_EXISTS = new ErrorTemplate(HttpStatus.BAD_REQUEST, "Application Already Exists");
+    private static final ErrorTemplate CONTENT_EDIT_NOT_ALLOWED = new ErrorTemplate(HttpStatus.BAD_REQUEST, "Content Edit Not Allowed");
+    private static final ErrorTemplate INVALID_INPUT = new ErrorTemplate(HttpStatus.BAD_REQUEST, "Invalid Input");
+    private static final ErrorTemplate DATABASE_ERROR = new ErrorTemplate(HttpStatus.INTERNAL_SERVER_ERROR, "Database Operation Error");
+
     @ExceptionHandler(ApplicationNotFoundException.class)
     public ResponseEntity<ErrorResponse> handleApplicationNotFoundException(ApplicationNotFoundException ex) {
-        ErrorResponse error = new ErrorResponse(LocalDateTime.now(), ex.getMessage(), "Application not found");
-        return new ResponseEntity<>(error, HttpStatus.NOT_FOUND);
+        return NOT_FOUND.respond(ex.getMessage());
     }
 
     @ExceptionHandler(InvalidApplicationStatusException.class)
     public ResponseEntity<ErrorResponse> handleInvalidApplicationStatusException(InvalidApplicationStatusException ex) {
-        ErrorResponse error = new ErrorResponse(LocalDateTime.now(), ex.getMessage(), "Invalid Application Status");
-        return new ResponseEntity<>(error, HttpStatus.BAD_REQUEST);
+        return INVALID_STATUS.respond(ex.getMessage());
     }
 
     @ExceptionHandler(ApplicationAlreadyExistsException.class)
     public ResponseEntity<ErrorResponse> handleApplicationAlreadyExistsException(ApplicationAlreadyExistsException ex) {
-        ErrorResponse error = new ErrorResponse(LocalDateTime.now(), ex.getMessage(), "Application Already Exists");
-        return new ResponseEntity<>(error, HttpStatus.BAD_REQUEST);
+        return ALREADY_EXISTS.respond(ex.getMessage());
     }
 
     @ExceptionHandler(ContentEditNotAllowedException.class)
     public ResponseEntity<ErrorResponse> handleContentEditNotAllowedException(ContentEditNotAllowedException ex) {
-        ErrorResponse error = new ErrorResponse(LocalDateTime.now(), ex.getMessage(), "Content Edit Not Allowed");
-        return new ResponseEntity<>(error, HttpStatus.BAD_REQUEST);
+        return CONTENT_EDIT_NOT_ALLOWED.respond(ex.getMessage());
     }
 
     @ExceptionHandler(InvalidInputException.class)
     public ResponseEntity<ErrorResponse> handleInvalidInputException(InvalidInputException ex) {
-        ErrorResponse error = new ErrorResponse(LocalDateTime.now(), ex.getMessage(), "Invalid Input");
-        return new ResponseEntity<>(error, HttpStatus.BAD_REQUEST);
+        return INVALID_INPUT.respond(ex.getMessage());
     }
 
     @ExceptionHandler(DatabaseOperationException.class)
     public ResponseEntity<ErrorResponse> handleDatabaseOperationException(DatabaseOperationException ex) {
-        ErrorResponse error = new ErrorResponse(LocalDateTime.now(), ex.getMessage(), "Database Operation Error");
-        return new ResponseEntity<>(error, HttpStatus.INTERNAL_SERVER_ERROR);
+        return DATABASE_ERROR.respond(ex.getMessage());
     }
 
     @ExceptionHandler(MethodArgumentNotValidException.class)
@@ -59,4 +62,27 @@ public class GlobalExceptionHandler {
         ErrorResponse errorResponse = new ErrorResponse(LocalDateTime.now(), "Validation Error", errorMessages);
         return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
     }
-}
\ No newline at end of file
+
+    private static final class ErrorTemplate {
+
+        private static final HttpHeaders JSON_HEADERS = HttpHeaders.readOnlyHttpHeaders(jsonHeaders());
+
+        private final HttpStatus status;
+        private final String details;
+
+        private ErrorTemplate(HttpStatus status, String details) {
+            this.status = status;
+            this.details = details;
+        }
+
+        private ResponseEntity<ErrorResponse> respond(String message) {
+            return new ResponseEntity<>(new ErrorResponse(LocalDateTime.now(), message, details), JSON_HEADERS, status);
+        }
+
+        private static HttpHeaders jsonHeaders() {
+            HttpHeaders headers = new HttpHeaders();
+            headers.setContentType(MediaType.APPLICATION_JSON);
+            return headers;
+        }
+    }
+}
@@ -1,6 +1,6 @@
 package roman.lazarchik.ApplicationManager.exceptions;
 
-public class InvalidApplicationStatusException extends RuntimeException {
+public class InvalidApplicationStatusException extends DomainException {
     public InvalidApplicationStatusException(String message) {
         super(message);
     }
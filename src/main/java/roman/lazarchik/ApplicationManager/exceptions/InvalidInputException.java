@@ -1,6 +1,6 @@
 package roman.lazarchik.ApplicationManager.exceptions;
 
-public class InvalidInputException extends RuntimeException {
+public class InvalidInputException extends DomainException {
     public InvalidInputException(String message) {
         super(message);
     }
@@ -0,0 +1,59 @@
+package roman.lazarchik.ApplicationManager.filter;
+
+import lombok.Builder;
+import org.springframework.data.domain.Sort;
+import roman.lazarchik.ApplicationManager.models.ApplicationStatus;
+
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.Set;
+
+@Builder
+public record ApplicationFilter(Set<ApplicationStatus> statuses,
+                                String namePrefix,
+                                String nameContains,
+                                Integer publishedNumberFrom,
+                                Integer publishedNumberTo,
+                                LocalDateTime createdFrom,
+                                LocalDateTime createdTo,
+                                LocalDateTime updatedFrom,
+                                LocalDateTime updatedTo,
+                                ApplicationSortKey sort,
+                                Sort.Direction direction) {
+
+    public ApplicationFilter {
+        statuses = statuses == null || statuses.isEmpty() ? Set.of() : Set.copyOf(EnumSet.copyOf(statuses));
+        direction = direction == null ? Sort.Direction.ASC : direction;
+    }
+
+    public Set<ApplicationSortKey> rangeKeys() {
+        Set<ApplicationSortKey> keys = EnumSet.noneOf(ApplicationSortKey.class);
+        if (namePrefix != null) {
+            keys.add(ApplicationSortKey.NAME);
+        }
+        if (publishedNumberFrom != null || publishedNumberTo != null) {
+            keys.add(ApplicationSortKey.PUBLISHED_NUMBER);
+        }
+        if (createdFrom != null || createdTo != null) {
+            keys.add(ApplicationSortKey.CREATED_AT);
+        }
+        if (updatedFrom != null || updatedTo != null) {
+            keys.add(ApplicationSortKey.UPDATED_AT);
+        }
+        return keys;
+    }
+
+    public ApplicationSortKey sortKey() {
+        if (sort != null) {
+            return sort;
+        }
+        Set<ApplicationSortKey> ranges = rangeKeys();
+        return ranges.size() == 1 ? ranges.iterator().next() : ApplicationSortKey.ID;
+    }
+
+    public Sort toSort() {
+        ApplicationSortKey key = sortKey();
+        Sort sort = Sort.by(direction, key.getProperty());
+        return key == ApplicationSortKey.ID ? sort : sort.and(Sort.by(direction, ApplicationSortKey.ID.getProperty()));
+    }
+}
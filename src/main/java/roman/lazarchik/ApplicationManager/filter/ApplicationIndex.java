@@ -0,0 +1,26 @@
+package roman.lazarchik.ApplicationManager.filter;
+
+public enum ApplicationIndex {
+    PRIMARY_KEY("application_pkey", ApplicationSortKey.ID),
+    STATUS_ID("idx_application_status_id", ApplicationSortKey.ID),
+    NAME_ID("idx_application_name_id", ApplicationSortKey.NAME),
+    PUBLISHED_NUMBER("ux_application_published_number", ApplicationSortKey.PUBLISHED_NUMBER),
+    CREATED_AT_ID("idx_application_created_at_id", ApplicationSortKey.CREATED_AT),
+    UPDATED_AT_ID("idx_application_updated_at_id", ApplicationSortKey.UPDATED_AT);
+
+    private final String indexName;
+    private final ApplicationSortKey orderedBy;
+
+    ApplicationIndex(String indexName, ApplicationSortKey orderedBy) {
+        this.indexName = indexName;
+        this.orderedBy = orderedBy;
+    }
+
+    public String getIndexName() {
+        return indexName;
+    }
+
+    public ApplicationSortKey getOrderedBy() {
+        return orderedBy;
+    }
+}
@@ -0,0 +1,52 @@
+package roman.lazarchik.ApplicationManager.filter;
+
+import roman.lazarchik.ApplicationManager.exceptions.InvalidInputException;
+
+import java.util.Arrays;
+import java.util.Set;
+
+public final class ApplicationIndexPolicy {
+
+    private ApplicationIndexPolicy() {
+    }
+
+    public static ApplicationIndex indexFor(ApplicationFilter filter) {
+        requireNotBlank(filter.namePrefix(), "namePrefix");
+        requireNotBlank(filter.nameContains(), "name");
+        requireOrdered(filter.publishedNumberFrom(), filter.publishedNumberTo(), "publishedNumber");
+        requireOrdered(filter.createdFrom(), filter.createdTo(), "created");
+        requireOrdered(filter.updatedFrom(), filter.updatedTo(), "updated");
+
+        Set<ApplicationSortKey> ranges = filter.rangeKeys();
+        ApplicationSortKey sortKey = filter.sortKey();
+        if (ranges.size() > 1) {
+            throw new InvalidInputException("Only one range filter is supported per query, got: "
+                    + ranges.stream().map(ApplicationSortKey::getProperty).toList());
+        }
+        if (!ranges.isEmpty() && !ranges.contains(sortKey)) {
+            ApplicationSortKey range = ranges.iterator().next();
+            throw new InvalidInputException("A range filter on '" + range.getProperty()
+                    + "' requires sort=" + range.getProperty() + ", no index covers sort=" + sortKey.getProperty());
+        }
+
+        if (sortKey == ApplicationSortKey.ID) {
+            return filter.statuses().size() == 1 ? ApplicationIndex.STATUS_ID : ApplicationIndex.PRIMARY_KEY;
+        }
+        return Arrays.stream(ApplicationIndex.values())
+                .filter(index -> index.getOrderedBy() == sortKey)
+                .findFirst()
+                .orElseThrow(() -> new InvalidInputException("No index covers sort=" + sortKey.getProperty()));
+    }
+
+    private static void requireNotBlank(String value, String parameter) {
+        if (value != null && value.trim().isEmpty()) {
+            throw new InvalidInputException("Parameter '" + parameter + "' must not be empty");
+        }
+    }
+
+    private static <T extends Comparable<? super T>> void requireOrdered(T from, T to, String parameter) {
+        if (from != null && to != null && from.compareTo(to) > 0) {
+            throw new InvalidInputException("Parameter '" + parameter + "From' must not be after '" + parameter + "To'");
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package roman.lazarchik.ApplicationManager.filter;
+
+import org.springframework.data.domain.Sort;
+import roman.lazarchik.ApplicationManager.exceptions.InvalidInputException;
+import roman.lazarchik.ApplicationManager.models.Application;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+public enum ApplicationSortKey {
+    ID("id", Application::getId),
+    NAME("name", Application::getName),
+    PUBLISHED_NUMBER("publishedNumber", Application::getPublishedNumber),
+    CREATED_AT("createdAt", Application::getCreatedAt),
+    UPDATED_AT("updatedAt", Application::getUpdatedAt);
+
+    private final String property;
+    private final Function<Application, ?> key;
+    private final Comparator<Application> ascending;
+
+    <T extends Comparable<? super T>> ApplicationSortKey(String property, Function<Application, T> key) {
+        this.property = property;
+        this.key = key;
+        this.ascending = Comparator.comparing(key, Comparator.nullsLast(Comparator.naturalOrder()));
+    }
+
+    public String getProperty() {
+        return property;
+    }
+
+    public static ApplicationSortKey fromParameter(String value) {
+        for (ApplicationSortKey key : values()) {
+            if (key.property.equalsIgnoreCase(value.trim())) {
+                return key;
+            }
+        }
+        throw new InvalidInputException("Parameter 'sort' must be one of: "
+                + Arrays.stream(values()).map(ApplicationSortKey::getProperty).collect(Collectors.joining(", ")));
+    }
+
+    public static List<Object> values(Sort sort, Application app) {
+        List<Object> values = new ArrayList<>();
+        for (Sort.Order order : sort) {
+            values.add(fromParameter(order.getProperty()).key.apply(app));
+        }
+        return values;
+    }
+
+    public static Comparator<Application> comparator(Sort sort) {
+        Comparator<Application> comparator = null;
+        for (Sort.Order order : sort) {
+            Comparator<Application> next = fromParameter(order.getProperty()).ascending;
+            next = order.isAscending() ? next : next.reversed();
+            comparator = comparator == null ? next : comparator.thenComparing(next);
+        }
+        return comparator == null ? ID.ascending : comparator;
+    }
+}
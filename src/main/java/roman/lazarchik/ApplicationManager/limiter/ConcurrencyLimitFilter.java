@@ -0,0 +1,79 @@
+package roman.lazarchik.ApplicationManager.limiter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+import roman.lazarchik.ApplicationManager.dto.ErrorResponse;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private final AimdLimiter readLimiter;
+    private final AimdLimiter writeLimiter;
+    private final Counter rejectedReads;
+    private final Counter rejectedWrites;
+    private final String endpointRoot;
+    private final String retryAfterSeconds;
+    private final ObjectMapper objectMapper;
+
+    public ConcurrencyLimitFilter(AimdLimiter readLimiter, AimdLimiter writeLimiter, Counter rejectedReads, Counter rejectedWrites,
+                                  String endpointRoot, Duration retryAfter, ObjectMapper objectMapper) {
+        this.readLimiter = readLimiter;
+        this.writeLimiter = writeLimiter;
+        this.rejectedReads = rejectedReads;
+        this.rejectedWrites = rejectedWrites;
+        this.endpointRoot = endpointRoot;
+        this.retryAfterSeconds = String.valueOf(Math.max(1, retryAfter.toSeconds()));
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return !path.equals(endpointRoot) && !path.startsWith(endpointRoot + "/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        boolean read = isRead(request);
+        AimdLimiter limiter = read ? readLimiter : writeLimiter;
+
+        if (!limiter.tryAcquire()) {
+            (read ? rejectedReads : rejectedWrites).increment();
+            reject(response);
+            return;
+        }
+
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            chain.doFilter(request, response);
+            failed = response.getStatus() >= HttpStatus.INTERNAL_SERVER_ERROR.value();
+        } finally {
+            limiter.release(System.nanoTime() - start, failed);
+        }
+    }
+
+    private static boolean isRead(HttpServletRequest request) {
+        return "GET".equals(request.getMethod()) || "HEAD".equals(request.getMethod());
+    }
+
+    private void reject(HttpServletResponse response) throws IOException {
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, retryAfterSeconds);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(),
+                new ErrorResponse(LocalDateTime.now(), "Too many concurrent requests, please retry later", "Service Overloaded"));
+    }
+}
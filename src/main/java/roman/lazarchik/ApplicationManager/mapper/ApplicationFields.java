@@ -0,0 +1,68 @@
+package roman.lazarchik.ApplicationManager.mapper;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import roman.lazarchik.ApplicationManager.dto.ApplicationDTO;
+import roman.lazarchik.ApplicationManager.models.Application;
+import roman.lazarchik.ApplicationManager.models.ApplicationStatus;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+final class ApplicationFields {
+
+    static final List<Field<?>> ALL = List.of(
+            new Field<>("id", Application::getId, Application::setId,
+                    ApplicationDTO::getId, ApplicationDTO::setId, JsonGenerator::writeNumber),
+            new Field<>("name", Application::getName, Application::setName,
+                    ApplicationDTO::getName, ApplicationDTO::setName, JsonGenerator::writeString),
+            new Field<>("content", Application::getContent, Application::setContent,
+                    ApplicationDTO::getContent, ApplicationDTO::setContent, JsonGenerator::writeString),
+            new Field<ApplicationStatus>("status", Application::getStatus, Application::setStatus,
+                    ApplicationDTO::getStatus, ApplicationDTO::setStatus, (gen, status) -> gen.writeString(status.name())),
+            new Field<>("publishedNumber", Application::getPublishedNumber, Application::setPublishedNumber,
+                    ApplicationDTO::getPublishedNumber, ApplicationDTO::setPublishedNumber, JsonGenerator::writeNumber),
+            new Field<String>("reason", Application::getReason, Application::setReason,
+                    ApplicationDTO::getReason, ApplicationDTO::setReason, JsonGenerator::writeString));
+
+    private ApplicationFields() {
+    }
+
+    record Field<T>(SerializableString name,
+                    Function<Application, T> entityValue, BiConsumer<Application, T> entitySetter,
+                    Function<ApplicationDTO, T> dtoValue, BiConsumer<ApplicationDTO, T> dtoSetter,
+                    ValueWriter<T> writer) {
+
+        Field(String name, Function<Application, T> entityValue, BiConsumer<Application, T> entitySetter,
+              Function<ApplicationDTO, T> dtoValue, BiConsumer<ApplicationDTO, T> dtoSetter, ValueWriter<T> writer) {
+            this(new SerializedString(name), entityValue, entitySetter, dtoValue, dtoSetter, writer);
+        }
+
+        void toDto(Application app, ApplicationDTO dto) {
+            dtoSetter.accept(dto, entityValue.apply(app));
+        }
+
+        void toEntity(ApplicationDTO dto, Application app) {
+            entitySetter.accept(app, dtoValue.apply(dto));
+        }
+
+        void write(Application app, JsonGenerator gen) throws IOException {
+            gen.writeFieldName(name);
+            T value = entityValue.apply(app);
+            if (value == null) {
+                gen.writeNull();
+            } else {
+                writer.write(gen, value);
+            }
+        }
+    }
+
+    @FunctionalInterface
+    interface ValueWriter<T> {
+
+        void write(JsonGenerator gen, T value) throws IOException;
+    }
+}
@@ -9,22 +9,16 @@ public class ApplicationMapper {
 
     public Application toEntity(ApplicationDTO dto) {
         Application app = new Application();
-        app.setId(dto.getId());
-        app.setName(dto.getName());
-        app.setContent(dto.getContent());
-        app.setStatus(dto.getStatus());
-        app.setPublishedNumber(dto.getPublishedNumber());
-        app.setReason(dto.getReason());
+        for (ApplicationFields.Field<?> field : ApplicationFields.ALL) {
+            field.toEntity(dto, app);
+        }
         return app;
     }
     public ApplicationDTO toDto(Application entity) {
         ApplicationDTO appDTO = new ApplicationDTO();
-        appDTO.setId(entity.getId());
-        appDTO.setName(entity.getName());
-        appDTO.setContent(entity.getContent());
-        appDTO.setStatus(entity.getStatus());
-        appDTO.setPublishedNumber(entity.getPublishedNumber());
-        appDTO.setReason(entity.getReason());
+        for (ApplicationFields.Field<?> field : ApplicationFields.ALL) {
+            field.toDto(entity, appDTO);
+        }
         return appDTO;
     }
 }
\ No newline at end of file
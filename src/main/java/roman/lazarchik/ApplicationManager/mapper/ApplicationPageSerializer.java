@@ -0,0 +1,78 @@
+package roman.lazarchik.ApplicationManager.mapper;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import roman.lazarchik.ApplicationManager.dto.ApplicationPageResponse;
+import roman.lazarchik.ApplicationManager.dto.TotalMode;
+import roman.lazarchik.ApplicationManager.models.Application;
+import roman.lazarchik.ApplicationManager.models.ApplicationStatus;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+public class ApplicationPageSerializer extends StdSerializer<ApplicationPageResponse> {
+
+    private static final SerializableString APPLICATIONS = new SerializedString("applications");
+    private static final SerializableString CURRENT_PAGE = new SerializedString("currentPage");
+    private static final SerializableString TOTAL_ITEMS = new SerializedString("totalItems");
+    private static final SerializableString TOTAL_PAGES = new SerializedString("totalPages");
+    private static final SerializableString HAS_NEXT = new SerializedString("hasNext");
+    private static final SerializableString TOTAL_APPROXIMATE = new SerializedString("totalApproximate");
+    private static final SerializableString STATUS_COUNTS = new SerializedString("statusCounts");
+
+    public ApplicationPageSerializer() {
+        super(ApplicationPageResponse.class);
+    }
+
+    @Override
+    public void serialize(ApplicationPageResponse page, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        gen.writeStartObject();
+
+        gen.writeFieldName(APPLICATIONS);
+        List<Application> applications = page.getApplications();
+        gen.writeStartArray(applications, applications.size());
+        for (int i = 0; i < applications.size(); i++) {
+            writeApplication(applications.get(i), gen);
+        }
+        gen.writeEndArray();
+
+        gen.writeFieldName(CURRENT_PAGE);
+        gen.writeNumber(page.getCurrentPage());
+        if (page.getTotalItems() != null) {
+            gen.writeFieldName(TOTAL_ITEMS);
+            gen.writeNumber(page.getTotalItems());
+            gen.writeFieldName(TOTAL_PAGES);
+            gen.writeNumber(page.getTotalPages());
+        }
+        if (page.getTotalMode() != TotalMode.EXACT) {
+            gen.writeFieldName(HAS_NEXT);
+            gen.writeBoolean(page.isHasNext());
+        }
+        if (page.getTotalMode() == TotalMode.APPROX) {
+            gen.writeFieldName(TOTAL_APPROXIMATE);
+            gen.writeBoolean(true);
+        }
+        if (page.getStatusCounts() != null) {
+            gen.writeFieldName(STATUS_COUNTS);
+            gen.writeStartObject();
+            for (Map.Entry<ApplicationStatus, Long> count : page.getStatusCounts().entrySet()) {
+                gen.writeNumberField(count.getKey().name(), count.getValue());
+            }
+            gen.writeEndObject();
+        }
+
+        gen.writeEndObject();
+    }
+
+    static void writeApplication(Application app, JsonGenerator gen) throws IOException {
+        gen.writeStartObject();
+        for (int i = 0; i < ApplicationFields.ALL.size(); i++) {
+            ApplicationFields.ALL.get(i).write(app, gen);
+        }
+        gen.writeEndObject();
+    }
+}
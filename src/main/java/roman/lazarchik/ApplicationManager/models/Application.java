@@ -1,19 +1,24 @@
 package roman.lazarchik.ApplicationManager.models;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
-import com.fasterxml.jackson.annotation.JsonManagedReference;
 import jakarta.persistence.*;
-import lombok.AllArgsConstructor;
+import lombok.AccessLevel;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+import roman.lazarchik.ApplicationManager.repositories.ApplicationContentListener;
+import roman.lazarchik.ApplicationManager.repositories.ApplicationReasonListener;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.time.LocalDateTime;
 
 @Entity
 @Data
 @NoArgsConstructor
-@AllArgsConstructor
+@EntityListeners({ApplicationContentListener.class, ApplicationReasonListener.class})
 public class Application {
 
     @Id
@@ -22,18 +27,137 @@ public class Application {
 
     private String name;
 
+    @Setter(AccessLevel.NONE)
+    @Column(name = "content_hash")
+    private String contentHash;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "content_hash", insertable = false, updatable = false)
+    @JsonIgnore
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private ContentBlob contentBlob;
+
+    @Transient
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private String content;
 
+    @Transient
+    @JsonIgnore
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private boolean contentChanged;
+
     @Enumerated(EnumType.STRING)
     private ApplicationStatus status;
 
-    private String reason;
+    @Column(name = "reason_code")
+    @Setter(AccessLevel.NONE)
+    private Long reasonCode;
+
+    @Column(name = "reason")
+    @Setter(AccessLevel.NONE)
+    private String reasonOverride;
 
-    @OneToMany(cascade = CascadeType.ALL, orphanRemoval = true)
-    @JoinColumn(name = "application_id")
-    @JsonManagedReference
+    @Transient
+    @Setter(AccessLevel.NONE)
+    private String reasonText;
+
+    @Transient
     @JsonIgnore
-    private List<ApplicationHistory> histories = new ArrayList<>();
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private boolean reasonChanged;
 
+    @Column(unique = true)
     private Integer publishedNumber;
-}
\ No newline at end of file
+
+    private String claimedBy;
+
+    private LocalDateTime claimExpiresAt;
+
+    private LocalDateTime statusChangedAt;
+
+    @CreationTimestamp
+    @Column(updatable = false)
+    private LocalDateTime createdAt;
+
+    @UpdateTimestamp
+    private LocalDateTime updatedAt;
+
+    public Application(Long id, String name, String content, ApplicationStatus status, String reason,
+                       Integer publishedNumber, String claimedBy, LocalDateTime claimExpiresAt, LocalDateTime createdAt, LocalDateTime updatedAt) {
+        this.id = id;
+        this.name = name;
+        this.status = status;
+        setReason(reason);
+        this.publishedNumber = publishedNumber;
+        this.claimedBy = claimedBy;
+        this.claimExpiresAt = claimExpiresAt;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+        setContent(content);
+    }
+
+    public Application detachedCopy() {
+        Application copy = new Application();
+        copy.id = id;
+        copy.name = name;
+        copy.contentHash = contentHash;
+        copy.contentBlob = contentBlob;
+        copy.content = content;
+        copy.status = status;
+        copy.reasonCode = reasonCode;
+        copy.reasonOverride = reasonOverride;
+        copy.reasonText = reasonText;
+        copy.publishedNumber = publishedNumber;
+        copy.claimedBy = claimedBy;
+        copy.claimExpiresAt = claimExpiresAt;
+        copy.statusChangedAt = statusChangedAt;
+        copy.createdAt = createdAt;
+        copy.updatedAt = updatedAt;
+        return copy;
+    }
+
+    public String getContent() {
+        if (content == null && contentBlob != null) {
+            content = ContentCodec.decompress(contentBlob.getData());
+        }
+        return content;
+    }
+
+    public void cacheContent(String content) {
+        if (contentHash != null && contentHash.equals(ContentCodec.hash(content))) {
+            this.content = content;
+        }
+    }
+
+    public void setContent(String content) {
+        this.content = content;
+        this.contentHash = ContentCodec.hash(content);
+        this.contentChanged = true;
+    }
+
+    public String getReason() {
+        return reasonOverride != null ? reasonOverride : reasonText;
+    }
+
+    public void setReason(String reason) {
+        this.reasonCode = null;
+        this.reasonText = null;
+        this.reasonOverride = reason;
+        this.reasonChanged = true;
+    }
+
+    public void setReason(Reason reason, String override) {
+        this.reasonCode = ReasonCodec.parse(reason.code());
+        this.reasonText = reason.text();
+        this.reasonOverride = override;
+        this.reasonChanged = true;
+    }
+
+    public void resolveReason(String text) {
+        this.reasonText = text;
+    }
+}
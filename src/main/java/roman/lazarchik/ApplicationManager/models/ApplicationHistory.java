@@ -1,17 +1,19 @@
 package roman.lazarchik.ApplicationManager.models;
 
-import com.fasterxml.jackson.annotation.JsonBackReference;
 import jakarta.persistence.*;
-import lombok.AllArgsConstructor;
-import lombok.Data;
+import lombok.AccessLevel;
+import lombok.Getter;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.hibernate.annotations.Immutable;
 
 import java.time.LocalDateTime;
 
 @Entity
-@Data
-@NoArgsConstructor
-@AllArgsConstructor
+@Immutable
+@Getter
+@ToString
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
 public class ApplicationHistory {
 
     @Id
@@ -26,6 +28,13 @@ public class ApplicationHistory {
     private boolean contentUpdated;
 
     @ManyToOne(fetch = FetchType.LAZY)
-    @JsonBackReference
+    @ToString.Exclude
     private Application application;
+
+    public ApplicationHistory(Application application, ApplicationStatus status, boolean contentUpdated, LocalDateTime timestamp) {
+        this.application = application;
+        this.status = status;
+        this.contentUpdated = contentUpdated;
+        this.timestamp = timestamp;
+    }
 }
\ No newline at end of file
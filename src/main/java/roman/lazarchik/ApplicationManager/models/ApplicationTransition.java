@@ -0,0 +1,65 @@
+package roman.lazarchik.ApplicationManager.models;
+
+import roman.lazarchik.ApplicationManager.exceptions.ContentEditNotAllowedException;
+import roman.lazarchik.ApplicationManager.exceptions.DomainException;
+import roman.lazarchik.ApplicationManager.exceptions.InvalidApplicationStatusException;
+
+public enum ApplicationTransition {
+
+    VERIFY(ApplicationStatus.VERIFIED, "Application can only be verified in the CREATED status.",
+            ApplicationStatus.CREATED),
+    ACCEPT(ApplicationStatus.ACCEPTED, "Application can only be accepted in the VERIFIED status.",
+            ApplicationStatus.VERIFIED),
+    PUBLISH(ApplicationStatus.PUBLISHED, "Application can only be published in the ACCEPTED status",
+            ApplicationStatus.ACCEPTED),
+    REJECT(ApplicationStatus.REJECTED, "Can only reject applications with status VERIFIED or ACCEPTED",
+            ApplicationStatus.VERIFIED, ApplicationStatus.ACCEPTED),
+    DELETE(ApplicationStatus.DELETED, "Application can only be deleted in the CREATED status.",
+            ApplicationStatus.CREATED),
+    EDIT_CONTENT(null, "Cannot edit content in this status. Content can only be edited in CREATED or VERIFIED status.",
+            ApplicationStatus.CREATED, ApplicationStatus.VERIFIED);
+
+    private final ApplicationStatus target;
+    private final String notAllowedMessage;
+    private final int sourceMask;
+
+    ApplicationTransition(ApplicationStatus target, String notAllowedMessage, ApplicationStatus... sources) {
+        this.target = target;
+        this.notAllowedMessage = notAllowedMessage;
+        int mask = 0;
+        for (ApplicationStatus source : sources) {
+            mask |= maskOf(source);
+        }
+        this.sourceMask = mask;
+    }
+
+    public static int maskOf(ApplicationStatus status) {
+        return 1 << status.ordinal();
+    }
+
+    public ApplicationStatus getTarget() {
+        return target;
+    }
+
+    public int getSourceMask() {
+        return sourceMask;
+    }
+
+    public ApplicationStatus targetFor(ApplicationStatus current) {
+        return target != null ? target : current;
+    }
+
+    public boolean isAllowedFrom(ApplicationStatus status) {
+        return (sourceMask & maskOf(status)) != 0;
+    }
+
+    public boolean isAllowedFromAll(int statusMask) {
+        return (statusMask & ~sourceMask) == 0;
+    }
+
+    public DomainException notAllowed() {
+        return this == EDIT_CONTENT
+                ? new ContentEditNotAllowedException(notAllowedMessage)
+                : new InvalidApplicationStatusException(notAllowedMessage);
+    }
+}
@@ -0,0 +1,25 @@
+package roman.lazarchik.ApplicationManager.models;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Immutable;
+
+@Entity
+@Immutable
+@BatchSize(size = 50)
+@Table(name = "application_content")
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ContentBlob {
+
+    @Id
+    private String hash;
+
+    private byte[] data;
+}
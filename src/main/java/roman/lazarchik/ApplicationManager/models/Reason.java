@@ -0,0 +1,8 @@
+package roman.lazarchik.ApplicationManager.models;
+
+public record Reason(String code, String text) {
+
+    public static Reason of(long code, String text) {
+        return new Reason(ReasonCodec.format(code), text);
+    }
+}
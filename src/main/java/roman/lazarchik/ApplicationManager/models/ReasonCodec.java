@@ -0,0 +1,38 @@
+package roman.lazarchik.ApplicationManager.models;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+public final class ReasonCodec {
+
+    private static final int CODE_LENGTH = 16;
+
+    private ReasonCodec() {
+    }
+
+    public static Long code(String text) {
+        if (text == null) {
+            return null;
+        }
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(text.getBytes(StandardCharsets.UTF_8));
+            return ByteBuffer.wrap(digest).getLong();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public static String format(long code) {
+        return HexFormat.of().toHexDigits(code);
+    }
+
+    public static long parse(String code) {
+        if (code == null || code.length() != CODE_LENGTH || !code.chars().allMatch(HexFormat::isHexDigit)) {
+            throw new IllegalArgumentException("Invalid reason code: " + code);
+        }
+        return HexFormat.fromHexDigitsToLong(code);
+    }
+}
@@ -0,0 +1,38 @@
+package roman.lazarchik.ApplicationManager.querylog;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+
+public class QueryTimingDataSourcePostProcessor implements BeanPostProcessor {
+
+    private static final String DATA_SOURCE = "dataSource";
+
+    private final ObjectProvider<SlowQueryLog> slowQueryLog;
+
+    public QueryTimingDataSourcePostProcessor(ObjectProvider<SlowQueryLog> slowQueryLog) {
+        this.slowQueryLog = slowQueryLog;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (!DATA_SOURCE.equals(beanName) || !(bean instanceof DataSource)) {
+            return bean;
+        }
+
+        SlowQueryLog log = slowQueryLog.getObject();
+        ProxyFactory proxyFactory = new ProxyFactory(bean);
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAdvice((MethodInterceptor) invocation -> {
+            Object result = invocation.proceed();
+            return result instanceof Connection connection && invocation.getMethod().getName().equals("getConnection")
+                    ? TimedConnection.wrap(connection, log)
+                    : result;
+        });
+        return proxyFactory.getProxy();
+    }
+}
@@ -0,0 +1,27 @@
+package roman.lazarchik.ApplicationManager.querylog;
+
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+import java.util.List;
+
+@Endpoint(id = "slowqueries")
+public class SlowQueryEndpoint {
+
+    private final SlowQueryRegistry registry;
+
+    public SlowQueryEndpoint(SlowQueryRegistry registry) {
+        this.registry = registry;
+    }
+
+    @ReadOperation
+    public List<SlowQueryRegistry.SlowQuery> slowQueries() {
+        return registry.top();
+    }
+
+    @DeleteOperation
+    public void reset() {
+        registry.reset();
+    }
+}
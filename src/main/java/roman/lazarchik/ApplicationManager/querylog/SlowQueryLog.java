@@ -0,0 +1,40 @@
+package roman.lazarchik.ApplicationManager.querylog;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+@Slf4j
+public class SlowQueryLog {
+
+    private final long thresholdNanos;
+    private final double sampleRate;
+    private final boolean redactParameters;
+    private final SlowQueryRegistry registry;
+
+    public SlowQueryLog(Duration threshold, double sampleRate, boolean redactParameters, SlowQueryRegistry registry) {
+        this.thresholdNanos = threshold.toNanos();
+        this.sampleRate = sampleRate;
+        this.redactParameters = redactParameters;
+        this.registry = registry;
+    }
+
+    public void record(String sql, List<Object> parameters, long nanos) {
+        registry.record(sql, nanos);
+        if (nanos >= thresholdNanos) {
+            log.warn("Slow query took {} ms: {} parameters={}", TimeUnit.NANOSECONDS.toMillis(nanos), sql, render(parameters));
+        } else if (sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate) {
+            log.info("Sampled query took {} ms: {} parameters={}", TimeUnit.NANOSECONDS.toMillis(nanos), sql, render(parameters));
+        }
+    }
+
+    String render(List<Object> parameters) {
+        return parameters.stream()
+                .map(value -> value == null ? "null" : redactParameters ? "<" + value.getClass().getSimpleName() + ">" : value.toString())
+                .collect(Collectors.joining(", ", "[", "]"));
+    }
+}
@@ -0,0 +1,88 @@
+package roman.lazarchik.ApplicationManager.querylog;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+public class SlowQueryRegistry {
+
+    private final int capacity;
+    private final Map<String, Entry> entries = new HashMap<>();
+    private volatile long floorNanos;
+
+    public SlowQueryRegistry(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity must be positive");
+        }
+        this.capacity = capacity;
+    }
+
+    public void record(String sql, long nanos) {
+        if (nanos <= floorNanos) {
+            return;
+        }
+        synchronized (this) {
+            Entry entry = entries.get(sql);
+            if (entry == null) {
+                if (entries.size() >= capacity) {
+                    Entry fastest = fastest();
+                    if (fastest.maxNanos >= nanos) {
+                        return;
+                    }
+                    entries.remove(fastest.sql);
+                }
+                entry = new Entry(sql);
+                entries.put(sql, entry);
+            }
+            entry.record(nanos);
+            floorNanos = entries.size() >= capacity ? fastest().maxNanos : 0;
+        }
+    }
+
+    public synchronized List<SlowQuery> top() {
+        return entries.values().stream()
+                .sorted(Comparator.comparingLong((Entry entry) -> entry.maxNanos).reversed())
+                .map(Entry::snapshot)
+                .toList();
+    }
+
+    public synchronized void reset() {
+        entries.clear();
+        floorNanos = 0;
+    }
+
+    private Entry fastest() {
+        return entries.values().stream().min(Comparator.comparingLong(entry -> entry.maxNanos)).orElseThrow();
+    }
+
+    public record SlowQuery(String sql, long count, double maxMillis, double averageMillis) {
+    }
+
+    private static final class Entry {
+
+        private final String sql;
+        private long count;
+        private long totalNanos;
+        private long maxNanos;
+
+        private Entry(String sql) {
+            this.sql = sql;
+        }
+
+        private void record(long nanos) {
+            count++;
+            totalNanos += nanos;
+            maxNanos = Math.max(maxNanos, nanos);
+        }
+
+        private SlowQuery snapshot() {
+            return new SlowQuery(sql, count, millis(maxNanos), millis(totalNanos) / count);
+        }
+
+        private static double millis(long nanos) {
+            return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+        }
+    }
+}
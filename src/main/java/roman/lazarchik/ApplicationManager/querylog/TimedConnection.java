@@ -0,0 +1,54 @@
+package roman.lazarchik.ApplicationManager.querylog;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+
+class TimedConnection implements InvocationHandler {
+
+    private final Connection target;
+    private final SlowQueryLog slowQueryLog;
+
+    private TimedConnection(Connection target, SlowQueryLog slowQueryLog) {
+        this.target = target;
+        this.slowQueryLog = slowQueryLog;
+    }
+
+    static Connection wrap(Connection target, SlowQueryLog slowQueryLog) {
+        return (Connection) Proxy.newProxyInstance(TimedConnection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                new TimedConnection(target, slowQueryLog));
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        switch (method.getName()) {
+            case "equals":
+                return proxy == args[0];
+            case "hashCode":
+                return System.identityHashCode(proxy);
+            case "createStatement":
+                return TimedStatement.wrap((Statement) invokeTarget(method, args), Statement.class, null, slowQueryLog);
+            case "prepareStatement":
+                return TimedStatement.wrap((PreparedStatement) invokeTarget(method, args), PreparedStatement.class,
+                        (String) args[0], slowQueryLog);
+            case "prepareCall":
+                return TimedStatement.wrap((CallableStatement) invokeTarget(method, args), CallableStatement.class,
+                        (String) args[0], slowQueryLog);
+            default:
+                return invokeTarget(method, args);
+        }
+    }
+
+    private Object invokeTarget(Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package roman.lazarchik.ApplicationManager.querylog;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+class TimedStatement implements InvocationHandler {
+
+    private final Statement target;
+    private final String sql;
+    private final SlowQueryLog slowQueryLog;
+    private final List<Object> parameters = new ArrayList<>();
+
+    private TimedStatement(Statement target, String sql, SlowQueryLog slowQueryLog) {
+        this.target = target;
+        this.sql = sql;
+        this.slowQueryLog = slowQueryLog;
+    }
+
+    static <T extends Statement> T wrap(T target, Class<T> type, String sql, SlowQueryLog slowQueryLog) {
+        return type.cast(Proxy.newProxyInstance(TimedStatement.class.getClassLoader(), new Class<?>[]{type},
+                new TimedStatement(target, sql, slowQueryLog)));
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        String name = method.getName();
+        switch (name) {
+            case "equals":
+                return proxy == args[0];
+            case "hashCode":
+                return System.identityHashCode(proxy);
+            case "clearParameters":
+                parameters.clear();
+                break;
+            case "setNull":
+                bind(args[0], null);
+                break;
+            default:
+                if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer) {
+                    bind(args[0], args[1]);
+                } else if (name.startsWith("execute")) {
+                    return execute(method, args);
+                }
+        }
+        return invokeTarget(method, args);
+    }
+
+    private Object execute(Method method, Object[] args) throws Throwable {
+        String statementSql = sql != null ? sql : args != null && args.length > 0 ? String.valueOf(args[0]) : "batch";
+        long start = System.nanoTime();
+        try {
+            return invokeTarget(method, args);
+        } finally {
+            slowQueryLog.record(statementSql, parameters, System.nanoTime() - start);
+        }
+    }
+
+    private void bind(Object index, Object value) {
+        int position = (Integer) index - 1;
+        while (parameters.size() <= position) {
+            parameters.add(null);
+        }
+        parameters.set(position, value);
+    }
+
+    private Object invokeTarget(Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
@@ -0,0 +1,4 @@
+package roman.lazarchik.ApplicationManager.registry;
+
+public record ApplicationPublishedEvent(PublishedApplication application) {
+}
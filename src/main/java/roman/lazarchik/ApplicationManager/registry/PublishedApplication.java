@@ -0,0 +1,19 @@
+package roman.lazarchik.ApplicationManager.registry;
+
+import roman.lazarchik.ApplicationManager.models.Application;
+import roman.lazarchik.ApplicationManager.models.ContentCodec;
+
+public record PublishedApplication(long id, int publishedNumber, String name, String content) {
+
+    public PublishedApplication(long id, int publishedNumber, String name, byte[] compressedContent) {
+        this(id, publishedNumber, name, ContentCodec.decompress(compressedContent));
+    }
+
+    public static PublishedApplication of(Application app) {
+        return new PublishedApplication(app.getId(), app.getPublishedNumber(), app.getName(), app.getContent());
+    }
+
+    public String etag() {
+        return "\"p" + publishedNumber + "-" + id + "\"";
+    }
+}
@@ -0,0 +1,16 @@
+package roman.lazarchik.ApplicationManager.registry;
+
+import roman.lazarchik.ApplicationManager.models.ContentCodec;
+
+import java.time.LocalDateTime;
+
+public record PublishedLogEntry(long historyId, LocalDateTime timestamp, long id, int publishedNumber, String name, String content) {
+
+    public PublishedLogEntry(long historyId, LocalDateTime timestamp, long id, int publishedNumber, String name, byte[] compressedContent) {
+        this(historyId, timestamp, id, publishedNumber, name, ContentCodec.decompress(compressedContent));
+    }
+
+    public PublishedApplication toApplication() {
+        return new PublishedApplication(id, publishedNumber, name, content);
+    }
+}
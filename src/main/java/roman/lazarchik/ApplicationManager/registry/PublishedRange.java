@@ -0,0 +1,19 @@
+package roman.lazarchik.ApplicationManager.registry;
+
+import java.util.List;
+
+public record PublishedRange(int from, int size, List<PublishedApplication> applications) {
+
+    public boolean isComplete() {
+        return applications.size() == size;
+    }
+
+    public String etag() {
+        long hash = 17;
+        for (PublishedApplication app : applications) {
+            hash = 31 * hash + app.publishedNumber();
+            hash = 31 * hash + app.id();
+        }
+        return "\"r" + from + "-" + size + "-" + Long.toHexString(hash) + "\"";
+    }
+}
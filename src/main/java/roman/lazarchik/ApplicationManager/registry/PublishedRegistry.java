@@ -0,0 +1,375 @@
+package roman.lazarchik.ApplicationManager.registry;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import roman.lazarchik.ApplicationManager.datasource.ShardContext;
+import roman.lazarchik.ApplicationManager.datasource.ShardResolver;
+import roman.lazarchik.ApplicationManager.repositories.ApplicationHistoryRepository;
+import roman.lazarchik.ApplicationManager.repositories.ApplicationRepository;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+import java.util.function.IntConsumer;
+
+@Slf4j
+@Component
+public class PublishedRegistry implements DisposableBean {
+
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final int LOAD_BATCH = 1000;
+    private static final int CATCH_UP_BATCH = 1000;
+
+    private final ApplicationRepository repository;
+    private final ApplicationHistoryRepository historyRepository;
+    private final ObjectProvider<ShardResolver> shardResolver;
+    private final long missRefreshNanos;
+    private final Path snapshotPath;
+    private final int rewriteThreshold;
+    private final Duration settleWindow;
+
+    private final Object lock = new Object();
+    private final Object snapshotLock = new Object();
+    private final ExecutorService snapshotWriter = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "published-registry-snapshot");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicBoolean rewriteScheduled = new AtomicBoolean();
+    private volatile State state;
+    private volatile boolean ready;
+    private volatile int maxPublishedNumber;
+    private volatile long nextMissRefresh;
+    private long[] historyWatermarks;
+    private volatile int tailSize;
+
+    public PublishedRegistry(ApplicationRepository repository, ApplicationHistoryRepository historyRepository,
+                             ObjectProvider<ShardResolver> shardResolver,
+                             @Value("${application.published-registry.miss-refresh-interval:1s}") Duration missRefreshInterval,
+                             @Value("${application.published-registry.snapshot.path:}") String snapshotPath,
+                             @Value("${application.published-registry.snapshot.rewrite-threshold:10000}") int rewriteThreshold,
+                             @Value("${application.published-registry.settle-window:2s}") Duration settleWindow) {
+        this.repository = repository;
+        this.historyRepository = historyRepository;
+        this.shardResolver = shardResolver;
+        this.missRefreshNanos = missRefreshInterval.toNanos();
+        this.snapshotPath = snapshotPath.isBlank() ? null : Path.of(snapshotPath);
+        this.rewriteThreshold = rewriteThreshold;
+        this.settleWindow = settleWindow;
+        this.nextMissRefresh = System.nanoTime();
+    }
+
+    public Optional<PublishedApplication> find(int publishedNumber) {
+        PublishedApplication app = loaded().get(publishedNumber);
+        if (app == null && refreshOnMiss(publishedNumber)) {
+            app = state.get(publishedNumber);
+        }
+        return Optional.ofNullable(app);
+    }
+
+    public PublishedRange range(int from, int size) {
+        int to = (int) Math.min(Integer.MAX_VALUE, (long) from + size - 1);
+        State snapshot = loaded();
+        if (to > maxPublishedNumber && refreshOnMiss(maxPublishedNumber + 1)) {
+            snapshot = state;
+        }
+
+        List<PublishedApplication> applications = new ArrayList<>(Math.min(size, Math.max(0, maxPublishedNumber - from + 1)));
+        for (int number = from; number <= to && number <= maxPublishedNumber; number++) {
+            PublishedApplication app = snapshot.get(number);
+            if (app != null) {
+                applications.add(app);
+            }
+        }
+        return new PublishedRange(from, size, applications);
+    }
+
+    public int getMaxPublishedNumber() {
+        loaded();
+        return maxPublishedNumber;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPublished(ApplicationPublishedEvent event) {
+        if (ready) {
+            boolean rewrite;
+            synchronized (lock) {
+                put(event.application());
+                rewrite = snapshotPath != null && tailSize >= rewriteThreshold;
+            }
+            if (rewrite && rewriteScheduled.compareAndSet(false, true)) {
+                snapshotWriter.execute(this::rewriteInBackground);
+            }
+        }
+    }
+
+    public void writeSnapshot() {
+        if (snapshotPath == null) {
+            return;
+        }
+        synchronized (snapshotLock) {
+            State current;
+            int max;
+            long[] watermarks;
+            synchronized (lock) {
+                loaded();
+                catchUp();
+                current = state;
+                max = maxPublishedNumber;
+                watermarks = historyWatermarks.clone();
+            }
+            PublishedSnapshot written;
+            try {
+                PublishedSnapshot.write(snapshotPath, max, current::get, watermarks);
+                written = PublishedSnapshot.open(snapshotPath);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to write published registry snapshot " + snapshotPath, e);
+            }
+            synchronized (lock) {
+                State previous = state;
+                state = State.of(written);
+                tailSize = 0;
+                previous.forEachInMemory(this::put);
+            }
+        }
+    }
+
+    @Override
+    public void destroy() {
+        snapshotWriter.shutdown();
+        try {
+            snapshotWriter.awaitTermination(30, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (snapshotPath != null && ready && tailSize > 0) {
+            try {
+                writeSnapshot();
+            } catch (RuntimeException e) {
+                log.warn("Could not write published registry snapshot on shutdown", e);
+            }
+        }
+    }
+
+    private void rewriteInBackground() {
+        try {
+            writeSnapshot();
+        } catch (RuntimeException e) {
+            log.warn("Could not rewrite published registry snapshot", e);
+        } finally {
+            rewriteScheduled.set(false);
+        }
+    }
+
+    private State loaded() {
+        if (!ready) {
+            synchronized (lock) {
+                if (!ready) {
+                    try {
+                        if (snapshotPath == null) {
+                            state = State.of(PublishedSnapshot.empty(0));
+                            load(1);
+                        } else {
+                            state = State.of(openSnapshot());
+                            historyWatermarks = watermarks(state.snapshot);
+                            maxPublishedNumber = state.snapshot.getMaxPublishedNumber();
+                            catchUp();
+                        }
+                        ready = true;
+                    } catch (RuntimeException e) {
+                        state = null;
+                        throw e;
+                    }
+                }
+            }
+        }
+        return state;
+    }
+
+    private PublishedSnapshot openSnapshot() {
+        if (Files.exists(snapshotPath)) {
+            try {
+                return PublishedSnapshot.open(snapshotPath);
+            } catch (IOException e) {
+                log.warn("Ignoring unreadable published registry snapshot {}, rebuilding from the history log", snapshotPath, e);
+            }
+        }
+        return PublishedSnapshot.empty(shardCount());
+    }
+
+    private long[] watermarks(PublishedSnapshot snapshot) {
+        long[] watermarks = snapshot.getHistoryWatermarks();
+        return watermarks.length == shardCount() ? watermarks : new long[shardCount()];
+    }
+
+    private boolean refreshOnMiss(int fromNumber) {
+        long now = System.nanoTime();
+        if (now - nextMissRefresh < 0) {
+            return false;
+        }
+        synchronized (lock) {
+            if (now - nextMissRefresh < 0) {
+                return false;
+            }
+            nextMissRefresh = now + missRefreshNanos;
+            if (snapshotPath == null) {
+                load(Math.max(1, Math.min(fromNumber, maxPublishedNumber + 1)));
+            } else {
+                catchUp();
+            }
+            return true;
+        }
+    }
+
+    private void load(int fromNumber) {
+        forEachShard(shard -> {
+            int from = fromNumber;
+            List<PublishedApplication> batch;
+            do {
+                batch = repository.findPublishedFrom(from, PageRequest.of(0, LOAD_BATCH));
+                for (PublishedApplication app : batch) {
+                    put(app);
+                    from = app.publishedNumber() + 1;
+                }
+            } while (batch.size() == LOAD_BATCH);
+        });
+    }
+
+    private void catchUp() {
+        LocalDateTime settledBefore = LocalDateTime.now().minus(settleWindow);
+        forEachShard(shard -> {
+            long after = historyWatermarks[shard];
+            long watermark = after;
+            boolean settled = true;
+            List<PublishedLogEntry> batch;
+            do {
+                batch = historyRepository.findPublishedAfter(after, PageRequest.of(0, CATCH_UP_BATCH));
+                for (PublishedLogEntry entry : batch) {
+                    put(entry.toApplication());
+                    after = entry.historyId();
+                    settled = settled && !entry.timestamp().isAfter(settledBefore);
+                    if (settled) {
+                        watermark = after;
+                    }
+                }
+            } while (batch.size() == CATCH_UP_BATCH);
+            historyWatermarks[shard] = watermark;
+        });
+    }
+
+    private void forEachShard(IntConsumer action) {
+        ShardResolver resolver = shardResolver.getIfAvailable();
+        if (resolver == null) {
+            action.accept(0);
+            return;
+        }
+        for (int shard = 0; shard < resolver.getShardCount(); shard++) {
+            ShardContext.set(shard);
+            try {
+                action.accept(shard);
+            } finally {
+                ShardContext.clear();
+            }
+        }
+    }
+
+    private int shardCount() {
+        ShardResolver resolver = shardResolver.getIfAvailable();
+        return resolver == null ? 1 : resolver.getShardCount();
+    }
+
+    private void put(PublishedApplication app) {
+        int number = app.publishedNumber();
+        if (number < 1) {
+            return;
+        }
+        State current = state;
+        if (number < current.tailBase) {
+            if (current.snapshot.get(number) == null && current.stragglers.put(number, app) == null) {
+                tailSize++;
+            }
+        } else {
+            int index = number - current.tailBase;
+            if (index >= current.tail.length()) {
+                current = current.grow(index);
+                state = current;
+            }
+            if (current.tail.getAndSet(index, app) == null) {
+                tailSize++;
+            }
+        }
+        if (number > maxPublishedNumber) {
+            maxPublishedNumber = number;
+        }
+    }
+
+    private static final class State {
+
+        private final PublishedSnapshot snapshot;
+        private final int tailBase;
+        private final AtomicReferenceArray<PublishedApplication> tail;
+        private final Map<Integer, PublishedApplication> stragglers;
+
+        private State(PublishedSnapshot snapshot, AtomicReferenceArray<PublishedApplication> tail,
+                      Map<Integer, PublishedApplication> stragglers) {
+            this.snapshot = snapshot;
+            this.tailBase = snapshot.getMaxPublishedNumber() + 1;
+            this.tail = tail;
+            this.stragglers = stragglers;
+        }
+
+        static State of(PublishedSnapshot snapshot) {
+            return new State(snapshot, new AtomicReferenceArray<>(INITIAL_CAPACITY), new ConcurrentHashMap<>());
+        }
+
+        PublishedApplication get(int publishedNumber) {
+            if (publishedNumber >= tailBase) {
+                int index = publishedNumber - tailBase;
+                return index < tail.length() ? tail.get(index) : null;
+            }
+            PublishedApplication app = snapshot.get(publishedNumber);
+            return app != null ? app : stragglers.get(publishedNumber);
+        }
+
+        void forEachInMemory(Consumer<PublishedApplication> action) {
+            for (int i = 0; i < tail.length(); i++) {
+                PublishedApplication app = tail.get(i);
+                if (app != null) {
+                    action.accept(app);
+                }
+            }
+            stragglers.values().forEach(action);
+        }
+
+        State grow(int index) {
+            int capacity = tail.length();
+            while (capacity <= index) {
+                capacity = Math.multiplyExact(capacity, 2);
+            }
+            AtomicReferenceArray<PublishedApplication> grown = new AtomicReferenceArray<>(capacity);
+            for (int i = 0; i < tail.length(); i++) {
+                grown.set(i, tail.get(i));
+            }
+            return new State(snapshot, grown, stragglers);
+        }
+    }
+}
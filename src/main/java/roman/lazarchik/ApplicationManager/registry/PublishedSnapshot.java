@@ -0,0 +1,186 @@
+package roman.lazarchik.ApplicationManager.registry;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.function.IntFunction;
+
+public final class PublishedSnapshot {
+
+    static final int MAGIC = 0x50554253;
+    static final int VERSION = 2;
+    static final int SEGMENT_SIZE = 1 << 30;
+
+    private static final int HEADER_SIZE = 16;
+
+    private final ByteBuffer[] segments;
+    private final int segmentSize;
+    private final int maxPublishedNumber;
+    private final long[] historyWatermarks;
+    private final long indexOffset;
+
+    private PublishedSnapshot(ByteBuffer[] segments, int segmentSize, int maxPublishedNumber, long[] historyWatermarks, long indexOffset) {
+        this.segments = segments;
+        this.segmentSize = segmentSize;
+        this.maxPublishedNumber = maxPublishedNumber;
+        this.historyWatermarks = historyWatermarks;
+        this.indexOffset = indexOffset;
+    }
+
+    public static PublishedSnapshot empty(int shardCount) {
+        return new PublishedSnapshot(new ByteBuffer[0], SEGMENT_SIZE, 0, new long[shardCount], 0);
+    }
+
+    public static PublishedSnapshot open(Path path) throws IOException {
+        return open(path, SEGMENT_SIZE);
+    }
+
+    static PublishedSnapshot open(Path path, int segmentSize) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            ByteBuffer[] segments = new ByteBuffer[Math.toIntExact((size + segmentSize - 1) / segmentSize)];
+            for (int segment = 0; segment < segments.length; segment++) {
+                long start = (long) segment * segmentSize;
+                segments[segment] = channel.map(FileChannel.MapMode.READ_ONLY, start, Math.min(segmentSize, size - start));
+            }
+
+            PublishedSnapshot header = new PublishedSnapshot(segments, segmentSize, 0, new long[0], 0);
+            if (size < HEADER_SIZE + Long.BYTES || header.getInt(0) != MAGIC || header.getInt(4) != VERSION) {
+                throw new IOException("Not a published registry snapshot: " + path);
+            }
+
+            int maxPublishedNumber = header.getInt(8);
+            long[] historyWatermarks = new long[header.getInt(12)];
+            for (int shard = 0; shard < historyWatermarks.length; shard++) {
+                historyWatermarks[shard] = header.getLong(HEADER_SIZE + (long) shard * Long.BYTES);
+            }
+            long indexOffset = header.getLong(size - Long.BYTES);
+            if (indexOffset < 0 || indexOffset + (long) maxPublishedNumber * Long.BYTES > size - Long.BYTES) {
+                throw new IOException("Truncated published registry snapshot: " + path);
+            }
+            return new PublishedSnapshot(segments, segmentSize, maxPublishedNumber, historyWatermarks, indexOffset);
+        }
+    }
+
+    public static void write(Path path, int maxPublishedNumber, IntFunction<PublishedApplication> lookup,
+                             long[] historyWatermarks) throws IOException {
+        Path temp = Files.createTempFile(path.toAbsolutePath().getParent(), path.getFileName().toString(), ".tmp");
+        try {
+            long[] offsets = new long[maxPublishedNumber];
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp), 1 << 16))) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.writeInt(maxPublishedNumber);
+                out.writeInt(historyWatermarks.length);
+                for (long watermark : historyWatermarks) {
+                    out.writeLong(watermark);
+                }
+
+                long position = HEADER_SIZE + (long) historyWatermarks.length * Long.BYTES;
+                for (int number = 1; number <= maxPublishedNumber; number++) {
+                    PublishedApplication app = lookup.apply(number);
+                    if (app != null) {
+                        offsets[number - 1] = position;
+                        position += writeRecord(out, app);
+                    }
+                }
+
+                for (long offset : offsets) {
+                    out.writeLong(offset);
+                }
+                out.writeLong(position);
+            }
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    public PublishedApplication get(int publishedNumber) {
+        if (publishedNumber < 1 || publishedNumber > maxPublishedNumber) {
+            return null;
+        }
+        long offset = getLong(indexOffset + (long) (publishedNumber - 1) * Long.BYTES);
+        if (offset == 0) {
+            return null;
+        }
+
+        long id = getLong(offset);
+        int number = getInt(offset + 8);
+        int nameLength = getInt(offset + 12);
+        String name = readString(offset + 16, nameLength);
+        long contentOffset = offset + 16 + Math.max(nameLength, 0);
+        String content = readString(contentOffset + 4, getInt(contentOffset));
+        return new PublishedApplication(id, number, name, content);
+    }
+
+    public int getMaxPublishedNumber() {
+        return maxPublishedNumber;
+    }
+
+    public long[] getHistoryWatermarks() {
+        return historyWatermarks.clone();
+    }
+
+    private int getInt(long position) {
+        ByteBuffer segment = segments[(int) (position / segmentSize)];
+        int offset = (int) (position % segmentSize);
+        if (offset + Integer.BYTES <= segment.limit()) {
+            return segment.getInt(offset);
+        }
+        return ByteBuffer.wrap(read(position, new byte[Integer.BYTES])).getInt();
+    }
+
+    private long getLong(long position) {
+        ByteBuffer segment = segments[(int) (position / segmentSize)];
+        int offset = (int) (position % segmentSize);
+        if (offset + Long.BYTES <= segment.limit()) {
+            return segment.getLong(offset);
+        }
+        return ByteBuffer.wrap(read(position, new byte[Long.BYTES])).getLong();
+    }
+
+    private byte[] read(long position, byte[] bytes) {
+        int copied = 0;
+        while (copied < bytes.length) {
+            ByteBuffer segment = segments[(int) ((position + copied) / segmentSize)];
+            int offset = (int) ((position + copied) % segmentSize);
+            int length = Math.min(bytes.length - copied, segment.limit() - offset);
+            segment.get(offset, bytes, copied, length);
+            copied += length;
+        }
+        return bytes;
+    }
+
+    private String readString(long position, int length) {
+        if (length < 0) {
+            return null;
+        }
+        return new String(read(position, new byte[length]), StandardCharsets.UTF_8);
+    }
+
+    private static int writeRecord(DataOutputStream out, PublishedApplication app) throws IOException {
+        byte[] name = app.name() == null ? null : app.name().getBytes(StandardCharsets.UTF_8);
+        byte[] content = app.content() == null ? null : app.content().getBytes(StandardCharsets.UTF_8);
+        out.writeLong(app.id());
+        out.writeInt(app.publishedNumber());
+        return Long.BYTES + Integer.BYTES + writeBytes(out, name) + writeBytes(out, content);
+    }
+
+    private static int writeBytes(DataOutputStream out, byte[] bytes) throws IOException {
+        if (bytes == null) {
+            out.writeInt(-1);
+            return Integer.BYTES;
+        }
+        out.writeInt(bytes.length);
+        out.write(bytes);
+        return Integer.BYTES + bytes.length;
+    }
+}
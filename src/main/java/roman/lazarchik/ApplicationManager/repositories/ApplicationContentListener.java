@@ -0,0 +1,50 @@
+package roman.lazarchik.ApplicationManager.repositories;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostUpdate;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import roman.lazarchik.ApplicationManager.datasource.DatabaseDialect;
+import roman.lazarchik.ApplicationManager.models.Application;
+import roman.lazarchik.ApplicationManager.models.ContentCodec;
+
+@RequiredArgsConstructor
+public class ApplicationContentListener {
+
+    private static final String EXISTS = "SELECT COUNT(*) FROM application_content WHERE hash = ?";
+    private static final String INSERT = "INSERT INTO application_content (hash, data) VALUES (?, ?)";
+    private static final String INSERT_IF_ABSENT = INSERT + " ON CONFLICT (hash) DO NOTHING";
+    private static final String UPDATE_SEARCH_VECTOR = "UPDATE application SET content_tsv = to_tsvector('simple', ?) WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DatabaseDialect dialect;
+
+
+    @PrePersist
+    @PreUpdate
+    public void storeContent(Application app) {
+        if (!app.isContentChanged() || app.getContentHash() == null) {
+            return;
+        }
+        String hash = app.getContentHash();
+        if (dialect.isPostgres()) {
+            jdbcTemplate.update(INSERT_IF_ABSENT, hash, ContentCodec.compress(app.getContent()));
+        } else if (jdbcTemplate.queryForObject(EXISTS, Integer.class, hash) == 0) {
+            jdbcTemplate.update(INSERT, hash, ContentCodec.compress(app.getContent()));
+        }
+    }
+
+    @PostPersist
+    @PostUpdate
+    public void indexContent(Application app) {
+        if (!app.isContentChanged()) {
+            return;
+        }
+        if (dialect.isPostgres()) {
+            jdbcTemplate.update(UPDATE_SEARCH_VECTOR, app.getContent() == null ? "" : app.getContent(), app.getId());
+        }
+        app.setContentChanged(false);
+    }
+}
@@ -0,0 +1,66 @@
+package roman.lazarchik.ApplicationManager.repositories;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.event.TransactionalEventListener;
+import roman.lazarchik.ApplicationManager.datasource.DatabaseDialect;
+import roman.lazarchik.ApplicationManager.datasource.ShardContext;
+import roman.lazarchik.ApplicationManager.models.ContentCodec;
+import roman.lazarchik.ApplicationManager.search.ApplicationContentChangedEvent;
+import roman.lazarchik.ApplicationManager.search.InvertedIndex;
+import roman.lazarchik.ApplicationManager.search.SearchHit;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Repository
+@RequiredArgsConstructor
+public class ApplicationContentSearch {
+
+    private static final String RANK = "round(ts_rank(a.content_tsv, q)::numeric, 6)";
+    private static final String FULL_TEXT_QUERY = "SELECT a.id, " + RANK + " AS rank "
+            + "FROM application a, plainto_tsquery('simple', ?) q WHERE a.content_tsv @@ q";
+    private static final String AFTER_CURSOR = " AND (" + RANK + " < ? OR (" + RANK + " = ? AND a.id > ?))";
+    private static final String CONTENT_QUERY = "SELECT a.id, c.data FROM application a LEFT JOIN application_content c ON c.hash = a.content_hash";
+    private static final String ORDER_AND_LIMIT = " ORDER BY rank DESC, a.id LIMIT ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DatabaseDialect dialect;
+    private final Map<Integer, InvertedIndex> indexes = new ConcurrentHashMap<>();
+
+
+    public List<SearchHit> search(String query, SearchHit after, int limit) {
+        if (!dialect.isPostgres()) {
+            return index().search(query, after, limit);
+        }
+
+        if (after == null) {
+            return jdbcTemplate.query(FULL_TEXT_QUERY + ORDER_AND_LIMIT,
+                    (rs, row) -> new SearchHit(rs.getLong("id"), rs.getDouble("rank")), query, limit);
+        }
+        return jdbcTemplate.query(FULL_TEXT_QUERY + AFTER_CURSOR + ORDER_AND_LIMIT,
+                (rs, row) -> new SearchHit(rs.getLong("id"), rs.getDouble("rank")),
+                query, BigDecimal.valueOf(after.rank()), BigDecimal.valueOf(after.rank()), after.id(), limit);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onContentChanged(ApplicationContentChangedEvent event) {
+        if (event.applicationId() != null && !dialect.isPostgres()) {
+            index().put(event.applicationId(), event.content());
+        }
+    }
+
+    private InvertedIndex index() {
+        return indexes.computeIfAbsent(Objects.requireNonNullElse(ShardContext.current(), 0), shard -> {
+            InvertedIndex index = new InvertedIndex();
+            jdbcTemplate.query(CONTENT_QUERY, rs -> {
+                index.put(rs.getLong("id"), ContentCodec.decompress(rs.getBytes("data")));
+            });
+            return index;
+        });
+    }
+}
@@ -0,0 +1,57 @@
+package roman.lazarchik.ApplicationManager.repositories;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import roman.lazarchik.ApplicationManager.datasource.DatabaseDialect;
+import roman.lazarchik.ApplicationManager.models.ApplicationStatus;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.OptionalLong;
+
+@Repository
+@RequiredArgsConstructor
+public class ApplicationCountEstimator {
+
+    private static final ObjectMapper PLAN_READER = new ObjectMapper();
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DatabaseDialect dialect;
+
+
+    public OptionalLong estimateCount(String name, ApplicationStatus status) {
+        if (!dialect.isPostgres()) {
+            return OptionalLong.empty();
+        }
+
+        StringBuilder sql = new StringBuilder("EXPLAIN (FORMAT JSON) SELECT 1 FROM application a");
+        List<Object> args = new ArrayList<>(2);
+        if (name != null) {
+            sql.append(" WHERE a.name LIKE ? ESCAPE '\\'");
+            args.add("%" + escapeLike(name) + "%");
+        }
+        if (status != null) {
+            sql.append(args.isEmpty() ? " WHERE" : " AND").append(" a.status = ?");
+            args.add(status.name());
+        }
+
+        String plan = jdbcTemplate.queryForObject(sql.toString(), String.class, args.toArray());
+        return parsePlanRows(plan);
+    }
+
+    static OptionalLong parsePlanRows(String plan) {
+        try {
+            JsonNode rows = PLAN_READER.readTree(plan).path(0).path("Plan").path("Plan Rows");
+            return rows.isNumber() ? OptionalLong.of(rows.asLong()) : OptionalLong.empty();
+        } catch (Exception e) {
+            return OptionalLong.empty();
+        }
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
@@ -0,0 +1,13 @@
+package roman.lazarchik.ApplicationManager.repositories;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
+import roman.lazarchik.ApplicationManager.models.Application;
+
+public interface ApplicationFilterRepository {
+
+    Slice<Application> findSlice(Specification<Application> specification, Pageable pageable);
+
+    long countMatching(Specification<Application> specification);
+}
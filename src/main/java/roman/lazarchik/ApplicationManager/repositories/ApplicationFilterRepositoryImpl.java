@@ -0,0 +1,106 @@
+package roman.lazarchik.ApplicationManager.repositories;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.AbstractQuery;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.query.criteria.HibernateCriteriaBuilder;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import roman.lazarchik.ApplicationManager.models.Application;
+
+import java.util.Arrays;
+import java.util.List;
+
+@RequiredArgsConstructor
+public class ApplicationFilterRepositoryImpl implements ApplicationFilterRepository {
+
+    private static final int BOUNDARY_HOP = 1000;
+
+    private final EntityManager entityManager;
+
+    @Override
+    public Slice<Application> findSlice(Specification<Application> specification, Pageable pageable) {
+        Specification<Application> matching = specification;
+        if (pageable.getOffset() > 0) {
+            List<Object> boundary = findBoundary(specification, pageable.getSort(), pageable.getOffset());
+            if (boundary == null) {
+                return new SliceImpl<>(List.of(), pageable, false);
+            }
+            matching = specification.and(ApplicationSpecifications.after(pageable.getSort(), boundary));
+        }
+
+        HibernateCriteriaBuilder cb = criteriaBuilder();
+        CriteriaQuery<Application> query = cb.createQuery(Application.class);
+        Root<Application> root = query.from(Application.class);
+        root.fetch("contentBlob", JoinType.LEFT);
+        where(query, root, cb, matching);
+        query.orderBy(orders(cb, root, pageable.getSort()));
+
+        List<Application> content = entityManager.createQuery(query)
+                .setMaxResults(pageable.getPageSize() + 1)
+                .getResultList();
+        boolean hasNext = content.size() > pageable.getPageSize();
+        return new SliceImpl<>(hasNext ? content.subList(0, pageable.getPageSize()) : content, pageable, hasNext);
+    }
+
+    @Override
+    public long countMatching(Specification<Application> specification) {
+        HibernateCriteriaBuilder cb = criteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Application> root = query.from(Application.class);
+        where(query, root, cb, specification);
+        return entityManager.createQuery(query.select(cb.count(root))).getSingleResult();
+    }
+
+    private List<Object> findBoundary(Specification<Application> specification, Sort sort, long skip) {
+        HibernateCriteriaBuilder cb = criteriaBuilder();
+        List<Object> boundary = null;
+        while (skip > 0) {
+            CriteriaQuery<Tuple> query = cb.createTupleQuery();
+            Root<Application> root = query.from(Application.class);
+            where(query, root, cb, boundary == null ? specification : specification.and(ApplicationSpecifications.after(sort, boundary)));
+            query.multiselect(sort.stream().<Selection<?>>map(order -> root.get(order.getProperty())).toList());
+            query.orderBy(orders(cb, root, sort));
+
+            int hop = (int) Math.min(skip, BOUNDARY_HOP);
+            List<Tuple> keys = entityManager.createQuery(query).setMaxResults(hop).getResultList();
+            if (keys.size() < hop) {
+                return null;
+            }
+            boundary = Arrays.asList(keys.get(hop - 1).toArray());
+            skip -= hop;
+        }
+        return boundary;
+    }
+
+    private HibernateCriteriaBuilder criteriaBuilder() {
+        return entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getCriteriaBuilder();
+    }
+
+    private static void where(AbstractQuery<?> query, Root<Application> root, HibernateCriteriaBuilder cb,
+                              Specification<Application> specification) {
+        Predicate predicate = specification.toPredicate(root, (CriteriaQuery<?>) query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+    }
+
+    private static List<Order> orders(HibernateCriteriaBuilder cb, Root<Application> root, Sort sort) {
+        return sort.stream()
+                .<Order>map(order -> order.isAscending()
+                        ? cb.asc(root.get(order.getProperty()), false)
+                        : cb.desc(root.get(order.getProperty()), true))
+                .toList();
+    }
+}
@@ -1,7 +1,23 @@
 package roman.lazarchik.ApplicationManager.repositories;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import roman.lazarchik.ApplicationManager.changes.ChangeLogEntry;
 import roman.lazarchik.ApplicationManager.models.ApplicationHistory;
+import roman.lazarchik.ApplicationManager.registry.PublishedLogEntry;
+
+import java.util.List;
 
 public interface ApplicationHistoryRepository extends JpaRepository<ApplicationHistory, Long> {
-}
\ No newline at end of file
+
+    @Query("SELECT new roman.lazarchik.ApplicationManager.registry.PublishedLogEntry(h.id, h.timestamp, a.id, a.publishedNumber, a.name, c.data) "
+            + "FROM ApplicationHistory h JOIN h.application a LEFT JOIN a.contentBlob c "
+            + "WHERE h.status = roman.lazarchik.ApplicationManager.models.ApplicationStatus.PUBLISHED AND h.id > :afterId ORDER BY h.id")
+    List<PublishedLogEntry> findPublishedAfter(@Param("afterId") long afterId, Pageable pageable);
+
+    @Query("SELECT new roman.lazarchik.ApplicationManager.changes.ChangeLogEntry(h.id, h.application.id, h.timestamp) "
+            + "FROM ApplicationHistory h WHERE h.id > :afterId ORDER BY h.id")
+    List<ChangeLogEntry> findChangesAfter(@Param("afterId") long afterId, Pageable pageable);
+}
@@ -0,0 +1,32 @@
+package roman.lazarchik.ApplicationManager.repositories;
+
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import lombok.RequiredArgsConstructor;
+import roman.lazarchik.ApplicationManager.models.Application;
+
+@RequiredArgsConstructor
+public class ApplicationReasonListener {
+
+    private final ReasonDictionary dictionary;
+
+    @PrePersist
+    @PreUpdate
+    public void internReason(Application app) {
+        if (app.isReasonChanged() && app.getReasonCode() == null && app.getReasonOverride() != null) {
+            dictionary.findStock(app.getReasonOverride()).ifPresent(reason -> app.setReason(reason, null));
+        }
+        if (app.isReasonChanged() && app.getReasonCode() != null) {
+            dictionary.intern(app.getReasonCode(), app.getReasonText());
+        }
+        app.setReasonChanged(false);
+    }
+
+    @PostLoad
+    public void resolveReason(Application app) {
+        if (app.getReasonCode() != null) {
+            app.resolveReason(dictionary.find(app.getReasonCode()).orElse(null));
+        }
+    }
+}
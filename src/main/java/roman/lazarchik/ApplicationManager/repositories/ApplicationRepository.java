@@ -2,23 +2,78 @@ package roman.lazarchik.ApplicationManager.repositories;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import roman.lazarchik.ApplicationManager.models.Application;
 import roman.lazarchik.ApplicationManager.models.ApplicationStatus;
+import roman.lazarchik.ApplicationManager.registry.PublishedApplication;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
-public interface ApplicationRepository extends JpaRepository<Application, Long> {
+public interface ApplicationRepository extends JpaRepository<Application, Long>, ApplicationFilterRepository {
+
+    @EntityGraph(attributePaths = "contentBlob")
+    Optional<Application> findWithContentById(Long id);
+
+    @EntityGraph(attributePaths = "contentBlob")
+    List<Application> findWithContentByIdIn(Collection<Long> ids);
+
+    @Override
+    @EntityGraph(attributePaths = "contentBlob")
+    Page<Application> findAll(Pageable pageable);
+
+    @EntityGraph(attributePaths = "contentBlob")
     Page<Application> findByNameContainingAndStatus(String name, ApplicationStatus status, Pageable pageable);
 
+    @EntityGraph(attributePaths = "contentBlob")
     Page<Application> findByNameContaining(String name, Pageable pageable);
 
+    @EntityGraph(attributePaths = "contentBlob")
     Page<Application> findByStatus(ApplicationStatus status, Pageable pageable);
 
+    @EntityGraph(attributePaths = "contentBlob")
+    Slice<Application> findSliceByNameContainingAndStatus(String name, ApplicationStatus status, Pageable pageable);
+
+    @EntityGraph(attributePaths = "contentBlob")
+    Slice<Application> findSliceByNameContaining(String name, Pageable pageable);
+
+    @EntityGraph(attributePaths = "contentBlob")
+    Slice<Application> findSliceByStatus(ApplicationStatus status, Pageable pageable);
+
+    @EntityGraph(attributePaths = "contentBlob")
+    Slice<Application> findSliceBy(Pageable pageable);
+
     @Query("SELECT MAX(a.publishedNumber) FROM Application a WHERE a.status = 'PUBLISHED'")
     Optional<Integer> findMaxPublishedNumber();
 
-    Application findByNameAndContent(String name, String content);
+    Application findByNameAndContentHash(String name, String contentHash);
+
+    @Query("SELECT new roman.lazarchik.ApplicationManager.registry.PublishedApplication(a.id, a.publishedNumber, a.name, c.data) "
+            + "FROM Application a LEFT JOIN a.contentBlob c "
+            + "WHERE a.status = roman.lazarchik.ApplicationManager.models.ApplicationStatus.PUBLISHED AND a.publishedNumber >= :fromNumber "
+            + "ORDER BY a.publishedNumber")
+    List<PublishedApplication> findPublishedFrom(@Param("fromNumber") int fromNumber, Pageable pageable);
+
+    @Query("SELECT a.status AS status, COUNT(a) AS count FROM Application a GROUP BY a.status")
+    List<StatusCount> countGroupedByStatus();
+
+    @Query("SELECT a.status AS status, COUNT(a) AS count FROM Application a "
+            + "WHERE a.name LIKE %?#{escape([0])}% ESCAPE ?#{escapeCharacter()} GROUP BY a.status")
+    List<StatusCount> countGroupedByStatusWithNameContaining(String name);
+
+    @Query("SELECT a.reasonCode AS code, COUNT(a) AS count FROM Application a "
+            + "WHERE a.status = ?1 AND a.reasonCode IS NOT NULL GROUP BY a.reasonCode ORDER BY COUNT(a) DESC")
+    List<ReasonCount> countGroupedByReason(ApplicationStatus status);
+
+    @Query(value = "SELECT * FROM application WHERE status = :status "
+            + "AND (claim_expires_at IS NULL OR claim_expires_at < :now) "
+            + "ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<Application> findClaimable(@Param("status") String status, @Param("now") LocalDateTime now, @Param("limit") int limit);
 
-}
\ No newline at end of file
+}
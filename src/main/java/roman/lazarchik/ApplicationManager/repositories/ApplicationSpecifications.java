@@ -0,0 +1,87 @@
+package roman.lazarchik.ApplicationManager.repositories;
+
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import roman.lazarchik.ApplicationManager.filter.ApplicationFilter;
+import roman.lazarchik.ApplicationManager.models.Application;
+import roman.lazarchik.ApplicationManager.models.ApplicationStatus;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+public final class ApplicationSpecifications {
+
+    private static final char ESCAPE = '\\';
+
+    private ApplicationSpecifications() {
+    }
+
+    public static Specification<Application> matching(ApplicationFilter filter) {
+        return Specification.allOf(
+                filter.statuses().isEmpty() ? null : (root, query, cb) -> root.get("status").in(filter.statuses()),
+                filter.namePrefix() == null ? null : nameLike(escapeLike(filter.namePrefix()) + "%"),
+                filter.nameContains() == null ? null : nameLike("%" + escapeLike(filter.nameContains()) + "%"),
+                between("publishedNumber", filter.publishedNumberFrom(), filter.publishedNumberTo()),
+                between("createdAt", filter.createdFrom(), filter.createdTo()),
+                between("updatedAt", filter.updatedFrom(), filter.updatedTo()));
+    }
+
+    public static Specification<Application> matching(String nameContains, ApplicationStatus status) {
+        return matching(ApplicationFilter.builder()
+                .nameContains(nameContains)
+                .statuses(status == null ? null : Set.of(status))
+                .build());
+    }
+
+    @SuppressWarnings("unchecked")
+    public static Specification<Application> after(Sort sort, List<Object> values) {
+        return (root, query, cb) -> {
+            List<Predicate> alternatives = new ArrayList<>();
+            List<Predicate> equalPrefix = new ArrayList<>();
+            int index = 0;
+            for (Sort.Order order : sort) {
+                Path<Comparable<Object>> path = root.get(order.getProperty());
+                Comparable<Object> value = (Comparable<Object>) values.get(index++);
+                Predicate beyond;
+                if (order.isAscending()) {
+                    beyond = value == null ? null : cb.or(cb.greaterThan(path, value), cb.isNull(path));
+                } else {
+                    beyond = value == null ? cb.isNotNull(path) : cb.lessThan(path, value);
+                }
+                if (beyond != null) {
+                    List<Predicate> alternative = new ArrayList<>(equalPrefix);
+                    alternative.add(beyond);
+                    alternatives.add(cb.and(alternative.toArray(Predicate[]::new)));
+                }
+                equalPrefix.add(value == null ? cb.isNull(path) : cb.equal(path, value));
+            }
+            return cb.or(alternatives.toArray(Predicate[]::new));
+        };
+    }
+
+    private static Specification<Application> nameLike(String pattern) {
+        return (root, query, cb) -> cb.like(root.get("name"), pattern, ESCAPE);
+    }
+
+    private static <T extends Comparable<? super T>> Specification<Application> between(String attribute, T from, T to) {
+        if (from == null && to == null) {
+            return null;
+        }
+        return (root, query, cb) -> {
+            if (from == null) {
+                return cb.lessThanOrEqualTo(root.get(attribute), to);
+            }
+            if (to == null) {
+                return cb.greaterThanOrEqualTo(root.get(attribute), from);
+            }
+            return cb.between(root.get(attribute), from, to);
+        };
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
@@ -0,0 +1,8 @@
+package roman.lazarchik.ApplicationManager.repositories;
+
+public interface ReasonCount {
+
+    Long getCode();
+
+    long getCount();
+}
@@ -0,0 +1,94 @@
+package roman.lazarchik.ApplicationManager.repositories;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.stereotype.Repository;
+import roman.lazarchik.ApplicationManager.datasource.DatabaseDialect;
+import roman.lazarchik.ApplicationManager.datasource.ShardContext;
+import roman.lazarchik.ApplicationManager.models.Reason;
+import roman.lazarchik.ApplicationManager.models.ReasonCodec;
+
+import java.sql.ResultSet;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+@Repository
+public class ReasonDictionary {
+
+    private static final int CACHE_SIZE = 1024;
+
+    private static final String SELECT_ALL = "SELECT code, text FROM application_reason";
+    private static final String SELECT_ONE = SELECT_ALL + " WHERE code = ?";
+    private static final String INSERT = "INSERT INTO application_reason (code, text) VALUES (?, ?)";
+    private static final String INSERT_IF_ABSENT = INSERT + " ON CONFLICT (code) DO NOTHING";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DatabaseDialect dialect;
+    private final Map<Long, String> stock = new LinkedHashMap<>();
+    private final Map<Long, String> texts = lru();
+    private final Map<StoredCode, Boolean> stored = lru();
+
+
+    public ReasonDictionary(JdbcTemplate jdbcTemplate, DatabaseDialect dialect, @Value("${application.reasons.stock:}") List<String> stock) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.dialect = dialect;
+        stock.stream().map(String::trim).filter(text -> !text.isEmpty())
+                .forEach(text -> this.stock.put(ReasonCodec.code(text), text));
+    }
+
+    public Optional<Reason> findStock(String text) {
+        long code = ReasonCodec.code(text);
+        return find(code).filter(text::equals).map(stored -> Reason.of(code, stored));
+    }
+
+    public Optional<String> find(long code) {
+        String text = stock.containsKey(code) ? stock.get(code) : texts.get(code);
+        if (text == null) {
+            jdbcTemplate.query(SELECT_ONE, rs -> {
+                cache(rs.getLong("code"), rs.getString("text"));
+            }, code);
+            text = texts.get(code);
+        }
+        return Optional.ofNullable(text);
+    }
+
+    public void intern(long code, String text) {
+        if (stored.containsKey(storedCode(code))) {
+            return;
+        }
+        if (dialect.isPostgres()) {
+            jdbcTemplate.update(INSERT_IF_ABSENT, code, text);
+        } else if (!jdbcTemplate.query(SELECT_ONE, (ResultSetExtractor<Boolean>) ResultSet::next, code)) {
+            jdbcTemplate.update(INSERT, code, text);
+        }
+        cache(code, text);
+    }
+
+    private void cache(long code, String text) {
+        if (!stock.containsKey(code)) {
+            texts.putIfAbsent(code, text);
+        }
+        stored.put(storedCode(code), Boolean.TRUE);
+    }
+
+    private static StoredCode storedCode(long code) {
+        return new StoredCode(Objects.requireNonNullElse(ShardContext.current(), 0), code);
+    }
+
+    private static <K, V> Map<K, V> lru() {
+        return Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+                return size() > CACHE_SIZE;
+            }
+        });
+    }
+
+    private record StoredCode(int shard, long code) {
+    }
+}
@@ -0,0 +1,19 @@
+package roman.lazarchik.ApplicationManager.repositories;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+@Repository
+@RequiredArgsConstructor
+public class SchedulerLock {
+
+    public static final String AUTO_PUBLISH = "auto-publish";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public boolean tryLock(String name) {
+        return !jdbcTemplate.queryForList("SELECT name FROM scheduler_lock WHERE name = ? FOR UPDATE SKIP LOCKED",
+                String.class, name).isEmpty();
+    }
+}
@@ -0,0 +1,10 @@
+package roman.lazarchik.ApplicationManager.repositories;
+
+import roman.lazarchik.ApplicationManager.models.ApplicationStatus;
+
+public interface StatusCount {
+
+    ApplicationStatus getStatus();
+
+    long getCount();
+}
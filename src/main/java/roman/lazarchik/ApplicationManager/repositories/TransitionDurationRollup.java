@@ -0,0 +1,150 @@
+package roman.lazarchik.ApplicationManager.repositories;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import roman.lazarchik.ApplicationManager.analytics.DurationHistogram;
+import roman.lazarchik.ApplicationManager.analytics.TransitionSample;
+import roman.lazarchik.ApplicationManager.datasource.DatabaseDialect;
+import roman.lazarchik.ApplicationManager.datasource.ShardContext;
+import roman.lazarchik.ApplicationManager.models.ApplicationStatus;
+import roman.lazarchik.ApplicationManager.services.TransitionDurationRecorder;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+
+@Slf4j
+@Repository
+public class TransitionDurationRollup implements TransitionDurationRecorder, DisposableBean {
+
+    private static final String KEY = "from_status = ? AND to_status = ? AND period_start = ? AND bucket = ?";
+    private static final String UPDATE = "UPDATE transition_duration_rollup SET samples = samples + ? WHERE " + KEY;
+    private static final String INSERT = "INSERT INTO transition_duration_rollup (samples, from_status, to_status, period_start, bucket) "
+            + "VALUES (?, ?, ?, ?, ?)";
+    private static final String UPSERT = INSERT + " ON CONFLICT (from_status, to_status, period_start, bucket) "
+            + "DO UPDATE SET samples = transition_duration_rollup.samples + EXCLUDED.samples";
+    private static final String SELECT = "SELECT period_start, bucket, samples FROM transition_duration_rollup "
+            + "WHERE from_status = ? AND to_status = ? AND period_start >= ? AND period_start < ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DatabaseDialect dialect;
+    private final TransactionTemplate transactionTemplate;
+    private final Object bufferLock = new Object();
+
+    private Map<Integer, Map<Cell, Long>> pending = new HashMap<>();
+
+    public TransitionDurationRollup(JdbcTemplate jdbcTemplate, DatabaseDialect dialect, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.dialect = dialect;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public void record(List<TransitionSample> samples) {
+        int shard = Objects.requireNonNullElse(ShardContext.current(), 0);
+        Map<Cell, Long> cells = new HashMap<>();
+        for (TransitionSample sample : samples) {
+            cells.merge(Cell.of(sample), 1L, Long::sum);
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    buffer(shard, cells);
+                }
+            });
+        } else {
+            buffer(shard, cells);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${application.analytics.flush-interval:1000}")
+    public void flush() {
+        Map<Integer, Map<Cell, Long>> batch;
+        synchronized (bufferLock) {
+            if (pending.isEmpty()) {
+                return;
+            }
+            batch = pending;
+            pending = new HashMap<>();
+        }
+        batch.forEach((shard, cells) -> {
+            ShardContext.set(shard);
+            try {
+                transactionTemplate.executeWithoutResult(status -> cells.forEach(this::add));
+            } catch (DataAccessException e) {
+                log.warn("Failed to flush {} transition duration cells, retrying on the next flush", cells.size(), e);
+                buffer(shard, cells);
+            } finally {
+                ShardContext.clear();
+            }
+        });
+    }
+
+    @Override
+    public void destroy() {
+        flush();
+        synchronized (bufferLock) {
+            if (!pending.isEmpty()) {
+                log.warn("Dropping transition duration cells for {} shard(s) that could not be flushed on shutdown", pending.size());
+            }
+        }
+    }
+
+    public Map<LocalDateTime, DurationHistogram> findHourly(ApplicationStatus from, ApplicationStatus to,
+                                                            LocalDateTime since, LocalDateTime until) {
+        Map<LocalDateTime, DurationHistogram> histograms = new TreeMap<>();
+        jdbcTemplate.query(SELECT, rs -> {
+            histograms.computeIfAbsent(rs.getObject("period_start", LocalDateTime.class), hour -> new DurationHistogram())
+                    .add(rs.getInt("bucket"), rs.getLong("samples"));
+        }, from.name(), to.name(), since, until);
+        return histograms;
+    }
+
+    private void buffer(int shard, Map<Cell, Long> cells) {
+        synchronized (bufferLock) {
+            Map<Cell, Long> buffered = pending.computeIfAbsent(shard, key -> new TreeMap<>(Cell.ORDER));
+            cells.forEach((cell, samples) -> buffered.merge(cell, samples, Long::sum));
+        }
+    }
+
+    private void add(Cell cell, long samples) {
+        Object[] args = {samples, cell.from(), cell.to(), cell.hour(), cell.bucket()};
+        if (dialect.isPostgres()) {
+            jdbcTemplate.update(UPSERT, args);
+            return;
+        }
+        if (jdbcTemplate.update(UPDATE, args) == 0) {
+            try {
+                jdbcTemplate.update(INSERT, args);
+            } catch (DuplicateKeyException e) {
+                jdbcTemplate.update(UPDATE, args);
+            }
+        }
+    }
+
+    private record Cell(String from, String to, LocalDateTime hour, int bucket) {
+
+        static final Comparator<Cell> ORDER = Comparator.comparing(Cell::from).thenComparing(Cell::to)
+                .thenComparing(Cell::hour).thenComparingInt(Cell::bucket);
+
+        static Cell of(TransitionSample sample) {
+            return new Cell(sample.from().name(), sample.to().name(), sample.at().truncatedTo(ChronoUnit.HOURS),
+                    DurationHistogram.bucketOf(sample.duration()));
+        }
+    }
+}
@@ -0,0 +1,4 @@
+package roman.lazarchik.ApplicationManager.search;
+
+public record ApplicationContentChangedEvent(Long applicationId, String content) {
+}
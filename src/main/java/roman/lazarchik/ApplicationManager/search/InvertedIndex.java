@@ -0,0 +1,122 @@
+package roman.lazarchik.ApplicationManager.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+public class InvertedIndex {
+
+    private static final Pattern SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private final Map<String, Map<Long, Integer>> postings = new HashMap<>();
+    private final Map<Long, Set<String>> terms = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public static List<String> tokenize(String text) {
+        if (text == null) {
+            return List.of();
+        }
+        return Arrays.stream(SEPARATOR.split(text.toLowerCase(Locale.ROOT)))
+                .filter(token -> !token.isEmpty())
+                .toList();
+    }
+
+    public void put(long id, String content) {
+        Map<String, Integer> frequencies = new HashMap<>();
+        for (String token : tokenize(content)) {
+            frequencies.merge(token, 1, Integer::sum);
+        }
+
+        lock.writeLock().lock();
+        try {
+            removeTerms(id);
+            frequencies.forEach((term, frequency) -> postings.computeIfAbsent(term, key -> new HashMap<>()).put(id, frequency));
+            terms.put(id, frequencies.keySet());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long id) {
+        lock.writeLock().lock();
+        try {
+            removeTerms(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public List<SearchHit> search(String query, SearchHit after, int limit) {
+        Set<String> queryTerms = new LinkedHashSet<>(tokenize(query));
+        if (queryTerms.isEmpty()) {
+            return List.of();
+        }
+
+        List<SearchHit> hits = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            List<Map<Long, Integer>> lists = new ArrayList<>(queryTerms.size());
+            for (String term : queryTerms) {
+                Map<Long, Integer> list = postings.get(term);
+                if (list == null) {
+                    return List.of();
+                }
+                lists.add(list);
+            }
+            lists.sort(Comparator.comparingInt(Map::size));
+
+            candidates:
+            for (Long id : lists.get(0).keySet()) {
+                double rank = 0;
+                for (Map<Long, Integer> list : lists) {
+                    Integer frequency = list.get(id);
+                    if (frequency == null) {
+                        continue candidates;
+                    }
+                    rank += frequency;
+                }
+                SearchHit hit = new SearchHit(id, rank);
+                if (hit.isAfter(after)) {
+                    hits.add(hit);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        hits.sort(SearchHit.ORDER);
+        return hits.size() > limit ? new ArrayList<>(hits.subList(0, limit)) : hits;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return terms.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void removeTerms(long id) {
+        Set<String> previous = terms.remove(id);
+        if (previous == null) {
+            return;
+        }
+        for (String term : previous) {
+            Map<Long, Integer> list = postings.get(term);
+            list.remove(id);
+            if (list.isEmpty()) {
+                postings.remove(term);
+            }
+        }
+    }
+}
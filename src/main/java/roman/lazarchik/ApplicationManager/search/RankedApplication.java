@@ -0,0 +1,6 @@
+package roman.lazarchik.ApplicationManager.search;
+
+import roman.lazarchik.ApplicationManager.models.Application;
+
+public record RankedApplication(Application application, SearchHit hit) {
+}
@@ -0,0 +1,30 @@
+package roman.lazarchik.ApplicationManager.search;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Comparator;
+
+public record SearchHit(long id, double rank) {
+
+    public static final Comparator<SearchHit> ORDER = Comparator.comparing(SearchHit::rank, Comparator.reverseOrder())
+            .thenComparingLong(SearchHit::id);
+
+    public boolean isAfter(SearchHit cursor) {
+        return cursor == null || ORDER.compare(this, cursor) > 0;
+    }
+
+    public String toCursor() {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((rank + ":" + id).getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static SearchHit fromCursor(String cursor) {
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = decoded.indexOf(':');
+            return new SearchHit(Long.parseLong(decoded.substring(separator + 1)), Double.parseDouble(decoded.substring(0, separator)));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid search cursor: " + cursor, e);
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package roman.lazarchik.ApplicationManager.search;
+
+import java.util.List;
+
+public record SearchPage(List<RankedApplication> results, boolean hasNext) {
+
+    public String nextCursor() {
+        return hasNext && !results.isEmpty() ? results.get(results.size() - 1).hit().toCursor() : null;
+    }
+}
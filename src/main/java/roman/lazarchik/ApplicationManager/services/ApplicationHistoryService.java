@@ -1,10 +1,14 @@
 package roman.lazarchik.ApplicationManager.services;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import roman.lazarchik.ApplicationManager.changes.ChangeLogEntry;
 import roman.lazarchik.ApplicationManager.models.ApplicationHistory;
 import roman.lazarchik.ApplicationManager.repositories.ApplicationHistoryRepository;
 
+import java.util.List;
+
 @Service
 @RequiredArgsConstructor
 public class ApplicationHistoryService {
@@ -14,4 +18,12 @@ public class ApplicationHistoryService {
     public void saveHistory(ApplicationHistory history) {
         repository.save(history);
     }
+
+    public void saveHistories(List<ApplicationHistory> histories) {
+        repository.saveAll(histories);
+    }
+
+    public List<ChangeLogEntry> findChangesAfter(long afterId, int limit) {
+        return repository.findChangesAfter(afterId, PageRequest.of(0, limit));
+    }
 }
\ No newline at end of file
@@ -1,24 +1,81 @@
 package roman.lazarchik.ApplicationManager.services;
 
 import lombok.RequiredArgsConstructor;
+import org.hibernate.Hibernate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataAccessException;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import roman.lazarchik.ApplicationManager.dto.ApplicationDTO;
+import roman.lazarchik.ApplicationManager.analytics.DurationHistogram;
+import roman.lazarchik.ApplicationManager.analytics.DurationReport;
+import roman.lazarchik.ApplicationManager.analytics.DurationWindow;
+import roman.lazarchik.ApplicationManager.changes.ChangeCursor;
+import roman.lazarchik.ApplicationManager.changes.ChangeLogEntry;
+import roman.lazarchik.ApplicationManager.changes.ChangePage;
+import roman.lazarchik.ApplicationManager.cluster.ApplicationChangedEvent;
+import roman.lazarchik.ApplicationManager.coalescing.Coalesced;
+import roman.lazarchik.ApplicationManager.config.CacheConfig;
+import roman.lazarchik.ApplicationManager.datasource.ShardContext;
+import roman.lazarchik.ApplicationManager.datasource.ShardKeyset;
+import roman.lazarchik.ApplicationManager.datasource.ShardRouted;
+import roman.lazarchik.ApplicationManager.datasource.ShardStrategy;
+import roman.lazarchik.ApplicationManager.dto.ApplicationPageResponse;
 import roman.lazarchik.ApplicationManager.dto.DeleteDTO;
 import roman.lazarchik.ApplicationManager.dto.RejectDTO;
 import roman.lazarchik.ApplicationManager.exceptions.*;
+import roman.lazarchik.ApplicationManager.filter.ApplicationFilter;
+import roman.lazarchik.ApplicationManager.filter.ApplicationIndexPolicy;
 import roman.lazarchik.ApplicationManager.models.Application;
 import roman.lazarchik.ApplicationManager.models.ApplicationHistory;
 import roman.lazarchik.ApplicationManager.models.ApplicationStatus;
+import roman.lazarchik.ApplicationManager.models.ApplicationTransition;
+import roman.lazarchik.ApplicationManager.models.ContentCodec;
+import roman.lazarchik.ApplicationManager.models.Reason;
+import roman.lazarchik.ApplicationManager.models.ReasonCodec;
+import roman.lazarchik.ApplicationManager.registry.ApplicationPublishedEvent;
+import roman.lazarchik.ApplicationManager.registry.PublishedApplication;
+import roman.lazarchik.ApplicationManager.registry.PublishedRange;
+import roman.lazarchik.ApplicationManager.registry.PublishedRegistry;
+import roman.lazarchik.ApplicationManager.repositories.ApplicationContentSearch;
+import roman.lazarchik.ApplicationManager.repositories.ApplicationCountEstimator;
 import roman.lazarchik.ApplicationManager.repositories.ApplicationRepository;
-
+import roman.lazarchik.ApplicationManager.repositories.ApplicationSpecifications;
+import roman.lazarchik.ApplicationManager.repositories.ReasonCount;
+import roman.lazarchik.ApplicationManager.repositories.ReasonDictionary;
+import roman.lazarchik.ApplicationManager.repositories.SchedulerLock;
+import roman.lazarchik.ApplicationManager.repositories.StatusCount;
+import roman.lazarchik.ApplicationManager.repositories.TransitionDurationRollup;
+import roman.lazarchik.ApplicationManager.search.ApplicationContentChangedEvent;
+import roman.lazarchik.ApplicationManager.search.InvertedIndex;
+import roman.lazarchik.ApplicationManager.search.RankedApplication;
+import roman.lazarchik.ApplicationManager.search.SearchHit;
+import roman.lazarchik.ApplicationManager.search.SearchPage;
+
+import java.time.Duration;
 import java.time.LocalDateTime;
-import java.util.HashMap;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.OptionalLong;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -26,17 +83,78 @@ public class ApplicationService {
 
     private final ApplicationRepository repository;
     private final ApplicationHistoryService historyService;
+    private final ApplicationCountEstimator countEstimator;
+    private final ApplicationContentSearch contentSearch;
+    private final ApplicationStateMachine stateMachine;
+    private final ApplicationEventPublisher eventPublisher;
+    private final SchedulerLock schedulerLock;
+    private final PublishedRegistry publishedRegistry;
+    private final ReasonDictionary reasonDictionary;
+    private final TransitionDurationRollup durationRollup;
+
+    @Value("${application.search.empty-result-not-found:true}")
+    private boolean emptyResultNotFound;
+
+    @Value("${application.claim.lease:5m}")
+    private Duration claimLease;
+
+    @Value("${application.claim.max-limit:100}")
+    private int maxClaimLimit;
+
+    @Value("${application.search.max-limit:100}")
+    private int maxSearchLimit;
+
+    @Value("${application.published-registry.max-range:1000}")
+    private int maxPublishedRange;
+
+    @Value("${application.changes.max-limit:1000}")
+    private int maxChangesLimit;
+
+    @Value("${application.changes.settle-window:2s}")
+    private Duration changesSettleWindow;
+
+    @Value("${application.analytics.max-windows:744}")
+    private int maxDurationWindows;
 
     private void saveHistory(Application app, ApplicationStatus newStatus, boolean contentUpdated) {
-        ApplicationHistory history = new ApplicationHistory();
-        history.setTimestamp(LocalDateTime.now());
-        history.setStatus(newStatus);
-        history.setApplication(app);
-        history.setContentUpdated(contentUpdated);
-        historyService.saveHistory(history);
+        historyService.saveHistory(history(app, newStatus, contentUpdated));
+        eventPublisher.publishEvent(new ApplicationChangedEvent(app.getId()));
+        if (contentUpdated || newStatus == ApplicationStatus.CREATED) {
+            eventPublisher.publishEvent(new ApplicationContentChangedEvent(app.getId(), app.getContent()));
+        }
+        if (newStatus == ApplicationStatus.PUBLISHED) {
+            eventPublisher.publishEvent(new ApplicationPublishedEvent(PublishedApplication.of(app)));
+        }
+    }
+
+    private void saveHistories(List<Application> apps) {
+        historyService.saveHistories(apps.stream().map(app -> history(app, app.getStatus(), false)).toList());
+        for (Application app : apps) {
+            eventPublisher.publishEvent(new ApplicationChangedEvent(app.getId()));
+            if (app.getStatus() == ApplicationStatus.PUBLISHED) {
+                eventPublisher.publishEvent(new ApplicationPublishedEvent(PublishedApplication.of(app)));
+            }
+        }
+    }
+
+    private static ApplicationHistory history(Application app, ApplicationStatus newStatus, boolean contentUpdated) {
+        return new ApplicationHistory(app, newStatus, contentUpdated, LocalDateTime.now());
+    }
+
+    private static Application withContent(Application app) {
+        Hibernate.initialize(app.getContentBlob());
+        return app;
+    }
+
+    private <T extends Slice<Application>> T requireResults(T applications, String message) {
+        if (emptyResultNotFound && applications.isEmpty() && ShardKeyset.current() == null) {
+            throw new ApplicationNotFoundException(message);
+        }
+        return applications;
     }
 
     @Transactional
+    @ShardRouted(ShardStrategy.BY_CONTENT)
     public Application createApplication(Application app) {
 
         if (app == null || app.getName() == null || app.getName().trim().isEmpty()
@@ -44,208 +162,536 @@ public class ApplicationService {
             throw new InvalidInputException("Fields 'name' and 'content' must not be null or empty");
         }
 
-        Application existingApp = repository.findByNameAndContent(app.getName(), app.getContent());
+        Application existingApp = repository.findByNameAndContentHash(app.getName(), app.getContentHash());
         if (existingApp != null) {
+            existingApp.cacheContent(app.getContent());
             return existingApp;
         }
 
         app.setStatus(ApplicationStatus.CREATED);
+        app.setStatusChangedAt(LocalDateTime.now());
         repository.save(app);
         saveHistory(app, ApplicationStatus.CREATED, false);
         return app;
     }
 
+    @Coalesced
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.APPLICATIONS, key = "#id")
+    @ShardRouted(ShardStrategy.BY_ID)
+    public Application getApplication(Long id) {
+        return repository.findWithContentById(id).orElseThrow(() -> new ApplicationNotFoundException("Application not found with ID: " + id));
+    }
+
     @Transactional
+    @ShardRouted(ShardStrategy.BY_ID)
     public Application updateContent(Long id, String updateContent) {
-        Application app = repository.findById(id).orElseThrow(() -> new ApplicationNotFoundException("Application not found with ID: " + id));
-
-        if (app.getStatus() != ApplicationStatus.CREATED && app.getStatus() != ApplicationStatus.VERIFIED) {
-            throw new ContentEditNotAllowedException("Cannot edit content in this status. Content can only be edited in CREATED or VERIFIED status.");
-        }
-
-        if (!app.getContent().equals(updateContent)) {
-            app.setContent(updateContent);
-            Application savedApp = repository.save(app);
-            saveHistory(savedApp, savedApp.getStatus(), true);
-            return savedApp;
-        } else {
-            return app;
-        }
+        return transition(id, ApplicationTransition.EDIT_CONTENT,
+                app -> ApplicationTransition.EDIT_CONTENT.isAllowedFrom(app.getStatus())
+                        && Objects.equals(app.getContentHash(), ContentCodec.hash(updateContent)),
+                app -> app.setContent(updateContent));
     }
 
     @Transactional
+    @ShardRouted(ShardStrategy.BY_ID)
     public Application rejectApplication(Long id, RejectDTO reasonReject) {
-        Application app = repository.findById(id).orElseThrow(() -> new ApplicationNotFoundException("Application not found with ID: " + id));
+        return withContent(transition(id, ApplicationTransition.REJECT,
+                app -> app.getStatus() == ApplicationStatus.REJECTED && hasReason(app, reasonReject.getReasonCode(), reasonReject.getReason()),
+                app -> applyReason(app, reasonReject.getReasonCode(), reasonReject.getReason(), "rejecting")));
+    }
 
-        if (app.getStatus() == ApplicationStatus.REJECTED && app.getReason().equals(reasonReject.getReason())) {
-            return app;
-        }
+    @Transactional
+    @ShardRouted(ShardStrategy.BY_ID)
+    public void deleteApplication(Long id, DeleteDTO reasonDelete) {
+        transition(id, ApplicationTransition.DELETE,
+                app -> app.getStatus() == ApplicationStatus.DELETED,
+                app -> applyReason(app, reasonDelete.getReasonCode(), reasonDelete.getReason(), "deleting"));
+    }
 
-        if (app.getStatus() != ApplicationStatus.VERIFIED && app.getStatus() != ApplicationStatus.ACCEPTED) {
-            throw new InvalidApplicationStatusException("Can only reject applications with status VERIFIED or ACCEPTED");
-        }
-        if (reasonReject.getReason() == null || reasonReject.getReason().trim().isEmpty()) {
-            throw new IllegalArgumentException("A reason must be provided for rejecting an application. Please provide a valid reason in the 'reason' field.");
-        }
+    @Transactional
+    @ShardRouted(ShardStrategy.BY_ID)
+    public Application verifyApplication(Long id) {
+        return withContent(transition(id, ApplicationTransition.VERIFY));
+    }
 
-        app.setStatus(ApplicationStatus.REJECTED);
-        app.setReason(reasonReject.getReason());
-        Application savedApp = repository.save(app);
-        saveHistory(savedApp, ApplicationStatus.REJECTED, false);
-        return savedApp;
+    @Transactional
+    @ShardRouted(ShardStrategy.BY_ID)
+    public Application acceptApplication(Long id) {
+        return withContent(transition(id, ApplicationTransition.ACCEPT));
     }
 
     @Transactional
-    public void deleteApplication(Long id, DeleteDTO reasonDelete) {
-        Application app = repository.findById(id).orElseThrow(() -> new ApplicationNotFoundException("Application not found with ID: " + id));
+    @ShardRouted(ShardStrategy.BY_ID)
+    public Application publishApplication(Long id) {
+        return withContent(transition(id, ApplicationTransition.PUBLISH));
+    }
 
-        if (app.getStatus() == ApplicationStatus.DELETED) {
-            return;
+    @Transactional
+    @ShardRouted(ShardStrategy.BY_IDS)
+    public List<Application> transitionApplications(Collection<Long> ids, ApplicationTransition transition) {
+        if (transition.getTarget() == null || transition == ApplicationTransition.REJECT || transition == ApplicationTransition.DELETE) {
+            throw new InvalidInputException("Transition " + transition + " cannot be applied in bulk");
         }
 
-        if (app.getStatus() != ApplicationStatus.CREATED) {
-            throw new InvalidApplicationStatusException("Application can only be deleted in the CREATED status.");
+        List<Application> applications = repository.findAllById(ids);
+        if (applications.size() != new HashSet<>(ids).size()) {
+            throw new ApplicationNotFoundException("One or more applications were not found");
         }
 
-        if (reasonDelete.getReason() == null || reasonDelete.getReason().trim().isEmpty()) {
-            throw new IllegalArgumentException("A reason must be provided for deleting an application. Please provide a valid reason in the 'reason' field.");
+        List<Application> pending = applications.stream()
+                .filter(app -> app.getStatus() != transition.getTarget())
+                .toList();
+        if (!pending.isEmpty()) {
+            stateMachine.apply(transition, pending, app -> {
+            });
+            repository.saveAll(pending);
+            saveHistories(pending);
         }
-
-        app.setStatus(ApplicationStatus.DELETED);
-        app.setReason(reasonDelete.getReason());
-        repository.save(app);
-        saveHistory(app, ApplicationStatus.DELETED, false);
+        return applications;
     }
 
     @Transactional
-    public Application verifyApplication(Long id) {
-        Application app = repository.findById(id)
-                .orElseThrow(() -> new ApplicationNotFoundException("Application not found with ID: " + id));
+    @ShardRouted(ShardStrategy.DRAIN)
+    public List<Application> publishAcceptedChunk(int chunkSize) {
+        try {
+            if (!schedulerLock.tryLock(SchedulerLock.AUTO_PUBLISH)) {
+                return List.of();
+            }
 
-        if (app.getStatus() == ApplicationStatus.VERIFIED) {
-            return app;
+            List<Application> accepted = repository.findClaimable(ApplicationStatus.ACCEPTED.name(), LocalDateTime.now(), chunkSize);
+            if (!accepted.isEmpty()) {
+                stateMachine.apply(ApplicationTransition.PUBLISH, accepted, app -> {
+                });
+                repository.saveAll(accepted);
+                saveHistories(accepted);
+            }
+            return accepted;
+        } catch (DataAccessException e) {
+            throw new DatabaseOperationException("Error occurred while accessing the database", e);
         }
+    }
 
-        if (app.getStatus() != ApplicationStatus.CREATED) {
-            throw new InvalidApplicationStatusException("Application can only be verified in the CREATED status.");
+    @Transactional
+    @ShardRouted(ShardStrategy.DRAIN)
+    public List<Application> claimApplications(String reviewer, ApplicationStatus status, int limit) {
+        if (reviewer == null || reviewer.trim().isEmpty()) {
+            throw new InvalidInputException("Reviewer must not be empty");
+        }
+        if (limit < 1 || limit > maxClaimLimit) {
+            throw new InvalidInputException("Limit must be between 1 and " + maxClaimLimit);
+        }
+        if (stateMachine.allowedFrom(status).stream().noneMatch(transition -> transition.getTarget() != null)) {
+            throw new InvalidInputException("Applications in status " + status + " cannot be claimed");
         }
 
-        app.setStatus(ApplicationStatus.VERIFIED);
-        Application savedApp = repository.save(app);
-        saveHistory(savedApp, ApplicationStatus.VERIFIED, false);
-        return savedApp;
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            List<Application> claimed = repository.findClaimable(status.name(), now, limit);
+            for (Application app : claimed) {
+                app.setClaimedBy(reviewer);
+                app.setClaimExpiresAt(now.plus(claimLease));
+                withContent(app);
+            }
+            return claimed;
+        } catch (DataAccessException e) {
+            throw new DatabaseOperationException("Error occurred while accessing the database", e);
+        }
     }
 
-    @Transactional
-    public Application acceptApplication(Long id) {
+    private Application transition(Long id, ApplicationTransition transition) {
+        return transition(id, transition, app -> app.getStatus() == transition.getTarget(), app -> {
+        });
+    }
+
+    private Application transition(Long id, ApplicationTransition transition, Predicate<Application> alreadyApplied,
+                                   Consumer<Application> effect) {
         Application app = repository.findById(id)
                 .orElseThrow(() -> new ApplicationNotFoundException("Application not found with ID: " + id));
 
-        if (app.getStatus() == ApplicationStatus.ACCEPTED) {
+        if (alreadyApplied.test(app)) {
             return app;
         }
 
-        if (app.getStatus() != ApplicationStatus.VERIFIED) {
-            throw new InvalidApplicationStatusException("Application can only be accepted in the VERIFIED status.");
-        }
+        stateMachine.apply(transition, List.of(app), effect);
+        repository.save(app);
+        saveHistory(app, app.getStatus(), transition == ApplicationTransition.EDIT_CONTENT);
+        return app;
+    }
 
-        app.setStatus(ApplicationStatus.ACCEPTED);
-        Application savedApp = repository.save(app);
-        saveHistory(savedApp, ApplicationStatus.ACCEPTED, false);
-        return savedApp;
+    private void applyReason(Application app, String code, String text, String action) {
+        if (code == null) {
+            app.setReason(requireReason(text, action));
+            return;
+        }
+        app.setReason(findReason(code), text == null || text.isBlank() ? null : text);
     }
 
-    @Transactional
-    public Application publishApplication(Long id) {
-        Application app = repository.findById(id)
-                .orElseThrow(() -> new ApplicationNotFoundException("Application not found with ID: " + id));
+    private static boolean hasReason(Application app, String code, String text) {
+        if (code == null) {
+            return Objects.equals(app.getReason(), text);
+        }
+        return app.getReasonCode() != null && ReasonCodec.format(app.getReasonCode()).equals(code)
+                && Objects.equals(app.getReasonOverride(), text == null || text.isBlank() ? null : text);
+    }
 
-        if (app.getStatus() == ApplicationStatus.PUBLISHED) {
-            return app;
+    private Reason findReason(String code) {
+        long parsed;
+        try {
+            parsed = ReasonCodec.parse(code);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidInputException(e.getMessage());
         }
+        return reasonDictionary.find(parsed)
+                .map(text -> Reason.of(parsed, text))
+                .orElseThrow(() -> new InvalidInputException("Unknown reason code: " + code));
+    }
 
-        if (app.getStatus() != ApplicationStatus.ACCEPTED) {
-            throw new InvalidApplicationStatusException("Application can only be published in the ACCEPTED status");
-        } else {
-            Integer currentMaxNumber = repository.findMaxPublishedNumber().orElse(0);
-            app.setPublishedNumber(currentMaxNumber + 1);
-            app.setStatus(ApplicationStatus.PUBLISHED);
-            repository.save(app);
-            saveHistory(app, ApplicationStatus.PUBLISHED, false);
-            return app;
+    private static String requireReason(String reason, String action) {
+        if (reason == null || reason.trim().isEmpty()) {
+            throw new IllegalArgumentException("A reason must be provided for " + action
+                    + " an application. Please provide a valid reason in the 'reason' field.");
         }
+        return reason;
     }
 
+    @Coalesced
+    @Transactional(readOnly = true)
+    @ShardRouted(ShardStrategy.SCATTER_PAGE)
     public Page<Application> getApplicationsByNameAndStatus(String name, ApplicationStatus status, int page, int size) {
         try {
             if (name.trim().isEmpty()) {
                 throw new InvalidInputException("Name parameter must not be empty");
             }
 
-            Pageable pageable = PageRequest.of(page, size);
-            Page<Application> applications = repository.findByNameContainingAndStatus(name, status, pageable);
+            Pageable pageable = PageRequest.of(page, size, Sort.by("id"));
+            Page<Application> applications = page(ApplicationSpecifications.matching(name, status), pageable,
+                    p -> repository.findByNameContainingAndStatus(name, status, p));
 
-            if (applications.isEmpty()) {
-                throw new ApplicationNotFoundException("No applications found with the provided name and status");
-            }
-
-            return applications;
+            return requireResults(applications, "No applications found with the provided name and status");
         } catch (DataAccessException e) {
             throw new DatabaseOperationException("Error occurred while accessing the database", e);
         }
     }
 
+    @Coalesced
+    @Transactional(readOnly = true)
+    @ShardRouted(ShardStrategy.SCATTER_PAGE)
     public Page<Application> getApplicationsByName(String name, int page, int size) {
         try {
             if (name.trim().isEmpty()) {
                 throw new InvalidInputException("Name parameter must not empty");
             }
 
-            Pageable pageable = PageRequest.of(page, size);
-            Page<Application> applications = repository.findByNameContaining(name, pageable);
+            Pageable pageable = PageRequest.of(page, size, Sort.by("id"));
+            Page<Application> applications = page(ApplicationSpecifications.matching(name, null), pageable,
+                    p -> repository.findByNameContaining(name, p));
+
+            return requireResults(applications, "No applications found with the provided name");
+        } catch (DataAccessException e) {
+            throw new DatabaseOperationException("Error occurred while accessing the database", e);
+        }
+    }
+
+    @Coalesced
+    @Transactional(readOnly = true)
+    @ShardRouted(ShardStrategy.SCATTER_PAGE)
+    public Page<Application> getApplicationsByStatus(ApplicationStatus status, int page, int size) {
+        try {
+            Pageable pageable = PageRequest.of(page, size, Sort.by("id"));
+            Page<Application> applications = page(ApplicationSpecifications.matching(null, status), pageable,
+                    p -> repository.findByStatus(status, p));
+
+            return requireResults(applications, "No applications found with the provided status");
+        } catch (DataAccessException e) {
+            throw new DatabaseOperationException("Error occurred while accessing the database", e);
+        }
+    }
+
+    @Coalesced
+    @Transactional(readOnly = true)
+    @ShardRouted(ShardStrategy.SCATTER_PAGE)
+    public Page<Application> getAllApplications(int page, int size) {
+        try {
+            Pageable pageable = PageRequest.of(page, size, Sort.by("id"));
+            return page(ApplicationSpecifications.matching(null, null), pageable, repository::findAll);
+        } catch (DataAccessException e) {
+            throw new DatabaseOperationException("Error occurred while accessing the database", e);
+        }
+    }
+
+    @Coalesced
+    @Transactional(readOnly = true)
+    @ShardRouted(ShardStrategy.SCATTER_PAGE)
+    public Slice<Application> getApplicationsSlice(String name, ApplicationStatus status, int page, int size) {
+        try {
+            if (name != null && name.trim().isEmpty()) {
+                throw new InvalidInputException("Name parameter must not be empty");
+            }
 
-            if (applications.isEmpty()) {
-                throw new ApplicationNotFoundException("No applications found with the provided name");
+            Pageable pageable = PageRequest.of(page, size, Sort.by("id"));
+            Slice<Application> applications = slice(ApplicationSpecifications.matching(name, status), pageable, p -> {
+                if (name != null && status != null) {
+                    return repository.findSliceByNameContainingAndStatus(name, status, p);
+                } else if (name != null) {
+                    return repository.findSliceByNameContaining(name, p);
+                } else if (status != null) {
+                    return repository.findSliceByStatus(status, p);
+                }
+                return repository.findSliceBy(p);
+            });
+            if (name == null && status == null) {
+                return applications;
             }
 
-            return applications;
+            return requireResults(applications, "No applications found with the provided search parameters");
         } catch (DataAccessException e) {
             throw new DatabaseOperationException("Error occurred while accessing the database", e);
         }
     }
 
-    public Page<Application> getApplicationsByStatus(ApplicationStatus status, int page, int size) {
+    private Page<Application> page(Specification<Application> matching, Pageable pageable,
+                                   Function<Pageable, Page<Application>> query) {
+        ShardKeyset keyset = ShardKeyset.current();
+        if (keyset == null) {
+            return query.apply(pageable);
+        }
+        List<Application> content = repository.findSlice(matching.and(ApplicationSpecifications.after(pageable.getSort(), keyset.after())),
+                pageable).getContent();
+        long total = keyset.counted() ? repository.countMatching(matching) : content.size();
+        return new PageImpl<>(content, PageRequest.of(0, Math.max(1, content.size()), pageable.getSort()), total);
+    }
+
+    private Slice<Application> slice(Specification<Application> matching, Pageable pageable,
+                                     Function<Pageable, Slice<Application>> query) {
+        ShardKeyset keyset = ShardKeyset.current();
+        if (keyset == null) {
+            return query.apply(pageable);
+        }
+        return repository.findSlice(matching.and(ApplicationSpecifications.after(pageable.getSort(), keyset.after())), pageable);
+    }
+
+    public PublishedApplication getPublishedApplication(int publishedNumber) {
+        return publishedRegistry.find(publishedNumber).orElseThrow(
+                () -> new ApplicationNotFoundException("Published application not found with number: " + publishedNumber));
+    }
+
+    public PublishedRange getPublishedApplications(int from, int size) {
+        if (from < 1) {
+            throw new InvalidInputException("Parameter 'from' must be at least 1");
+        }
+        if (size < 1 || size > maxPublishedRange) {
+            throw new InvalidInputException("Size must be between 1 and " + maxPublishedRange);
+        }
+        return publishedRegistry.range(from, size);
+    }
+
+    @Coalesced
+    @Transactional(readOnly = true)
+    @ShardRouted(ShardStrategy.SCATTER_PAGE)
+    public Slice<Application> filterApplications(ApplicationFilter filter, int page, int size) {
+        ApplicationIndexPolicy.indexFor(filter);
+
+        try {
+            Pageable pageable = PageRequest.of(page, size, filter.toSort());
+            Specification<Application> matching = ApplicationSpecifications.matching(filter);
+            Slice<Application> applications = slice(matching, pageable, p -> repository.findSlice(matching, p));
+
+            return requireResults(applications, "No applications found with the provided filter");
+        } catch (DataAccessException e) {
+            throw new DatabaseOperationException("Error occurred while accessing the database", e);
+        }
+    }
+
+    @Coalesced
+    @Transactional(readOnly = true)
+    @ShardRouted(ShardStrategy.SCATTER_SEARCH)
+    public SearchPage searchApplications(String query, String cursor, int limit) {
+        if (InvertedIndex.tokenize(query).isEmpty()) {
+            throw new InvalidInputException("Search query must contain at least one word");
+        }
+        if (limit < 1 || limit > maxSearchLimit) {
+            throw new InvalidInputException("Limit must be between 1 and " + maxSearchLimit);
+        }
+
+        SearchHit after;
+        try {
+            after = cursor == null ? null : SearchHit.fromCursor(cursor);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidInputException(e.getMessage());
+        }
+
         try {
-            Pageable pageable = PageRequest.of(page, size);
-            Page<Application> applications = repository.findByStatus(status, pageable);
+            List<SearchHit> hits = contentSearch.search(query, after, limit + 1);
+            boolean hasNext = hits.size() > limit;
+            List<SearchHit> page = hasNext ? hits.subList(0, limit) : hits;
+
+            Map<Long, Application> applications = repository.findWithContentByIdIn(page.stream().map(SearchHit::id).toList()).stream()
+                    .collect(Collectors.toMap(Application::getId, Function.identity()));
+            List<RankedApplication> results = page.stream()
+                    .filter(hit -> applications.containsKey(hit.id()))
+                    .map(hit -> new RankedApplication(applications.get(hit.id()), hit))
+                    .toList();
+            return new SearchPage(results, hasNext);
+        } catch (DataAccessException e) {
+            throw new DatabaseOperationException("Error occurred while accessing the database", e);
+        }
+    }
+
+    @Coalesced
+    @Transactional(readOnly = true)
+    @ShardRouted(ShardStrategy.DRAIN_CHANGES)
+    public ChangePage getChanges(String since, int limit) {
+        if (limit < 1 || limit > maxChangesLimit) {
+            throw new InvalidInputException("Limit must be between 1 and " + maxChangesLimit);
+        }
 
-            if (applications.isEmpty()) {
-                throw new ApplicationNotFoundException("No applications found with the provided status");
+        ChangeCursor cursor;
+        try {
+            cursor = ChangeCursor.decode(since);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidInputException(e.getMessage());
+        }
+
+        try {
+            int shard = Objects.requireNonNullElse(ShardContext.current(), 0);
+            List<ChangeLogEntry> entries = historyService.findChangesAfter(cursor.position(shard), limit);
+            LocalDateTime settledBefore = LocalDateTime.now().minus(changesSettleWindow);
+            List<ChangeLogEntry> settled = entries.stream()
+                    .takeWhile(entry -> !entry.timestamp().isAfter(settledBefore))
+                    .toList();
+            if (settled.isEmpty()) {
+                return new ChangePage(List.of(), cursor, false);
             }
 
-            return applications;
+            Map<Long, Long> lastChanges = new LinkedHashMap<>();
+            for (ChangeLogEntry entry : settled) {
+                lastChanges.remove(entry.applicationId());
+                lastChanges.put(entry.applicationId(), entry.historyId());
+            }
+            Map<Long, Application> applications = repository.findWithContentByIdIn(lastChanges.keySet()).stream()
+                    .collect(Collectors.toMap(Application::getId, Function.identity()));
+            List<Application> changed = lastChanges.keySet().stream()
+                    .map(applications::get)
+                    .filter(Objects::nonNull)
+                    .toList();
+
+            long position = settled.get(settled.size() - 1).historyId();
+            boolean hasMore = entries.size() == limit && settled.size() == entries.size();
+            return new ChangePage(changed, cursor.advance(shard, position), hasMore);
         } catch (DataAccessException e) {
             throw new DatabaseOperationException("Error occurred while accessing the database", e);
         }
     }
 
-    public Page<Application> getAllApplications(int page, int size) {
+    @Coalesced
+    @Transactional(readOnly = true)
+    @ShardRouted(ShardStrategy.SCATTER_DURATIONS)
+    public DurationReport getTransitionDurations(ApplicationStatus from, ApplicationStatus to,
+                                                 LocalDateTime since, LocalDateTime until, Duration window) {
+        if (from == to) {
+            throw new InvalidInputException("Statuses 'from' and 'to' must differ");
+        }
+        if (window.compareTo(Duration.ofHours(1)) < 0 || window.toMinutes() % 60 != 0 || window.toSeconds() % 60 != 0) {
+            throw new InvalidInputException("Window must be a whole number of hours");
+        }
+
+        LocalDateTime start = since.truncatedTo(ChronoUnit.HOURS);
+        if (!until.isAfter(start)) {
+            throw new InvalidInputException("Parameter 'until' must be after 'since'");
+        }
+        long hours = window.toHours();
+        Duration span = Duration.between(start, until);
+        long windowCount = span.dividedBy(window);
+        if (window.multipliedBy(windowCount).compareTo(span) < 0) {
+            windowCount++;
+        }
+        if (windowCount > maxDurationWindows) {
+            throw new InvalidInputException("At most " + maxDurationWindows + " windows can be requested");
+        }
+
         try {
-            Pageable pageable = PageRequest.of(page, size);
-            return repository.findAll(pageable);
+            List<DurationWindow> windows = new ArrayList<>();
+            for (int i = 0; i < windowCount; i++) {
+                windows.add(new DurationWindow(start.plus(window.multipliedBy(i)), start.plus(window.multipliedBy(i + 1)),
+                        new DurationHistogram()));
+            }
+            LocalDateTime end = windows.get(windows.size() - 1).end();
+            durationRollup.findHourly(from, to, start, end).forEach((hour, histogram) ->
+                    windows.get((int) (Duration.between(start, hour).toHours() / hours)).histogram().merge(histogram));
+            return new DurationReport(from, to, windows);
         } catch (DataAccessException e) {
             throw new DatabaseOperationException("Error occurred while accessing the database", e);
         }
     }
 
-    public Map<String, Object> getPaginatedApplicationsResponse(Page<ApplicationDTO> applications) {
+    @Coalesced
+    @Transactional(readOnly = true)
+    @ShardRouted(ShardStrategy.SCATTER_COUNTS)
+    public Map<ApplicationStatus, Long> countApplicationsByStatus(String name) {
+        if (name != null && name.trim().isEmpty()) {
+            throw new InvalidInputException("Name parameter must not be empty");
+        }
 
-        Map<String, Object> response = new HashMap<>();
-        response.put("applications", applications.getContent());
-        response.put("currentPage", applications.getNumber());
-        response.put("totalItems", applications.getTotalElements());
-        response.put("totalPages", applications.getTotalPages());
+        try {
+            List<StatusCount> counts = name == null
+                    ? repository.countGroupedByStatus()
+                    : repository.countGroupedByStatusWithNameContaining(name);
+            Map<ApplicationStatus, Long> statusCounts = new EnumMap<>(ApplicationStatus.class);
+            for (ApplicationStatus status : ApplicationStatus.values()) {
+                statusCounts.put(status, 0L);
+            }
+            counts.forEach(count -> statusCounts.put(count.getStatus(), count.getCount()));
+            return statusCounts;
+        } catch (DataAccessException e) {
+            throw new DatabaseOperationException("Error occurred while accessing the database", e);
+        }
+    }
+
+    @Coalesced
+    @Transactional(readOnly = true)
+    @ShardRouted(ShardStrategy.SCATTER_COUNTS)
+    public Map<Reason, Long> countApplicationsByReason(ApplicationStatus status) {
+        if (status != ApplicationStatus.REJECTED && status != ApplicationStatus.DELETED) {
+            throw new InvalidInputException("Reasons are only recorded for REJECTED and DELETED applications");
+        }
+
+        try {
+            Map<Reason, Long> reasonCounts = new LinkedHashMap<>();
+            for (ReasonCount count : repository.countGroupedByReason(status)) {
+                Reason reason = Reason.of(count.getCode(), reasonDictionary.find(count.getCode()).orElse(null));
+                reasonCounts.put(reason, count.getCount());
+            }
+            return reasonCounts;
+        } catch (DataAccessException e) {
+            throw new DatabaseOperationException("Error occurred while accessing the database", e);
+        }
+    }
+
+    @Coalesced
+    @ShardRouted(ShardStrategy.SCATTER_ESTIMATE)
+    public OptionalLong estimateApplicationsCount(String name, ApplicationStatus status) {
+        try {
+            return countEstimator.estimateCount(name, status);
+        } catch (DataAccessException e) {
+            return OptionalLong.empty();
+        }
+    }
+
+    public ApplicationPageResponse getPaginatedApplicationsResponse(Page<Application> applications) {
+        return ApplicationPageResponse.of(applications);
+    }
+
+    public ApplicationPageResponse getPaginatedApplicationsResponse(Slice<Application> applications) {
+        return ApplicationPageResponse.of(applications);
+    }
+
+    public ApplicationPageResponse getPaginatedApplicationsResponse(Slice<Application> applications, long estimatedTotal) {
+        return ApplicationPageResponse.approximate(applications, estimatedTotal);
+    }
 
-        return response;
+    public ApplicationPageResponse getPaginatedApplicationsResponse(Slice<Application> applications,
+                                                                    Map<ApplicationStatus, Long> statusCounts,
+                                                                    ApplicationStatus status) {
+        return ApplicationPageResponse.faceted(applications, statusCounts, status);
     }
 }
\ No newline at end of file
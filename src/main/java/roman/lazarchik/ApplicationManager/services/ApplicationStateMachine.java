@@ -0,0 +1,112 @@
+package roman.lazarchik.ApplicationManager.services;
+
+import org.springframework.stereotype.Component;
+import roman.lazarchik.ApplicationManager.analytics.TransitionSample;
+import roman.lazarchik.ApplicationManager.models.Application;
+import roman.lazarchik.ApplicationManager.models.ApplicationStatus;
+import roman.lazarchik.ApplicationManager.models.ApplicationTransition;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+@Component
+public class ApplicationStateMachine {
+
+    private static final Map<ApplicationStatus, Set<ApplicationTransition>> ALLOWED_FROM = new EnumMap<>(ApplicationStatus.class);
+
+    static {
+        for (ApplicationStatus status : ApplicationStatus.values()) {
+            Set<ApplicationTransition> transitions = EnumSet.noneOf(ApplicationTransition.class);
+            for (ApplicationTransition transition : ApplicationTransition.values()) {
+                if (transition.isAllowedFrom(status)) {
+                    transitions.add(transition);
+                }
+            }
+            ALLOWED_FROM.put(status, Collections.unmodifiableSet(transitions));
+        }
+    }
+
+    private final Map<ApplicationTransition, List<TransitionHook>> hooks = new EnumMap<>(ApplicationTransition.class);
+
+    public ApplicationStateMachine(PublishedNumberAllocator publishedNumberAllocator,
+                                   TransitionDurationRecorder durationRecorder) {
+        for (ApplicationTransition transition : ApplicationTransition.values()) {
+            hooks.put(transition, new CopyOnWriteArrayList<>());
+        }
+        on(ApplicationTransition.PUBLISH, applications -> {
+            int first = publishedNumberAllocator.allocate(applications.size());
+            for (int i = 0; i < applications.size(); i++) {
+                applications.get(i).setPublishedNumber(first + i);
+            }
+        });
+        for (ApplicationTransition transition : ApplicationTransition.values()) {
+            if (transition.getTarget() != null) {
+                on(transition, applications -> applications.forEach(ApplicationStateMachine::releaseClaim));
+                on(transition, applications -> durationRecorder.record(samples(transition, applications)));
+            }
+        }
+    }
+
+    private static List<TransitionSample> samples(ApplicationTransition transition, List<Application> applications) {
+        LocalDateTime now = LocalDateTime.now();
+        List<TransitionSample> samples = new ArrayList<>();
+        for (Application application : applications) {
+            ApplicationStatus from = application.getStatus();
+            ApplicationStatus to = transition.targetFor(from);
+            LocalDateTime since = application.getStatusChangedAt() != null ? application.getStatusChangedAt() : application.getCreatedAt();
+            if (since != null) {
+                samples.add(new TransitionSample(from, to, now, Duration.between(since, now)));
+            }
+            if (from != ApplicationStatus.CREATED && application.getCreatedAt() != null) {
+                samples.add(new TransitionSample(ApplicationStatus.CREATED, to, now, Duration.between(application.getCreatedAt(), now)));
+            }
+            application.setStatusChangedAt(now);
+        }
+        return samples;
+    }
+
+    private static void releaseClaim(Application application) {
+        application.setClaimedBy(null);
+        application.setClaimExpiresAt(null);
+    }
+
+    public void on(ApplicationTransition transition, TransitionHook hook) {
+        hooks.get(transition).add(hook);
+    }
+
+    public static int statusMask(Collection<Application> applications) {
+        int mask = 0;
+        for (Application application : applications) {
+            mask |= ApplicationTransition.maskOf(application.getStatus());
+        }
+        return mask;
+    }
+
+    public Set<ApplicationTransition> allowedFrom(ApplicationStatus status) {
+        return ALLOWED_FROM.get(status);
+    }
+
+    public void apply(ApplicationTransition transition, List<Application> applications, Consumer<Application> effect) {
+        if (!transition.isAllowedFromAll(statusMask(applications))) {
+            throw transition.notAllowed();
+        }
+
+        applications.forEach(effect);
+        for (TransitionHook hook : hooks.get(transition)) {
+            hook.apply(applications);
+        }
+        for (Application application : applications) {
+            application.setStatus(transition.targetFor(application.getStatus()));
+        }
+    }
+}
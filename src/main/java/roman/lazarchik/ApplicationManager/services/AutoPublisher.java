@@ -0,0 +1,39 @@
+package roman.lazarchik.ApplicationManager.services;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "application.auto-publish", name = "enabled", havingValue = "true")
+public class AutoPublisher {
+
+    private final ApplicationService service;
+
+    @Value("${application.auto-publish.chunk-size:100}")
+    private int chunkSize;
+
+    @Value("${application.auto-publish.max-chunks-per-run:50}")
+    private int maxChunksPerRun;
+
+    @Scheduled(fixedDelayString = "${application.auto-publish.interval:60000}",
+            initialDelayString = "${application.auto-publish.interval:60000}")
+    public void publishAccepted() {
+        int published = 0;
+        for (int chunk = 0; chunk < maxChunksPerRun; chunk++) {
+            int count = service.publishAcceptedChunk(chunkSize).size();
+            published += count;
+            if (count < chunkSize) {
+                break;
+            }
+        }
+        if (published > 0) {
+            log.info("Auto-published {} accepted applications", published);
+        }
+    }
+}
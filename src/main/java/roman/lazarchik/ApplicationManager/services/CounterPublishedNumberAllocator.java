@@ -0,0 +1,69 @@
+package roman.lazarchik.ApplicationManager.services;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+@Component
+public class CounterPublishedNumberAllocator implements PublishedNumberAllocator {
+
+    private static final String COUNTER = "published_number";
+
+    private final JdbcTemplate counterJdbc;
+    private final TransactionTemplate transactionTemplate;
+    private final List<JdbcTemplate> applicationJdbcs;
+
+    @Autowired
+    public CounterPublishedNumberAllocator(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this(jdbcTemplate, transactionManager, List.of(jdbcTemplate));
+    }
+
+    public CounterPublishedNumberAllocator(JdbcTemplate counterJdbc, PlatformTransactionManager transactionManager,
+                                           List<JdbcTemplate> applicationJdbcs) {
+        this.counterJdbc = counterJdbc;
+        this.applicationJdbcs = List.copyOf(applicationJdbcs);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @Override
+    public int allocate(int count) {
+        Integer first = increment(count);
+        if (first == null) {
+            initializeCounter();
+            first = increment(count);
+        }
+        return first;
+    }
+
+    private Integer increment(int count) {
+        return transactionTemplate.execute(status -> {
+            if (counterJdbc.update("UPDATE published_number_counter SET allocated = allocated + ? WHERE name = ?", count, COUNTER) == 0) {
+                return null;
+            }
+            Long allocated = counterJdbc.queryForObject(
+                    "SELECT allocated FROM published_number_counter WHERE name = ?", Long.class, COUNTER);
+            return Math.toIntExact(allocated - count + 1);
+        });
+    }
+
+    private void initializeCounter() {
+        long max = 0;
+        for (JdbcTemplate jdbc : applicationJdbcs) {
+            Long applicationMax = jdbc.queryForObject("SELECT COALESCE(MAX(published_number), 0) FROM application", Long.class);
+            max = Math.max(max, applicationMax == null ? 0 : applicationMax);
+        }
+        long allocated = max;
+        try {
+            transactionTemplate.executeWithoutResult(status -> counterJdbc.update(
+                    "INSERT INTO published_number_counter (name, allocated) VALUES (?, ?)", COUNTER, allocated));
+        } catch (DuplicateKeyException ignored) {
+        }
+    }
+}
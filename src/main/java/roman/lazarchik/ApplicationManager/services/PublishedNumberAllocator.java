@@ -0,0 +1,6 @@
+package roman.lazarchik.ApplicationManager.services;
+
+public interface PublishedNumberAllocator {
+
+    int allocate(int count);
+}
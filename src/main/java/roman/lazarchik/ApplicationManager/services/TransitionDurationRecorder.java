@@ -0,0 +1,10 @@
+package roman.lazarchik.ApplicationManager.services;
+
+import roman.lazarchik.ApplicationManager.analytics.TransitionSample;
+
+import java.util.List;
+
+public interface TransitionDurationRecorder {
+
+    void record(List<TransitionSample> samples);
+}
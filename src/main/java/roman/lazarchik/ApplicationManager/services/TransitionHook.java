@@ -0,0 +1,11 @@
+package roman.lazarchik.ApplicationManager.services;
+
+import roman.lazarchik.ApplicationManager.models.Application;
+
+import java.util.List;
+
+@FunctionalInterface
+public interface TransitionHook {
+
+    void apply(List<Application> applications);
+}
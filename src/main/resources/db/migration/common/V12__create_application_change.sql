@@ -0,0 +1,8 @@
+CREATE TABLE IF NOT EXISTS application_change (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    node_id VARCHAR(64) NOT NULL,
+    application_id BIGINT NOT NULL,
+    changed_at TIMESTAMP DEFAULT LOCALTIMESTAMP NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS application_change_changed_at_idx ON application_change (changed_at);
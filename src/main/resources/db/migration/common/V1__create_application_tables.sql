@@ -0,0 +1,36 @@
+CREATE TABLE IF NOT EXISTS application (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY (START WITH ${identity_start} INCREMENT BY ${identity_increment}) PRIMARY KEY,
+    name VARCHAR(255),
+    content VARCHAR(255),
+    status VARCHAR(255),
+    reason VARCHAR(255),
+    published_number INTEGER,
+    claimed_by VARCHAR(255),
+    claim_expires_at TIMESTAMP(6)
+);
+
+ALTER TABLE application ADD COLUMN IF NOT EXISTS claimed_by VARCHAR(255);
+ALTER TABLE application ADD COLUMN IF NOT EXISTS claim_expires_at TIMESTAMP(6);
+
+CREATE INDEX IF NOT EXISTS idx_application_name_content ON application (name, content);
+
+CREATE TABLE IF NOT EXISTS application_history (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    timestamp TIMESTAMP(6),
+    status VARCHAR(255),
+    content_updated BOOLEAN NOT NULL,
+    application_id BIGINT REFERENCES application (id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_application_history_application_id ON application_history (application_id);
+
+CREATE TABLE IF NOT EXISTS published_number_counter (
+    name VARCHAR(64) PRIMARY KEY,
+    allocated BIGINT NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS scheduler_lock (
+    name VARCHAR(64) PRIMARY KEY
+);
+
+INSERT INTO scheduler_lock (name) SELECT 'auto-publish' WHERE NOT EXISTS (SELECT 1 FROM scheduler_lock WHERE name = 'auto-publish');
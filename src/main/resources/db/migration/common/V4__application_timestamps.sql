@@ -0,0 +1,11 @@
+ALTER TABLE application ADD COLUMN IF NOT EXISTS created_at TIMESTAMP(6);
+ALTER TABLE application ADD COLUMN IF NOT EXISTS updated_at TIMESTAMP(6);
+
+UPDATE application a SET
+    created_at = COALESCE((SELECT MIN(h.timestamp) FROM application_history h WHERE h.application_id = a.id), LOCALTIMESTAMP),
+    updated_at = COALESCE((SELECT MAX(h.timestamp) FROM application_history h WHERE h.application_id = a.id), LOCALTIMESTAMP)
+WHERE a.created_at IS NULL;
+
+CREATE INDEX IF NOT EXISTS idx_application_name_id ON application (name, id);
+CREATE INDEX IF NOT EXISTS idx_application_created_at_id ON application (created_at, id);
+CREATE INDEX IF NOT EXISTS idx_application_updated_at_id ON application (updated_at, id);
@@ -0,0 +1 @@
+CREATE INDEX IF NOT EXISTS idx_application_history_status_id ON application_history (status, id);
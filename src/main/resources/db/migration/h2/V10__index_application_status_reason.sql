@@ -0,0 +1,2 @@
+-- A status-leading index would be picked for claim scans, see V2.
+-- Reason frequencies are grouped with a scan here; PostgreSQL gets the (status, reason_code) index.
@@ -0,0 +1,2 @@
+-- H2 applies LIMIT before SKIP LOCKED on index-ordered scans, which breaks work-queue claims.
+-- Status lookups stay on a scan here; PostgreSQL gets the (status, id) index.
@@ -0,0 +1 @@
+ALTER TABLE application DROP COLUMN IF EXISTS content;
@@ -0,0 +1 @@
+CREATE INDEX IF NOT EXISTS idx_application_status_reason_code ON application (status, reason_code);
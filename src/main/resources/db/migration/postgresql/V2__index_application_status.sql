@@ -0,0 +1 @@
+CREATE INDEX IF NOT EXISTS idx_application_status_id ON application (status, id);
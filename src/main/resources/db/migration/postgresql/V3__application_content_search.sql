@@ -0,0 +1,4 @@
+ALTER TABLE application
+    ADD COLUMN IF NOT EXISTS content_tsv tsvector GENERATED ALWAYS AS (to_tsvector('simple', coalesce(content, ''))) STORED;
+
+CREATE INDEX IF NOT EXISTS idx_application_content_tsv ON application USING GIN (content_tsv);
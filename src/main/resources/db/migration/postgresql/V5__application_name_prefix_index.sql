@@ -0,0 +1,2 @@
+-- LIKE 'prefix%' can only use a btree index under the C collation; this one serves namePrefix filters.
+CREATE INDEX IF NOT EXISTS idx_application_name_pattern ON application (name text_pattern_ops, id);
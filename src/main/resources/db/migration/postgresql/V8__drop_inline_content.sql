@@ -0,0 +1,9 @@
+DROP INDEX IF EXISTS idx_application_content_tsv;
+ALTER TABLE application DROP COLUMN IF EXISTS content_tsv;
+ALTER TABLE application ADD COLUMN content_tsv tsvector;
+
+UPDATE application SET content_tsv = to_tsvector('simple', coalesce(content, ''));
+
+CREATE INDEX IF NOT EXISTS idx_application_content_tsv ON application USING GIN (content_tsv);
+
+ALTER TABLE application DROP COLUMN IF EXISTS content;
@@ -0,0 +1,47 @@
+package roman.lazarchik.ApplicationManager.analytics;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DurationHistogramTest {
+
+    @Test
+    void whenDurationIsBucketedThenUpperBoundIsWithinTwentyPercent() {
+
+        for (long millis : new long[]{1, 7, 999, 60_000, 3_600_000, 86_400_000L * 30}) {
+            Duration bound = DurationHistogram.upperBound(DurationHistogram.bucketOf(Duration.ofMillis(millis)));
+
+            assertTrue(bound.toMillis() >= millis, "bound below " + millis);
+            assertTrue(bound.toMillis() <= Math.ceil(millis * 1.2), "bound too far above " + millis);
+        }
+        assertEquals(0, DurationHistogram.bucketOf(Duration.ZERO));
+        assertEquals(0, DurationHistogram.bucketOf(Duration.ofMillis(-5)));
+    }
+
+    @Test
+    void whenHistogramsAreMergedThenPercentilesCoverBothSides() {
+
+        DurationHistogram fast = new DurationHistogram();
+        fast.add(DurationHistogram.bucketOf(Duration.ofSeconds(1)), 90);
+        DurationHistogram slow = new DurationHistogram();
+        slow.add(DurationHistogram.bucketOf(Duration.ofHours(1)), 10);
+
+        DurationHistogram merged = fast.merge(slow);
+
+        assertEquals(100, merged.getCount());
+        assertEquals(DurationHistogram.upperBound(DurationHistogram.bucketOf(Duration.ofSeconds(1))), merged.percentile(0.5));
+        assertEquals(DurationHistogram.upperBound(DurationHistogram.bucketOf(Duration.ofSeconds(1))), merged.percentile(0.9));
+        assertEquals(DurationHistogram.upperBound(DurationHistogram.bucketOf(Duration.ofHours(1))), merged.percentile(0.95));
+    }
+
+    @Test
+    void whenHistogramIsEmptyThenPercentileIsUnknown() {
+
+        assertNull(new DurationHistogram().percentile(0.5));
+    }
+}
@@ -0,0 +1,146 @@
+package roman.lazarchik.ApplicationManager.benchmarks;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.transaction.support.TransactionTemplate;
+import roman.lazarchik.ApplicationManager.dto.DeleteDTO;
+import roman.lazarchik.ApplicationManager.models.Application;
+import roman.lazarchik.ApplicationManager.models.ApplicationTransition;
+import roman.lazarchik.ApplicationManager.repositories.ApplicationRepository;
+import roman.lazarchik.ApplicationManager.services.ApplicationService;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Run with {@code mvn test -Dtest=ContentLoadingBenchmark}.
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:content-loading;DB_CLOSE_DELAY=-1")
+class ContentLoadingBenchmark {
+
+    private static final int APPLICATIONS = 200;
+    private static final int CONTENT_LENGTH = 16 * 1024;
+    private static final AtomicLong BYTES_READ = new AtomicLong();
+
+    @Autowired
+    private ApplicationService service;
+
+    @Autowired
+    private ApplicationRepository repository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void measureBytesReadPerTransition() {
+        List<Long> ids = createApplications("Transition");
+        List<Long> deleted = createApplications("Delete");
+
+        long eager = bytesRead(() -> ids.forEach(id -> transactionTemplate.executeWithoutResult(status ->
+                repository.findWithContentById(id).orElseThrow().setClaimedBy("benchmark"))));
+        long verify = bytesRead(() -> service.transitionApplications(ids, ApplicationTransition.VERIFY));
+        long accept = bytesRead(() -> service.transitionApplications(ids, ApplicationTransition.ACCEPT));
+        long delete = bytesRead(() -> deleted.forEach(id -> service.deleteApplication(id, new DeleteDTO("Benchmark"))));
+
+        System.out.printf("bytes read per transition, %d B content: eager load %d B, verify %d B, accept %d B, delete %d B%n",
+                CONTENT_LENGTH, eager / APPLICATIONS, verify / APPLICATIONS, accept / APPLICATIONS, delete / APPLICATIONS);
+
+        assertTrue(verify * 10 < eager);
+        assertTrue(accept * 10 < eager);
+        assertTrue(delete * 10 < eager);
+    }
+
+    private List<Long> createApplications(String prefix) {
+        Random random = new Random(42);
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < APPLICATIONS; i++) {
+            StringBuilder content = new StringBuilder(CONTENT_LENGTH);
+            while (content.length() < CONTENT_LENGTH) {
+                content.append((char) ('a' + random.nextInt(26)));
+            }
+            Application app = new Application();
+            app.setName(prefix + " " + i);
+            app.setContent(content.toString());
+            ids.add(service.createApplication(app).getId());
+        }
+        return ids;
+    }
+
+    private static long bytesRead(Runnable action) {
+        long before = BYTES_READ.get();
+        action.run();
+        return BYTES_READ.get() - before;
+    }
+
+    @TestConfiguration
+    static class ByteCountingConfig {
+
+        @Bean
+        static BeanPostProcessor byteCountingDataSource() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    if (!"dataSource".equals(beanName) || !(bean instanceof DataSource)) {
+                        return bean;
+                    }
+                    ProxyFactory proxyFactory = new ProxyFactory(bean);
+                    proxyFactory.setProxyTargetClass(true);
+                    proxyFactory.addAdvice((MethodInterceptor) invocation -> count(invocation.proceed()));
+                    return proxyFactory.getProxy();
+                }
+            };
+        }
+
+        private static Object count(Object result) {
+            if (result instanceof Connection || result instanceof Statement) {
+                return wrap(result);
+            }
+            if (result instanceof byte[] bytes) {
+                BYTES_READ.addAndGet(bytes.length);
+            } else if (result instanceof String string) {
+                BYTES_READ.addAndGet(string.length());
+            }
+            return result;
+        }
+
+        private static Object wrap(Object target) {
+            Class<?> type = target instanceof Connection ? Connection.class
+                    : target instanceof PreparedStatement ? PreparedStatement.class : Statement.class;
+            return Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+                try {
+                    Object result = method.invoke(target, args);
+                    return result instanceof ResultSet resultSet ? countingResultSet(resultSet) : count(result);
+                } catch (InvocationTargetException e) {
+                    throw e.getCause();
+                }
+            });
+        }
+
+        private static ResultSet countingResultSet(ResultSet target) {
+            return (ResultSet) Proxy.newProxyInstance(ResultSet.class.getClassLoader(), new Class<?>[]{ResultSet.class}, (proxy, method, args) -> {
+                try {
+                    return count(method.invoke(target, args));
+                } catch (InvocationTargetException e) {
+                    throw e.getCause();
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package roman.lazarchik.ApplicationManager.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import roman.lazarchik.ApplicationManager.dto.ApplicationPageResponse;
+import roman.lazarchik.ApplicationManager.mapper.ApplicationMapper;
+import roman.lazarchik.ApplicationManager.models.Application;
+import roman.lazarchik.ApplicationManager.models.ApplicationStatus;
+
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Run with {@code mvn test -Dtest=ListEndpointAllocationBenchmark}.
+ */
+class ListEndpointAllocationBenchmark {
+
+    private static final int PAGE_SIZE = 50;
+    private static final int WARMUP = 20_000;
+    private static final int ITERATIONS = 50_000;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final ApplicationMapper applicationMapper = new ApplicationMapper();
+
+    @Test
+    void measureBytesAllocatedPerListResponse() throws Exception {
+        Page<Application> page = samplePage();
+
+        Writer legacy = () -> {
+            Map<String, Object> response = new HashMap<>();
+            Page<?> dtoPage = page.map(applicationMapper::toDto);
+            response.put("applications", dtoPage.getContent());
+            response.put("currentPage", dtoPage.getNumber());
+            response.put("totalItems", dtoPage.getTotalElements());
+            response.put("totalPages", dtoPage.getTotalPages());
+            objectMapper.writeValue(OutputStream.nullOutputStream(), response);
+        };
+        Writer envelope = () -> objectMapper.writeValue(OutputStream.nullOutputStream(), ApplicationPageResponse.of(page));
+
+        long legacyBytes = bytesPerCall(legacy);
+        long envelopeBytes = bytesPerCall(envelope);
+
+        System.out.printf("list response, %d items: map+dto %d B/op, typed envelope %d B/op%n",
+                PAGE_SIZE, legacyBytes, envelopeBytes);
+
+        assertTrue(envelopeBytes < legacyBytes);
+    }
+
+    private long bytesPerCall(Writer writer) throws Exception {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        for (int i = 0; i < WARMUP; i++) {
+            writer.write();
+        }
+        long before = threads.getCurrentThreadAllocatedBytes();
+        for (int i = 0; i < ITERATIONS; i++) {
+            writer.write();
+        }
+        return (threads.getCurrentThreadAllocatedBytes() - before) / ITERATIONS;
+    }
+
+    private Page<Application> samplePage() {
+        List<Application> applications = new ArrayList<>();
+        for (long i = 1; i <= PAGE_SIZE; i++) {
+            Application app = new Application();
+            app.setId(i);
+            app.setName("Application " + i);
+            app.setContent("Content of application " + i);
+            app.setStatus(ApplicationStatus.CREATED);
+            applications.add(app);
+        }
+        return new PageImpl<>(applications, PageRequest.of(0, PAGE_SIZE), 10_000);
+    }
+
+    @FunctionalInterface
+    private interface Writer {
+        void write() throws Exception;
+    }
+}
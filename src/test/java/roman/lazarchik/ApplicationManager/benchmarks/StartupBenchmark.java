@@ -0,0 +1,178 @@
+package roman.lazarchik.ApplicationManager.benchmarks;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.jar.JarOutputStream;
+import java.util.stream.Collectors;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Run with {@code mvn -Pfast-startup -DskipTests package && mvn test -Dtest=StartupBenchmark}.
+ */
+class StartupBenchmark {
+
+    private static final Path JAR = Paths.get("target", "aot", "ApplicationManager-0.0.1-SNAPSHOT.jar");
+    private static final String MAIN = "roman.lazarchik.ApplicationManager.ApplicationManagerApplication";
+    private static final String CLASSES = "BOOT-INF/classes/";
+    private static final String LIB = "BOOT-INF/lib/";
+    private static final String CLASSPATH_INDEX = "BOOT-INF/classpath.idx";
+    private static final String APPLICATION_JAR = "application.jar";
+    private static final String AOT_INITIALIZER = "roman/lazarchik/ApplicationManager/"
+            + "ApplicationManagerApplication__ApplicationContextInitializer.class";
+    private static final List<String> FAST_STARTUP = List.of("-Dspring.aot.enabled=true", "-Dspring.profiles.active=fast-startup");
+    private static final int RUNS = 3;
+    private static final Duration TIMEOUT = Duration.ofSeconds(60);
+
+    private final HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofMillis(200)).build();
+
+    @TempDir
+    Path workDir;
+
+    @Test
+    void measureTimeToFirstSuccessfulRequest() throws Exception {
+        assumeTrue(Files.exists(JAR), "build the jar with -Pfast-startup first");
+        Path app = unpack();
+        assumeTrue(hasAotInitializer(app), "the jar was built without -Pfast-startup");
+        String classpath = classpath(app);
+        Path archive = workDir.resolve("application.jsa");
+
+        long baseline = median(List.of(), classpath);
+        long aot = median(FAST_STARTUP, classpath);
+        train(classpath, archive);
+        List<String> cds = new ArrayList<>(FAST_STARTUP);
+        cds.add("-XX:SharedArchiveFile=" + archive);
+        long aotCds = median(cds, classpath);
+
+        System.out.printf("time to first successful request: baseline %d ms, aot+lazy %d ms, aot+lazy+cds %d ms%n",
+                baseline, aot, aotCds);
+
+        assertTrue(aotCds < baseline);
+    }
+
+    private long median(List<String> jvmOptions, String classpath) throws Exception {
+        long[] samples = new long[RUNS];
+        for (int i = 0; i < RUNS; i++) {
+            samples[i] = timeToFirstRequest(jvmOptions, classpath);
+        }
+        Arrays.sort(samples);
+        return samples[RUNS / 2];
+    }
+
+    private long timeToFirstRequest(List<String> jvmOptions, String classpath) throws Exception {
+        int port = freePort();
+        URI uri = URI.create("http://localhost:" + port + "/applications?total=none");
+        long start = System.nanoTime();
+        Process process = start(jvmOptions, classpath, port, "--server.port=" + port);
+        try {
+            while (System.nanoTime() - start < TIMEOUT.toNanos()) {
+                assertTrue(process.isAlive(), "application exited during startup");
+                try {
+                    HttpResponse<Void> response = client.send(HttpRequest.newBuilder(uri).build(), HttpResponse.BodyHandlers.discarding());
+                    if (response.statusCode() == 200) {
+                        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+                    }
+                } catch (IOException ignored) {
+                }
+                Thread.sleep(10);
+            }
+            throw new AssertionError("no successful request within " + TIMEOUT);
+        } finally {
+            process.destroy();
+            process.waitFor(10, TimeUnit.SECONDS);
+        }
+    }
+
+    private void train(String classpath, Path archive) throws Exception {
+        List<String> options = new ArrayList<>(FAST_STARTUP);
+        options.add("-XX:ArchiveClassesAtExit=" + archive);
+        int port = freePort();
+        Process process = start(options, classpath, port, "--server.port=" + port, "--application.startup.exit-on-ready=true");
+        assertTrue(process.waitFor(TIMEOUT.toSeconds(), TimeUnit.SECONDS), "training run did not exit");
+        assertEquals(0, process.exitValue());
+        assertTrue(Files.exists(archive));
+    }
+
+    private Process start(List<String> jvmOptions, String classpath, int port, String... args) throws IOException {
+        List<String> command = new ArrayList<>();
+        command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(jvmOptions);
+        command.addAll(List.of("-cp", classpath, MAIN));
+        command.addAll(List.of(
+                "--spring.datasource.url=jdbc:h2:mem:startup-" + port + ";DB_CLOSE_DELAY=-1",
+                "--spring.flyway.locations=classpath:db/migration/common,classpath:db/migration/{vendor}",
+                "--spring.flyway.placeholders.identity_start=1",
+                "--spring.flyway.placeholders.identity_increment=1",
+                "--application.endpoint.root=/applications",
+                "--application.search.empty-result-not-found=false"));
+        command.addAll(List.of(args));
+        return new ProcessBuilder(command)
+                .redirectOutput(workDir.resolve("app-" + port + ".log").toFile())
+                .redirectErrorStream(true)
+                .start();
+    }
+
+    private Path unpack() throws IOException {
+        Path target = workDir.resolve("app");
+        Files.createDirectories(target);
+        try (ZipInputStream zip = new ZipInputStream(Files.newInputStream(JAR));
+             JarOutputStream classes = new JarOutputStream(Files.newOutputStream(target.resolve(APPLICATION_JAR)))) {
+            for (ZipEntry entry = zip.getNextEntry(); entry != null; entry = zip.getNextEntry()) {
+                String name = entry.getName();
+                if (name.startsWith(CLASSES) && name.length() > CLASSES.length()) {
+                    classes.putNextEntry(new JarEntry(name.substring(CLASSES.length())));
+                    zip.transferTo(classes);
+                    classes.closeEntry();
+                } else if (!entry.isDirectory() && (name.startsWith(LIB) || name.equals(CLASSPATH_INDEX))) {
+                    Files.copy(zip, target.resolve(name.substring(name.lastIndexOf('/') + 1)));
+                }
+            }
+        }
+        return target;
+    }
+
+    private String classpath(Path app) throws Exception {
+        List<String> entries = new ArrayList<>();
+        entries.add(app.resolve(APPLICATION_JAR).toString());
+        Files.readAllLines(app.resolve("classpath.idx")).stream()
+                .map(line -> line.substring(line.lastIndexOf('/') + 1, line.length() - 1))
+                .map(entry -> app.resolve(entry).toString())
+                .forEach(entries::add);
+        entries.add(Paths.get(org.h2.Driver.class.getProtectionDomain().getCodeSource().getLocation().toURI()).toString());
+        return entries.stream().collect(Collectors.joining(File.pathSeparator));
+    }
+
+    private static boolean hasAotInitializer(Path app) throws IOException {
+        try (JarFile jar = new JarFile(app.resolve(APPLICATION_JAR).toFile())) {
+            return jar.getEntry(AOT_INITIALIZER) != null;
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package roman.lazarchik.ApplicationManager.changes;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ChangeCursorTest {
+
+    @Test
+    void whenCursorIsEncodedThenDecodingRestoresEveryShardPosition() {
+
+        ChangeCursor cursor = ChangeCursor.START.advance(0, 42).advance(2, 7);
+
+        ChangeCursor decoded = ChangeCursor.decode(cursor.encode());
+
+        assertEquals(cursor, decoded);
+        assertEquals(42, decoded.position(0));
+        assertEquals(0, decoded.position(1));
+        assertEquals(7, decoded.position(2));
+        assertEquals(0, decoded.position(5));
+    }
+
+    @Test
+    void whenCursorIsMissingThenChangesStartFromTheBeginning() {
+
+        assertEquals(ChangeCursor.START, ChangeCursor.decode(null));
+        assertEquals(ChangeCursor.START, ChangeCursor.decode(""));
+        assertEquals(0, ChangeCursor.START.position(0));
+    }
+
+    @Test
+    void whenAdvancingToAnEarlierPositionThenTheCursorDoesNotMoveBack() {
+
+        assertEquals(10, ChangeCursor.START.advance(0, 10).advance(0, 3).position(0));
+    }
+
+    @Test
+    void whenCursorIsMalformedThenIllegalArgumentIsThrown() {
+
+        assertThrows(IllegalArgumentException.class, () -> ChangeCursor.decode("not base64!"));
+        assertThrows(IllegalArgumentException.class, () -> ChangeCursor.decode(ChangeCursor.START.encode() + "eA"));
+        assertThrows(IllegalArgumentException.class, () -> ChangeCursor.decode(new ChangeCursor(new long[]{-1}).encode()));
+    }
+}
@@ -0,0 +1,38 @@
+package roman.lazarchik.ApplicationManager.cluster;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import roman.lazarchik.ApplicationManager.config.CacheConfig;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class ApplicationCacheInvalidatorTest {
+
+    private final ConcurrentMapCacheManager cacheManager = new ConcurrentMapCacheManager();
+    private final ApplicationCacheInvalidator invalidator = new ApplicationCacheInvalidator(cacheManager, Duration.ofMillis(50));
+
+    @AfterEach
+    void tearDown() {
+        invalidator.destroy();
+    }
+
+    @Test
+    void whenValueIsCachedAgainAfterEvictionThenItIsEvictedOnceMoreAfterTheDelay() throws InterruptedException {
+
+        Cache cache = cacheManager.getCache(CacheConfig.APPLICATIONS);
+        cache.put(5L, "before");
+
+        invalidator.onApplicationChanged(new ApplicationChangedEvent(5L));
+        assertNull(cache.get(5L));
+        cache.put(5L, "read from a lagging replica");
+        for (int attempt = 0; attempt < 50 && cache.get(5L) != null; attempt++) {
+            Thread.sleep(20);
+        }
+
+        assertNull(cache.get(5L));
+    }
+}
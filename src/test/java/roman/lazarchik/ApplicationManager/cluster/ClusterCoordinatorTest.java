@@ -0,0 +1,46 @@
+package roman.lazarchik.ApplicationManager.cluster;
+
+import org.junit.jupiter.api.Test;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+class ClusterCoordinatorTest {
+
+    private final InvalidationTransport transport = mock(InvalidationTransport.class);
+    private final ApplicationCacheInvalidator invalidator = mock(ApplicationCacheInvalidator.class);
+    private final ClusterCoordinator coordinator = new ClusterCoordinator(transport, invalidator);
+
+    @Test
+    void whenApplicationChangesThenInvalidationIsPublishedWithNodeId() {
+
+        coordinator.onApplicationChanged(new ApplicationChangedEvent(5L));
+
+        verify(transport).publish(coordinator.getNodeId(), 5L);
+    }
+
+    @Test
+    void whenPeerInvalidatesThenLocalCacheIsEvicted() {
+
+        coordinator.onInvalidation("other-node", 5L);
+
+        verify(invalidator).evict(5L);
+    }
+
+    @Test
+    void whenOwnInvalidationArrivesThenItIsIgnored() {
+
+        coordinator.onInvalidation(coordinator.getNodeId(), 5L);
+
+        verify(invalidator, never()).evict(5L);
+    }
+
+    @Test
+    void whenStreamResetsThenLocalCacheIsCleared() {
+
+        coordinator.onReset();
+
+        verify(invalidator).clear();
+    }
+}
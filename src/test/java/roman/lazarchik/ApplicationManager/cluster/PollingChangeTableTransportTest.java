@@ -0,0 +1,83 @@
+package roman.lazarchik.ApplicationManager.cluster;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class PollingChangeTableTransportTest {
+
+    private final DataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:change-table;DB_CLOSE_DELAY=-1", "sa", "");
+
+    private PollingChangeTableTransport sender;
+    private PollingChangeTableTransport receiver;
+    private final List<String> received = new CopyOnWriteArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        new JdbcTemplate(dataSource).execute("DROP TABLE IF EXISTS application_change");
+        new ResourceDatabasePopulator(new ClassPathResource("db/migration/common/V12__create_application_change.sql")).execute(dataSource);
+        sender = new PollingChangeTableTransport(dataSource, Duration.ofHours(1), Duration.ofSeconds(2), Duration.ofMinutes(10));
+        receiver = new PollingChangeTableTransport(dataSource, Duration.ofHours(1), Duration.ofSeconds(2), Duration.ofMinutes(10));
+        sender.start(new RecordingListener(new CopyOnWriteArrayList<>()));
+        receiver.start(new RecordingListener(received));
+    }
+
+    @AfterEach
+    void tearDown() {
+        sender.stop();
+        receiver.stop();
+    }
+
+    @Test
+    void whenPeerPublishesThenChangeIsDeliveredOnNextPoll() throws InterruptedException {
+
+        sender.publish("node-a", 42L);
+
+        awaitReceived(1);
+
+        assertEquals(List.of("node-a:42"), received);
+    }
+
+    @Test
+    void whenPollingRepeatedlyThenEachChangeIsDeliveredOnce() throws InterruptedException {
+
+        sender.publish("node-a", 1L);
+        sender.publish("node-a", 2L);
+
+        awaitReceived(2);
+        receiver.poll();
+        receiver.poll();
+
+        assertEquals(List.of("node-a:1", "node-a:2"), received);
+    }
+
+    private void awaitReceived(int expected) throws InterruptedException {
+        for (int attempt = 0; attempt < 50 && received.size() < expected; attempt++) {
+            receiver.poll();
+            Thread.sleep(20);
+        }
+    }
+
+    private record RecordingListener(List<String> received) implements InvalidationListener {
+
+        @Override
+        public void onInvalidation(String nodeId, long applicationId) {
+            received.add(nodeId + ":" + applicationId);
+        }
+
+        @Override
+        public void onReset() {
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package roman.lazarchik.ApplicationManager.coalescing;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import roman.lazarchik.ApplicationManager.datasource.ReplicaRoutingContext;
+import roman.lazarchik.ApplicationManager.models.Application;
+import roman.lazarchik.ApplicationManager.models.ApplicationStatus;
+import roman.lazarchik.ApplicationManager.repositories.ApplicationRepository;
+import roman.lazarchik.ApplicationManager.services.ApplicationService;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest
+class CoalescingAspectTest {
+
+    @Autowired
+    private ApplicationService applicationService;
+
+    @MockBean
+    private ApplicationRepository applicationRepository;
+
+    @Test
+    void whenIdenticalListRequestsOverlapThenRepositoryIsQueriedOnce() throws Exception {
+
+        CountDownLatch queried = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Page<Application> page = new PageImpl<>(List.of(new Application()));
+        when(applicationRepository.findByStatus(eq(ApplicationStatus.CREATED), any(Pageable.class))).thenAnswer(invocation -> {
+            queried.countDown();
+            release.await();
+            return page;
+        });
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        List<Future<Page<Application>>> results = new ArrayList<>();
+        results.add(executor.submit(() -> applicationService.getApplicationsByStatus(ApplicationStatus.CREATED, 0, 50)));
+        queried.await(1, TimeUnit.SECONDS);
+        for (int i = 0; i < 3; i++) {
+            results.add(executor.submit(() -> applicationService.getApplicationsByStatus(ApplicationStatus.CREATED, 0, 50)));
+        }
+        Thread.sleep(50);
+        release.countDown();
+
+        assertSame(page, results.get(0).get(1, TimeUnit.SECONDS));
+        for (Future<Page<Application>> result : results.subList(1, results.size())) {
+            Page<Application> copy = result.get(1, TimeUnit.SECONDS);
+            assertEquals(page.getContent(), copy.getContent());
+            assertNotSame(page.getContent().get(0), copy.getContent().get(0));
+        }
+        verify(applicationRepository, times(1)).findByStatus(eq(ApplicationStatus.CREATED), any(Pageable.class));
+        executor.shutdown();
+    }
+
+    @Test
+    void whenCallerIsPinnedToThePrimaryThenItIsNotCoalesced() throws Exception {
+
+        CountDownLatch queried = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(applicationRepository.findByStatus(eq(ApplicationStatus.VERIFIED), any(Pageable.class))).thenAnswer(invocation -> {
+            if (queried.getCount() > 0) {
+                queried.countDown();
+                release.await(1, TimeUnit.SECONDS);
+            }
+            return new PageImpl<>(List.of(new Application()));
+        });
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        Future<Page<Application>> leader = executor.submit(() -> applicationService.getApplicationsByStatus(ApplicationStatus.VERIFIED, 0, 50));
+        queried.await(1, TimeUnit.SECONDS);
+        Future<Page<Application>> pinned = executor.submit(() -> {
+            ReplicaRoutingContext.pinToPrimary();
+            try {
+                return applicationService.getApplicationsByStatus(ApplicationStatus.VERIFIED, 0, 50);
+            } finally {
+                ReplicaRoutingContext.clear();
+            }
+        });
+
+        assertEquals(1, pinned.get(1, TimeUnit.SECONDS).getNumberOfElements());
+        release.countDown();
+        leader.get(1, TimeUnit.SECONDS);
+        verify(applicationRepository, times(2)).findByStatus(eq(ApplicationStatus.VERIFIED), any(Pageable.class));
+        executor.shutdown();
+    }
+}
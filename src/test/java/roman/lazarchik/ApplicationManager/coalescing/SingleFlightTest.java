@@ -0,0 +1,149 @@
+package roman.lazarchik.ApplicationManager.coalescing;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.UnaryOperator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SingleFlightTest {
+
+    private final SingleFlight<String, Object> singleFlight = new SingleFlight<>(Duration.ofSeconds(5), UnaryOperator.identity());
+    private final ExecutorService executor = Executors.newFixedThreadPool(8);
+
+    @Test
+    void whenIdenticalCallsOverlapThenOneExecutionIsShared() throws Exception {
+
+        AtomicInteger executions = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        Object shared = new Object();
+
+        Future<Object> leader = executor.submit(() -> execute("key", () -> {
+            executions.incrementAndGet();
+            release.await();
+            return shared;
+        }));
+        awaitInFlight();
+
+        List<Future<Object>> followers = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            followers.add(executor.submit(() -> execute("key", () -> {
+                executions.incrementAndGet();
+                return new Object();
+            })));
+        }
+        Thread.sleep(50);
+        release.countDown();
+
+        assertSame(shared, leader.get(1, TimeUnit.SECONDS));
+        for (Future<Object> follower : followers) {
+            assertSame(shared, follower.get(1, TimeUnit.SECONDS));
+        }
+        assertEquals(1, executions.get());
+        assertEquals(0, singleFlight.inFlightCount());
+    }
+
+    @Test
+    void whenFollowersAreHandedTheResultThenTheyReceiveSharedCopies() throws Exception {
+
+        SingleFlight<String, List<String>> copying = new SingleFlight<>(Duration.ofSeconds(5), ArrayList::new);
+        CountDownLatch release = new CountDownLatch(1);
+        List<String> shared = new ArrayList<>(List.of("result"));
+
+        Future<List<String>> leader = executor.submit(() -> execute(copying, "key", () -> {
+            release.await();
+            return shared;
+        }));
+        for (int attempt = 0; attempt < 100 && copying.inFlightCount() == 0; attempt++) {
+            Thread.sleep(10);
+        }
+        Future<List<String>> follower = executor.submit(() -> execute(copying, "key", () -> List.of("own")));
+        Thread.sleep(50);
+        release.countDown();
+
+        assertSame(shared, leader.get(1, TimeUnit.SECONDS));
+        List<String> copy = follower.get(1, TimeUnit.SECONDS);
+        assertEquals(shared, copy);
+        assertNotSame(shared, copy);
+    }
+
+    @Test
+    void whenTheSharedCallOutlivesTheWaitTimeoutThenTheFollowerExecutesItself() throws Exception {
+
+        SingleFlight<String, Object> bounded = new SingleFlight<>(Duration.ofMillis(50), UnaryOperator.identity());
+        CountDownLatch release = new CountDownLatch(1);
+
+        Future<Object> leader = executor.submit(() -> execute(bounded, "key", () -> {
+            release.await();
+            return "leader";
+        }));
+        for (int attempt = 0; attempt < 100 && bounded.inFlightCount() == 0; attempt++) {
+            Thread.sleep(10);
+        }
+
+        try {
+            assertEquals("own", execute(bounded, "key", () -> "own"));
+        } finally {
+            release.countDown();
+        }
+        assertEquals("leader", leader.get(1, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void whenCallsDoNotOverlapThenEachExecutes() throws Throwable {
+
+        AtomicInteger executions = new AtomicInteger();
+
+        singleFlight.execute("key", executions::incrementAndGet);
+        singleFlight.execute("key", executions::incrementAndGet);
+
+        assertEquals(2, executions.get());
+    }
+
+    @Test
+    void whenSharedCallFailsThenFailureIsPropagatedAndKeyIsReleased() {
+
+        IllegalStateException failure = new IllegalStateException("boom");
+
+        IllegalStateException thrown = assertThrows(IllegalStateException.class, () -> singleFlight.execute("key", () -> {
+            throw failure;
+        }));
+
+        assertSame(failure, thrown);
+        assertEquals(0, singleFlight.inFlightCount());
+    }
+
+    private Object execute(String key, SingleFlight.Call<Object> call) throws Exception {
+        return execute(singleFlight, key, call);
+    }
+
+    private static <V> V execute(SingleFlight<String, V> flight, String key, SingleFlight.Call<V> call) throws Exception {
+        try {
+            return flight.execute(key, call);
+        } catch (Exception e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void awaitInFlight() throws InterruptedException {
+        for (int attempt = 0; attempt < 100 && singleFlight.inFlightCount() == 0; attempt++) {
+            Thread.sleep(10);
+        }
+        assertTrue(singleFlight.inFlightCount() > 0);
+    }
+}
@@ -0,0 +1,25 @@
+package roman.lazarchik.ApplicationManager.config;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class ExpiringConcurrentMapCacheTest {
+
+    @Test
+    void whenEntryOutlivesTheTtlThenItIsReloaded() throws InterruptedException {
+
+        ExpiringConcurrentMapCache cache = new ExpiringConcurrentMapCache("applications", Duration.ofMillis(50));
+        cache.put(1L, "stale");
+
+        assertEquals("stale", cache.get(1L, String.class));
+        Thread.sleep(80);
+
+        assertNull(cache.get(1L));
+        assertEquals("fresh", cache.get(1L, () -> "fresh"));
+        assertEquals("fresh", cache.get(1L, String.class));
+    }
+}
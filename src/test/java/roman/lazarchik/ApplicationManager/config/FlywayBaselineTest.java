@@ -0,0 +1,94 @@
+package roman.lazarchik.ApplicationManager.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import roman.lazarchik.ApplicationManager.models.Application;
+import roman.lazarchik.ApplicationManager.models.ApplicationStatus;
+import roman.lazarchik.ApplicationManager.models.ReasonCodec;
+import roman.lazarchik.ApplicationManager.services.ApplicationService;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest
+class FlywayBaselineTest {
+
+    private static final String URL = "jdbc:h2:mem:flyway-baseline;DB_CLOSE_DELAY=-1";
+
+    @Autowired
+    private ApplicationService applicationService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @DynamicPropertySource
+    static void legacySchema(DynamicPropertyRegistry registry) {
+        JdbcTemplate legacy = new JdbcTemplate(new DriverManagerDataSource(URL, "sa", ""));
+        legacy.execute("DROP ALL OBJECTS");
+        legacy.execute("CREATE TABLE application (id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY, name VARCHAR(255), "
+                + "content VARCHAR(255), status VARCHAR(255), reason VARCHAR(255), published_number INTEGER)");
+        legacy.execute("CREATE TABLE application_history (id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY, "
+                + "timestamp TIMESTAMP(6), status VARCHAR(255), content_updated BOOLEAN NOT NULL, "
+                + "application_id BIGINT REFERENCES application (id))");
+        legacy.update("INSERT INTO application (id, name, content, status, reason) VALUES (7, 'Legacy', 'Legacy content', 'REJECTED', 'Too short')");
+        legacy.update("INSERT INTO application (id, name, content, status, reason) VALUES "
+                + "(8, 'Copy A', 'Copy content', 'REJECTED', 'Duplicate submission'), "
+                + "(9, 'Copy B', 'Copy content', 'DELETED', 'Duplicate submission')");
+        legacy.update("INSERT INTO application (id, name, content, status, published_number) VALUES "
+                + "(10, 'First', 'First content', 'PUBLISHED', 4), "
+                + "(11, 'Second', 'Second content', 'PUBLISHED', 4), "
+                + "(12, 'Third', 'Third content', 'PUBLISHED', 5)");
+        legacy.update("INSERT INTO application_history (timestamp, status, content_updated, application_id) "
+                + "VALUES (LOCALTIMESTAMP, 'REJECTED', FALSE, 7)");
+        registry.add("spring.datasource.url", () -> URL);
+    }
+
+    @Test
+    void whenSchemaPredatesFlywayThenItIsBaselinedAndMigrated() {
+
+        Application legacy = applicationService.getApplication(7L);
+
+        assertEquals("0", jdbcTemplate.queryForObject("SELECT \"version\" FROM \"flyway_schema_history\" WHERE \"type\" = 'BASELINE'", String.class));
+        assertEquals("Legacy content", legacy.getContent());
+        assertEquals("Too short", legacy.getReason());
+        assertEquals(ApplicationStatus.REJECTED, legacy.getStatus());
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM application_change", Integer.class));
+    }
+
+    @Test
+    void whenLegacyReasonsRepeatThenOnlyTheRepeatedOnesAreMovedIntoTheDictionary() {
+
+        assertEquals(List.of("Duplicate submission"), jdbcTemplate.queryForList("SELECT text FROM application_reason", String.class));
+        assertEquals(ReasonCodec.code("Duplicate submission"), applicationService.getApplication(8L).getReasonCode());
+        assertEquals("Duplicate submission", applicationService.getApplication(9L).getReason());
+        assertEquals("Too short", jdbcTemplate.queryForObject("SELECT reason FROM application WHERE id = 7", String.class));
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM application WHERE id IN (8, 9) AND reason IS NOT NULL", Integer.class));
+    }
+
+    @Test
+    void whenLegacyPublishedNumbersRepeatThenTheLaterDuplicatesAreRenumberedAboveTheMaximum() {
+
+        assertEquals(4, applicationService.getApplication(10L).getPublishedNumber());
+        assertEquals(6, applicationService.getApplication(11L).getPublishedNumber());
+        assertEquals(5, applicationService.getApplication(12L).getPublishedNumber());
+        assertThrows(DataIntegrityViolationException.class,
+                () -> jdbcTemplate.update("UPDATE application SET published_number = 4 WHERE id = 12"));
+    }
+
+    @Test
+    void whenLegacySchemaLacksTheClaimColumnsThenTheyAreAdded() {
+
+        assertEquals(2, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM INFORMATION_SCHEMA.COLUMNS "
+                + "WHERE TABLE_NAME = 'APPLICATION' AND COLUMN_NAME IN ('CLAIMED_BY', 'CLAIM_EXPIRES_AT')", Integer.class));
+        assertNull(applicationService.getApplication(7L).getClaimedBy());
+    }
+}
@@ -0,0 +1,33 @@
+package roman.lazarchik.ApplicationManager.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = {
+        "application.auto-publish.enabled=true",
+        "application.auto-publish.interval=3600000"
+})
+@ActiveProfiles("fast-startup")
+class StartupConfigTest {
+
+    @Autowired
+    private ConfigurableApplicationContext context;
+
+    @Test
+    void whenFastStartupProfileIsActiveThenOnlyCriticalBeansAreCreatedEagerly() {
+
+        assertTrue(context.getBeanFactory().containsSingleton("dataSource"));
+        assertTrue(context.getBeanFactory().containsSingleton("flywayInitializer"));
+        assertTrue(context.getBeanFactory().containsSingleton("entityManagerFactory"));
+        assertTrue(context.getBeanFactory().containsSingleton("autoPublisher"));
+
+        assertFalse(context.getBeanFactory().containsSingleton("applicationController"));
+        assertFalse(context.getBeanFactory().containsSingleton("applicationMapper"));
+    }
+}
@@ -9,32 +9,57 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.web.bind.MethodArgumentNotValidException;
+import roman.lazarchik.ApplicationManager.analytics.DurationHistogram;
+import roman.lazarchik.ApplicationManager.analytics.DurationReport;
+import roman.lazarchik.ApplicationManager.analytics.DurationWindow;
+import roman.lazarchik.ApplicationManager.changes.ChangeCursor;
+import roman.lazarchik.ApplicationManager.changes.ChangePage;
 import roman.lazarchik.ApplicationManager.dto.ApplicationDTO;
+import roman.lazarchik.ApplicationManager.dto.ApplicationPageResponse;
 import roman.lazarchik.ApplicationManager.dto.DeleteDTO;
 import roman.lazarchik.ApplicationManager.dto.RejectDTO;
 import roman.lazarchik.ApplicationManager.dto.UpdateContentDTO;
 import roman.lazarchik.ApplicationManager.exceptions.*;
+import roman.lazarchik.ApplicationManager.filter.ApplicationFilter;
+import roman.lazarchik.ApplicationManager.filter.ApplicationSortKey;
 import roman.lazarchik.ApplicationManager.mapper.ApplicationMapper;
 import roman.lazarchik.ApplicationManager.models.Application;
 import roman.lazarchik.ApplicationManager.models.ApplicationStatus;
+import roman.lazarchik.ApplicationManager.models.Reason;
+import roman.lazarchik.ApplicationManager.registry.PublishedApplication;
+import roman.lazarchik.ApplicationManager.registry.PublishedRange;
+import roman.lazarchik.ApplicationManager.search.RankedApplication;
+import roman.lazarchik.ApplicationManager.search.SearchHit;
+import roman.lazarchik.ApplicationManager.search.SearchPage;
 import roman.lazarchik.ApplicationManager.services.ApplicationService;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.OptionalLong;
+import java.util.Set;
 
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 
@@ -508,17 +533,10 @@ class ApplicationControllerTest {
 
         Page<Application> applications = new PageImpl<>(Collections.singletonList(application));
 
-        Page<ApplicationDTO> dtoPage = applications.map(mapper::toDto);
-
-        Map<String, Object> response = Map.of(
-                "applications", dtoPage.getContent(),
-                "currentPage", dtoPage.getNumber(),
-                "totalItems", dtoPage.getTotalElements(),
-                "totalPages", dtoPage.getTotalPages()
-        );
+        ApplicationPageResponse response = ApplicationPageResponse.of(applications);
 
         when(applicationService.getApplicationsByNameAndStatus(anyString(), any(), anyInt(), anyInt())).thenReturn(applications);
-        when(applicationService.getPaginatedApplicationsResponse(dtoPage)).thenReturn(response);
+        when(applicationService.getPaginatedApplicationsResponse(applications)).thenReturn(response);
 
         mockMvc.perform(get("/applications")
                         .param("name", "Name")
@@ -528,12 +546,15 @@ class ApplicationControllerTest {
                 .andDo(print())
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.applications", hasSize(1)))
+                .andExpect(jsonPath("$.applications[0].id", is(1)))
+                .andExpect(jsonPath("$.applications[0].name", is("Name")))
+                .andExpect(jsonPath("$.applications[0].status", is("CREATED")))
                 .andExpect(jsonPath("$.currentPage", is(0)))
                 .andExpect(jsonPath("$.totalItems", is(1)))
                 .andExpect(jsonPath("$.totalPages", is(1)));
 
         verify(applicationService, times(1)).getApplicationsByNameAndStatus(anyString(), any(), anyInt(), anyInt());
-        verify(applicationService, times(1)).getPaginatedApplicationsResponse(dtoPage);
+        verify(applicationService, times(1)).getPaginatedApplicationsResponse(applications);
     }
 
     @Test
@@ -586,17 +607,10 @@ class ApplicationControllerTest {
 
         Page<Application> applications = new PageImpl<>(Collections.singletonList(application));
 
-        Page<ApplicationDTO> dtoPage = applications.map(mapper::toDto);
-
-        Map<String, Object> response = Map.of(
-                "applications", dtoPage.getContent(),
-                "currentPage", dtoPage.getNumber(),
-                "totalItems", dtoPage.getTotalElements(),
-                "totalPages", dtoPage.getTotalPages()
-        );
+        ApplicationPageResponse response = ApplicationPageResponse.of(applications);
 
         when(applicationService.getApplicationsByName(anyString(), anyInt(), anyInt())).thenReturn(applications);
-        when(applicationService.getPaginatedApplicationsResponse(dtoPage)).thenReturn(response);
+        when(applicationService.getPaginatedApplicationsResponse(applications)).thenReturn(response);
 
         mockMvc.perform(get("/applications")
                         .param("name", "Name")
@@ -610,7 +624,7 @@ class ApplicationControllerTest {
                 .andExpect(jsonPath("$.totalPages", is(1)));
 
         verify(applicationService, times(1)).getApplicationsByName(anyString(), anyInt(), anyInt());
-        verify(applicationService, times(1)).getPaginatedApplicationsResponse(dtoPage);
+        verify(applicationService, times(1)).getPaginatedApplicationsResponse(applications);
     }
 
     @Test
@@ -625,17 +639,10 @@ class ApplicationControllerTest {
 
         Page<Application> applications = new PageImpl<>(Collections.singletonList(application));
 
-        Page<ApplicationDTO> dtoPage = applications.map(mapper::toDto);
-
-        Map<String, Object> response = Map.of(
-                "applications", dtoPage.getContent(),
-                "currentPage", dtoPage.getNumber(),
-                "totalItems", dtoPage.getTotalElements(),
-                "totalPages", dtoPage.getTotalPages()
-        );
+        ApplicationPageResponse response = ApplicationPageResponse.of(applications);
 
         when(applicationService.getApplicationsByStatus(any(), anyInt(), anyInt())).thenReturn(applications);
-        when(applicationService.getPaginatedApplicationsResponse(dtoPage)).thenReturn(response);
+        when(applicationService.getPaginatedApplicationsResponse(applications)).thenReturn(response);
 
         mockMvc.perform(get("/applications")
                         .param("status", "CREATED")
@@ -649,7 +656,7 @@ class ApplicationControllerTest {
                 .andExpect(jsonPath("$.totalPages", is(1)));
 
         verify(applicationService, times(1)).getApplicationsByStatus(any(), anyInt(), anyInt());
-        verify(applicationService, times(1)).getPaginatedApplicationsResponse(dtoPage);
+        verify(applicationService, times(1)).getPaginatedApplicationsResponse(applications);
     }
 
     @Test
@@ -664,17 +671,10 @@ class ApplicationControllerTest {
 
         Page<Application> applications = new PageImpl<>(Collections.singletonList(application));
 
-        Page<ApplicationDTO> dtoPage = applications.map(mapper::toDto);
-
-        Map<String, Object> response = Map.of(
-                "applications", dtoPage.getContent(),
-                "currentPage", dtoPage.getNumber(),
-                "totalItems", dtoPage.getTotalElements(),
-                "totalPages", dtoPage.getTotalPages()
-        );
+        ApplicationPageResponse response = ApplicationPageResponse.of(applications);
 
         when(applicationService.getAllApplications(anyInt(), anyInt())).thenReturn(applications);
-        when(applicationService.getPaginatedApplicationsResponse(dtoPage)).thenReturn(response);
+        when(applicationService.getPaginatedApplicationsResponse(applications)).thenReturn(response);
 
         mockMvc.perform(get("/applications"))
                 .andExpect(status().isOk())
@@ -685,7 +685,7 @@ class ApplicationControllerTest {
 
 
         verify(applicationService, times(1)).getAllApplications(anyInt(), anyInt());
-        verify(applicationService, times(1)).getPaginatedApplicationsResponse(dtoPage);
+        verify(applicationService, times(1)).getPaginatedApplicationsResponse(applications);
     }
 
     @Test
@@ -694,17 +694,10 @@ class ApplicationControllerTest {
 
         Page<Application> applicationsPage = new PageImpl<>(applicationsList, PageRequest.of(0, 2), applicationsList.size());
 
-        Page<ApplicationDTO> dtoPage = applicationsPage.map(mapper::toDto);
-
-        Map<String, Object> response = Map.of(
-                "applications", dtoPage.getContent(),
-                "currentPage", dtoPage.getNumber(),
-                "totalItems", dtoPage.getTotalElements(),
-                "totalPages", dtoPage.getTotalPages()
-        );
+        ApplicationPageResponse response = ApplicationPageResponse.of(applicationsPage);
 
         when(applicationService.getApplicationsByNameAndStatus(anyString(), any(), anyInt(), anyInt())).thenReturn(applicationsPage);
-        when(applicationService.getPaginatedApplicationsResponse(dtoPage)).thenReturn(response);
+        when(applicationService.getPaginatedApplicationsResponse(applicationsPage)).thenReturn(response);
 
         mockMvc.perform(get("/applications")
                         .param("status", "CREATED")
@@ -718,6 +711,388 @@ class ApplicationControllerTest {
                 .andExpect(jsonPath("$.totalPages", is(1)));
 
         verify(applicationService, times(1)).getApplicationsByNameAndStatus(anyString(), any(), anyInt(), anyInt());
-        verify(applicationService, times(1)).getPaginatedApplicationsResponse(dtoPage);
+        verify(applicationService, times(1)).getPaginatedApplicationsResponse(applicationsPage);
+    }
+
+    @Test
+    void getApplicationsWithoutTotal() throws Exception {
+        Application application = new Application();
+        application.setId(1L);
+        application.setName("Name");
+        application.setStatus(ApplicationStatus.CREATED);
+
+        Slice<Application> applications = new SliceImpl<>(Collections.singletonList(application), PageRequest.of(0, 1), true);
+
+        when(applicationService.getApplicationsSlice(isNull(), eq(ApplicationStatus.CREATED), eq(0), eq(1))).thenReturn(applications);
+        when(applicationService.getPaginatedApplicationsResponse(applications)).thenReturn(ApplicationPageResponse.of(applications));
+
+        mockMvc.perform(get("/applications")
+                        .param("status", "CREATED")
+                        .param("size", "1")
+                        .param("total", "none"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.applications", hasSize(1)))
+                .andExpect(jsonPath("$.hasNext", is(true)))
+                .andExpect(jsonPath("$.totalItems").doesNotExist())
+                .andExpect(jsonPath("$.totalPages").doesNotExist());
+
+        verify(applicationService, never()).getApplicationsByStatus(any(), anyInt(), anyInt());
+    }
+
+    @Test
+    void getApplicationsWithApproximateTotal() throws Exception {
+        Application application = new Application();
+        application.setId(1L);
+        application.setName("Name");
+        application.setStatus(ApplicationStatus.CREATED);
+
+        Slice<Application> applications = new SliceImpl<>(Collections.singletonList(application), PageRequest.of(0, 1), true);
+
+        when(applicationService.estimateApplicationsCount(isNull(), eq(ApplicationStatus.CREATED))).thenReturn(OptionalLong.of(120));
+        when(applicationService.getApplicationsSlice(isNull(), eq(ApplicationStatus.CREATED), eq(0), eq(1))).thenReturn(applications);
+        when(applicationService.getPaginatedApplicationsResponse(applications, 120L))
+                .thenReturn(ApplicationPageResponse.approximate(applications, 120L));
+
+        mockMvc.perform(get("/applications")
+                        .param("status", "CREATED")
+                        .param("size", "1")
+                        .param("total", "approx"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalItems", is(120)))
+                .andExpect(jsonPath("$.totalPages", is(120)))
+                .andExpect(jsonPath("$.totalApproximate", is(true)));
+
+        verify(applicationService, never()).getApplicationsByStatus(any(), anyInt(), anyInt());
+    }
+
+    @Test
+    void getApplicationsWithApproximateTotalFallsBackToExactCount() throws Exception {
+        Page<Application> applications = new PageImpl<>(Collections.singletonList(new Application()));
+
+        when(applicationService.estimateApplicationsCount(any(), any())).thenReturn(OptionalLong.empty());
+        when(applicationService.getAllApplications(anyInt(), anyInt())).thenReturn(applications);
+        when(applicationService.getPaginatedApplicationsResponse(applications)).thenReturn(ApplicationPageResponse.of(applications));
+
+        mockMvc.perform(get("/applications").param("total", "approx"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalItems", is(1)))
+                .andExpect(jsonPath("$.totalApproximate").doesNotExist());
+
+        verify(applicationService, never()).getApplicationsSlice(any(), any(), anyInt(), anyInt());
+    }
+
+    @Test
+    void getApplicationsWithInvalidTotal() throws Exception {
+        mockMvc.perform(get("/applications").param("total", "some"))
+                .andExpect(status().isBadRequest())
+                .andExpect(result -> assertTrue(result.getResolvedException() instanceof InvalidInputException));
+    }
+
+    @Test
+    void getApplicationsWithInvalidTotalAndFacets() throws Exception {
+        mockMvc.perform(get("/applications").param("facets", "status").param("total", "some"))
+                .andExpect(status().isBadRequest())
+                .andExpect(result -> assertTrue(result.getResolvedException() instanceof InvalidInputException));
+        mockMvc.perform(get("/applications").param("facets", "status").param("total", "none"))
+                .andExpect(status().isBadRequest())
+                .andExpect(result -> assertTrue(result.getResolvedException() instanceof InvalidInputException));
+
+        verify(applicationService, never()).countApplicationsByStatus(any());
+    }
+
+    @Test
+    void getApplicationsWithTotalAndFilterParameters() throws Exception {
+        mockMvc.perform(get("/applications").param("namePrefix", "App").param("total", "some"))
+                .andExpect(status().isBadRequest())
+                .andExpect(result -> assertTrue(result.getResolvedException() instanceof InvalidInputException));
+        mockMvc.perform(get("/applications").param("namePrefix", "App").param("total", "exact"))
+                .andExpect(status().isBadRequest())
+                .andExpect(result -> assertTrue(result.getResolvedException() instanceof InvalidInputException));
+
+        verify(applicationService, never()).filterApplications(any(), anyInt(), anyInt());
+    }
+
+    @Test
+    void getApplication_Success() throws Exception {
+        Application app = new Application();
+        app.setId(1L);
+        app.setName("Name");
+
+        ApplicationDTO dto = new ApplicationDTO();
+        dto.setId(1L);
+        dto.setName("Name");
+
+        when(applicationService.getApplication(1L)).thenReturn(app);
+        when(mapper.toDto(app)).thenReturn(dto);
+
+        mockMvc.perform(get("/applications/1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(1))
+                .andExpect(jsonPath("$.name").value("Name"));
+    }
+
+    @Test
+    void getApplication_NotFound() throws Exception {
+        when(applicationService.getApplication(1L)).thenThrow(new ApplicationNotFoundException("Application not found with ID: 1"));
+
+        mockMvc.perform(get("/applications/1"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.message", is("Application not found with ID: 1")));
+    }
+
+    @Test
+    void claimApplications_Success() throws Exception {
+        Application app = new Application();
+        app.setId(1L);
+        app.setClaimedBy("alice");
+        app.setClaimExpiresAt(LocalDateTime.of(2030, 1, 1, 12, 0));
+
+        ApplicationDTO dto = new ApplicationDTO();
+        dto.setId(1L);
+
+        when(applicationService.claimApplications("alice", ApplicationStatus.CREATED, 5)).thenReturn(List.of(app));
+        when(mapper.toDto(app)).thenReturn(dto);
+
+        mockMvc.perform(post("/applications/claim")
+                        .header(ApplicationController.REVIEWER_HEADER, "alice")
+                        .param("status", "CREATED")
+                        .param("limit", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.reviewer", is("alice")))
+                .andExpect(jsonPath("$.leaseExpiresAt", is("2030-01-01T12:00:00")))
+                .andExpect(jsonPath("$.applications", hasSize(1)))
+                .andExpect(jsonPath("$.applications[0].id").value(1));
+    }
+
+    @Test
+    void claimApplications_MissingReviewer() throws Exception {
+        mockMvc.perform(post("/applications/claim").param("status", "CREATED"))
+                .andExpect(status().isBadRequest());
+
+        verify(applicationService, never()).claimApplications(any(), any(), anyInt());
+    }
+
+    @Test
+    void searchApplications_Success() throws Exception {
+        Application app = new Application();
+        app.setId(7L);
+        SearchHit hit = new SearchHit(7L, 0.5);
+
+        ApplicationDTO dto = new ApplicationDTO();
+        dto.setId(7L);
+
+        when(applicationService.searchApplications("solar grant", null, 1))
+                .thenReturn(new SearchPage(List.of(new RankedApplication(app, hit)), true));
+        when(mapper.toDto(app)).thenReturn(dto);
+
+        mockMvc.perform(get("/applications/search").param("q", "solar grant").param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.applications", hasSize(1)))
+                .andExpect(jsonPath("$.applications[0].id").value(7))
+                .andExpect(jsonPath("$.nextCursor", is(hit.toCursor())));
+    }
+
+    @Test
+    void getTransitionDurations_Success() throws Exception {
+        LocalDateTime since = LocalDateTime.of(2024, 3, 1, 0, 0);
+        LocalDateTime until = since.plusDays(2);
+        DurationHistogram histogram = new DurationHistogram();
+        histogram.add(DurationHistogram.bucketOf(Duration.ofHours(2)), 9);
+        histogram.add(DurationHistogram.bucketOf(Duration.ofDays(3)), 1);
+        DurationReport report = new DurationReport(ApplicationStatus.CREATED, ApplicationStatus.PUBLISHED, List.of(
+                new DurationWindow(since, since.plusDays(1), histogram),
+                new DurationWindow(since.plusDays(1), until, new DurationHistogram())));
+
+        when(applicationService.getTransitionDurations(ApplicationStatus.CREATED, ApplicationStatus.PUBLISHED, since, until, Duration.ofDays(1)))
+                .thenReturn(report);
+
+        mockMvc.perform(get("/applications/analytics/durations")
+                        .param("since", "2024-03-01T00:00:00")
+                        .param("until", "2024-03-03T00:00:00"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.from", is("CREATED")))
+                .andExpect(jsonPath("$.to", is("PUBLISHED")))
+                .andExpect(jsonPath("$.windows", hasSize(2)))
+                .andExpect(jsonPath("$.windows[0].count", is(10)))
+                .andExpect(jsonPath("$.windows[0].p50Millis").value(histogram.percentile(0.5).toMillis()))
+                .andExpect(jsonPath("$.windows[0].p95Millis").value(histogram.percentile(0.95).toMillis()))
+                .andExpect(jsonPath("$.windows[1].count", is(0)))
+                .andExpect(jsonPath("$.windows[1].p50Millis").doesNotExist());
+    }
+
+    @Test
+    void getChanges_Success() throws Exception {
+        Application app = new Application();
+        app.setId(7L);
+        ApplicationDTO dto = new ApplicationDTO();
+        dto.setId(7L);
+        ChangeCursor next = ChangeCursor.START.advance(0, 12);
+
+        when(applicationService.getChanges(null, 100)).thenReturn(new ChangePage(List.of(app), next, true));
+        when(mapper.toDto(app)).thenReturn(dto);
+
+        mockMvc.perform(get("/applications/changes"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.applications", hasSize(1)))
+                .andExpect(jsonPath("$.applications[0].id").value(7))
+                .andExpect(jsonPath("$.nextCursor", is(next.encode())))
+                .andExpect(jsonPath("$.hasMore", is(true)));
+    }
+
+    @Test
+    void getChanges_InvalidCursor() throws Exception {
+        when(applicationService.getChanges("broken", 10))
+                .thenThrow(new InvalidInputException("Invalid change cursor: broken"));
+
+        mockMvc.perform(get("/applications/changes").param("since", "broken").param("limit", "10"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void searchApplications_InvalidQuery() throws Exception {
+        when(applicationService.searchApplications("...", null, 10))
+                .thenThrow(new InvalidInputException("Search query must contain at least one word"));
+
+        mockMvc.perform(get("/applications/search").param("q", "..."))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void getApplicationsWithStatusFacets() throws Exception {
+        Application application = new Application();
+        application.setId(1L);
+        application.setName("Name");
+        application.setStatus(ApplicationStatus.CREATED);
+
+        Slice<Application> applications = new SliceImpl<>(Collections.singletonList(application), PageRequest.of(0, 1), true);
+        Map<ApplicationStatus, Long> counts = new EnumMap<>(ApplicationStatus.class);
+        counts.put(ApplicationStatus.CREATED, 3L);
+        counts.put(ApplicationStatus.PUBLISHED, 1L);
+
+        when(applicationService.countApplicationsByStatus("Name")).thenReturn(counts);
+        when(applicationService.getApplicationsSlice("Name", null, 0, 1)).thenReturn(applications);
+        when(applicationService.getPaginatedApplicationsResponse(applications, counts, null))
+                .thenReturn(ApplicationPageResponse.faceted(applications, counts, null));
+
+        mockMvc.perform(get("/applications")
+                        .param("name", "Name")
+                        .param("size", "1")
+                        .param("facets", "status"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.applications", hasSize(1)))
+                .andExpect(jsonPath("$.totalItems", is(4)))
+                .andExpect(jsonPath("$.statusCounts.CREATED", is(3)))
+                .andExpect(jsonPath("$.statusCounts.PUBLISHED", is(1)));
+
+        verify(applicationService, never()).getApplicationsByName(any(), anyInt(), anyInt());
+    }
+
+    @Test
+    void getApplicationsWithUnknownFacet() throws Exception {
+        mockMvc.perform(get("/applications").param("facets", "name"))
+                .andExpect(status().isBadRequest());
+
+        verify(applicationService, never()).countApplicationsByStatus(any());
+    }
+
+    @Test
+    void getApplicationsWithFilterParameters() throws Exception {
+        Application application = new Application();
+        application.setId(2L);
+        application.setName("Grant");
+        application.setStatus(ApplicationStatus.VERIFIED);
+
+        Slice<Application> applications = new SliceImpl<>(Collections.singletonList(application), PageRequest.of(0, 5), true);
+        ApplicationFilter expected = ApplicationFilter.builder()
+                .statuses(Set.of(ApplicationStatus.CREATED, ApplicationStatus.VERIFIED))
+                .namePrefix("Gr")
+                .createdFrom(LocalDateTime.of(2024, 1, 1, 0, 0))
+                .sort(ApplicationSortKey.CREATED_AT)
+                .direction(Sort.Direction.DESC)
+                .build();
+
+        when(applicationService.filterApplications(expected, 0, 5)).thenReturn(applications);
+        when(applicationService.getPaginatedApplicationsResponse(applications)).thenReturn(ApplicationPageResponse.of(applications));
+
+        mockMvc.perform(get("/applications")
+                        .param("status", "CREATED", "VERIFIED")
+                        .param("namePrefix", "Gr")
+                        .param("createdFrom", "2024-01-01T00:00:00")
+                        .param("sort", "createdAt")
+                        .param("direction", "desc")
+                        .param("size", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.applications", hasSize(1)))
+                .andExpect(jsonPath("$.hasNext", is(true)));
+
+        verify(applicationService, never()).getAllApplications(anyInt(), anyInt());
+    }
+
+    @Test
+    void getApplicationsWithUnknownSort() throws Exception {
+        mockMvc.perform(get("/applications").param("sort", "content"))
+                .andExpect(status().isBadRequest());
+
+        verify(applicationService, never()).filterApplications(any(), anyInt(), anyInt());
+    }
+
+    @Test
+    void getPublishedApplicationIsCacheableForever() throws Exception {
+        PublishedApplication published = new PublishedApplication(5L, 3, "Name", "Content");
+        when(applicationService.getPublishedApplication(3)).thenReturn(published);
+
+        mockMvc.perform(get("/applications/published/3"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Cache-Control", "max-age=31536000, public, immutable"))
+                .andExpect(header().string("ETag", published.etag()))
+                .andExpect(jsonPath("$.id", is(5)))
+                .andExpect(jsonPath("$.publishedNumber", is(3)));
+
+        mockMvc.perform(get("/applications/published/3").header("If-None-Match", published.etag()))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void getPublishedApplication_NotFound() throws Exception {
+        when(applicationService.getPublishedApplication(4))
+                .thenThrow(new ApplicationNotFoundException("Published application not found with number: 4"));
+
+        mockMvc.perform(get("/applications/published/4"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void getPublishedApplicationsRange() throws Exception {
+        PublishedRange partial = new PublishedRange(1, 3, List.of(new PublishedApplication(5L, 1, "Name", "Content")));
+        PublishedRange complete = new PublishedRange(1, 1, partial.applications());
+        when(applicationService.getPublishedApplications(1, 3)).thenReturn(partial);
+        when(applicationService.getPublishedApplications(1, 1)).thenReturn(complete);
+
+        mockMvc.perform(get("/applications/published").param("from", "1").param("size", "3"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Cache-Control", "max-age=60, public"))
+                .andExpect(header().string("ETag", partial.etag()))
+                .andExpect(jsonPath("$", hasSize(1)));
+
+        mockMvc.perform(get("/applications/published").param("from", "1").param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Cache-Control", "max-age=31536000, public, immutable"));
+    }
+
+    @Test
+    void getReasonFrequenciesSortedByCount() throws Exception {
+        Map<Reason, Long> counts = new LinkedHashMap<>();
+        counts.put(new Reason("00000000000000aa", "Out of scope"), 1L);
+        counts.put(new Reason("00000000000000bb", "Incomplete documents"), 5L);
+
+        when(applicationService.countApplicationsByReason(ApplicationStatus.DELETED)).thenReturn(counts);
+
+        mockMvc.perform(get("/applications/reasons").param("status", "DELETED"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].code", is("00000000000000bb")))
+                .andExpect(jsonPath("$[0].text", is("Incomplete documents")))
+                .andExpect(jsonPath("$[0].count", is(5)))
+                .andExpect(jsonPath("$[1].text", is("Out of scope")));
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,162 @@
+package roman.lazarchik.ApplicationManager.datasource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReplicaRoutingDataSourceTest {
+
+    private ReplicaRoutingDataSource routingDataSource;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate readWrite;
+    private TransactionTemplate readOnly;
+
+    @BeforeEach
+    void setUp() {
+        DataSource primary = database("primary");
+        DataSource replica1 = database("replica1");
+        DataSource replica2 = database("replica2");
+
+        routingDataSource = new ReplicaRoutingDataSource(primary, List.of(replica1, replica2));
+        DataSource dataSource = new LazyConnectionDataSourceProxy(routingDataSource);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReplicaRoutingContext.clear();
+    }
+
+    @Test
+    void whenTransactionIsReadWriteThenPrimaryIsUsed() {
+
+        assertThat(databaseInReadWrite()).isEqualTo("primary");
+    }
+
+    @Test
+    void whenTransactionIsReadOnlyThenReplicasAreUsedRoundRobin() {
+
+        String first = databaseInReadOnly();
+        String second = databaseInReadOnly();
+
+        assertThat(List.of(first, second)).containsExactlyInAnyOrder("replica1", "replica2");
+    }
+
+    @Test
+    void whenPinnedToPrimaryThenReadOnlyTransactionUsesPrimary() {
+
+        ReplicaRoutingContext.pinToPrimary();
+
+        assertThat(databaseInReadOnly()).isEqualTo("primary");
+    }
+
+    @Test
+    void whenReplicaIsUnhealthyThenItIsSkipped() {
+
+        routingDataSource.markReplicaHealth(0, false);
+
+        assertThat(databaseInReadOnly()).isEqualTo("replica2");
+        assertThat(databaseInReadOnly()).isEqualTo("replica2");
+    }
+
+    @Test
+    void whenAllReplicasAreUnhealthyThenPrimaryIsUsed() {
+
+        routingDataSource.markReplicaHealth(0, false);
+        routingDataSource.markReplicaHealth(1, false);
+
+        assertThat(databaseInReadOnly()).isEqualTo("primary");
+    }
+
+    @Test
+    void whenHealthCheckRunsThenReachableReplicasAreHealthy() {
+
+        routingDataSource.markReplicaHealth(0, false);
+
+        routingDataSource.checkReplicaHealth();
+
+        String first = databaseInReadOnly();
+        String second = databaseInReadOnly();
+        assertThat(List.of(first, second)).containsExactlyInAnyOrder("replica1", "replica2");
+    }
+
+    @Test
+    void whenClientWroteRecentlyThenTrackerReportsWindow() {
+
+        MutableClock clock = new MutableClock();
+        ReadYourWritesTracker tracker = new ReadYourWritesTracker(Duration.ofSeconds(5), clock);
+
+        tracker.recordWrite("client");
+
+        assertThat(tracker.isWithinWindow("client")).isTrue();
+        assertThat(tracker.isWithinWindow("other")).isFalse();
+
+        clock.advance(Duration.ofSeconds(6));
+
+        assertThat(tracker.isWithinWindow("client")).isFalse();
+    }
+
+    private String databaseInReadOnly() {
+        return readOnly.execute(status -> currentDatabase());
+    }
+
+    private String databaseInReadWrite() {
+        return readWrite.execute(status -> currentDatabase());
+    }
+
+    private String currentDatabase() {
+        return jdbcTemplate.queryForObject("SELECT name FROM marker", String.class);
+    }
+
+    private static DataSource database(String name) {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate template = new JdbcTemplate(dataSource);
+        template.execute("CREATE TABLE IF NOT EXISTS marker (name VARCHAR(32))");
+        template.execute("DELETE FROM marker");
+        template.update("INSERT INTO marker (name) VALUES (?)", name);
+        return dataSource;
+    }
+
+    private static class MutableClock extends Clock {
+
+        private Instant now = Instant.parse("2024-01-01T00:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(java.time.ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package roman.lazarchik.ApplicationManager.datasource;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.web.servlet.MockMvc;
+import roman.lazarchik.ApplicationManager.dto.ApplicationDTO;
+import roman.lazarchik.ApplicationManager.models.ContentCodec;
+
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:routing-primary;DB_CLOSE_DELAY=-1",
+        "spring.datasource.username=sa",
+        "application.replica.enabled=true",
+        "application.replica.read-your-writes-window=1m",
+        "application.replica.pools[0].url=jdbc:h2:mem:routing-replica;DB_CLOSE_DELAY=-1",
+        "application.replica.pools[0].username=sa"
+})
+@AutoConfigureMockMvc
+class ReplicaRoutingIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUpReplica() {
+        JdbcTemplate replica = new JdbcTemplate(new DriverManagerDataSource("jdbc:h2:mem:routing-replica;DB_CLOSE_DELAY=-1", "sa", ""));
+        replica.execute("CREATE TABLE IF NOT EXISTS application_content (hash VARCHAR(64) PRIMARY KEY, data BYTEA NOT NULL)");
+        replica.execute("CREATE TABLE IF NOT EXISTS application (id BIGINT PRIMARY KEY, name VARCHAR(255), content_hash VARCHAR(64), "
+                + "status VARCHAR(32), reason VARCHAR(255), reason_code BIGINT, published_number INTEGER, claimed_by VARCHAR(255), claim_expires_at TIMESTAMP, "
+                + "status_changed_at TIMESTAMP, created_at TIMESTAMP, updated_at TIMESTAMP)");
+        replica.execute("DELETE FROM application");
+        replica.execute("DELETE FROM application_content");
+        replica.update("INSERT INTO application_content (hash, data) VALUES (?, ?)", ContentCodec.hash("Content"), ContentCodec.compress("Content"));
+        replica.update("INSERT INTO application (id, name, content_hash, status) VALUES (1000, 'Replica', ?, 'CREATED')", ContentCodec.hash("Content"));
+    }
+
+    @Test
+    void whenClientHasNotWrittenThenListIsServedByReplica() throws Exception {
+
+        mockMvc.perform(get("/applications").header(ReadYourWritesInterceptor.CLIENT_HEADER, "reader"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.applications[*].name", hasItem("Replica")));
+    }
+
+    @Test
+    void whenClientHasJustWrittenThenListIsServedByPrimary() throws Exception {
+
+        mockMvc.perform(post("/applications")
+                        .header(ReadYourWritesInterceptor.CLIENT_HEADER, "writer")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(new ObjectMapper().writeValueAsString(new ApplicationDTO(null, "Primary", "Content", null, null, null))))
+                .andExpect(status().isCreated());
+
+        mockMvc.perform(get("/applications").header(ReadYourWritesInterceptor.CLIENT_HEADER, "writer"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.applications[*].name", hasItem("Primary")))
+                .andExpect(jsonPath("$.applications[*].name", not(hasItem("Replica"))));
+    }
+}
@@ -0,0 +1,324 @@
+package roman.lazarchik.ApplicationManager.datasource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import roman.lazarchik.ApplicationManager.analytics.DurationReport;
+import roman.lazarchik.ApplicationManager.changes.ChangePage;
+import roman.lazarchik.ApplicationManager.exceptions.ApplicationNotFoundException;
+import roman.lazarchik.ApplicationManager.filter.ApplicationFilter;
+import roman.lazarchik.ApplicationManager.filter.ApplicationSortKey;
+import roman.lazarchik.ApplicationManager.models.Application;
+import roman.lazarchik.ApplicationManager.models.ApplicationStatus;
+import roman.lazarchik.ApplicationManager.models.ApplicationTransition;
+import roman.lazarchik.ApplicationManager.repositories.TransitionDurationRollup;
+import roman.lazarchik.ApplicationManager.search.SearchPage;
+import roman.lazarchik.ApplicationManager.services.ApplicationService;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = {
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "application.sharding.enabled=true",
+        "application.sharding.shards[0].url=jdbc:h2:mem:shard-0;DB_CLOSE_DELAY=-1",
+        "application.sharding.shards[0].username=sa",
+        "application.sharding.shards[1].url=jdbc:h2:mem:shard-1;DB_CLOSE_DELAY=-1",
+        "application.sharding.shards[1].username=sa",
+        "application.sharding.shards[2].url=jdbc:h2:mem:shard-2;DB_CLOSE_DELAY=-1",
+        "application.sharding.shards[2].username=sa",
+        "application.changes.settle-window=0s"
+})
+class ShardRoutingIntegrationTest {
+
+    @Autowired
+    private ApplicationService applicationService;
+
+    @Autowired
+    private ShardRoutingDataSource dataSource;
+
+    @Autowired
+    private TransitionDurationRollup durationRollup;
+
+    @BeforeEach
+    void clearShards() {
+        durationRollup.flush();
+        for (int shard = 0; shard < dataSource.getShardCount(); shard++) {
+            JdbcTemplate jdbc = shardJdbc(shard);
+            jdbc.update("DELETE FROM application_history");
+            jdbc.update("DELETE FROM application");
+            jdbc.update("DELETE FROM transition_duration_rollup");
+        }
+    }
+
+    @Test
+    void whenApplicationsAreCreatedThenEachRowLivesOnTheShardOfItsId() {
+
+        List<Application> created = createApplications(12);
+
+        for (Application app : created) {
+            int shard = (int) (app.getId() % dataSource.getShardCount());
+            assertEquals(1, count(shard, "SELECT COUNT(*) FROM application WHERE id = ?", app.getId()));
+            assertEquals(1, count(shard, "SELECT COUNT(*) FROM application_history WHERE application_id = ?", app.getId()));
+        }
+        int total = 0;
+        for (int shard = 0; shard < dataSource.getShardCount(); shard++) {
+            total += count(shard, "SELECT COUNT(*) FROM application");
+        }
+        assertEquals(12, total);
+    }
+
+    @Test
+    void whenApplicationsArePublishedOnDifferentShardsThenPublishedNumbersAreUnique() {
+
+        List<Application> created = createApplications(6);
+
+        Set<Integer> publishedNumbers = new HashSet<>();
+        for (Application app : created) {
+            applicationService.verifyApplication(app.getId());
+            applicationService.acceptApplication(app.getId());
+            publishedNumbers.add(applicationService.publishApplication(app.getId()).getPublishedNumber());
+        }
+
+        assertEquals(6, publishedNumbers.size());
+    }
+
+    @Test
+    void whenListingAcrossShardsThenPagesAreMergedInIdOrder() {
+
+        List<Application> created = createApplications(10);
+        List<Long> expectedIds = created.stream().map(Application::getId).sorted().toList();
+
+        Page<Application> second = applicationService.getAllApplications(1, 4);
+        Slice<Application> last = applicationService.getApplicationsSlice("Sharded", null, 2, 4);
+
+        assertEquals(expectedIds.subList(4, 8), second.getContent().stream().map(Application::getId).toList());
+        assertEquals(10, second.getTotalElements());
+        assertEquals(expectedIds.subList(8, 10), last.getContent().stream().map(Application::getId).toList());
+        assertFalse(last.hasNext());
+    }
+
+    @Test
+    void whenFilteringAcrossShardsThenOnlyMatchingRowsAreMerged() {
+
+        List<Application> created = createApplications(9);
+        applicationService.verifyApplication(created.get(0).getId());
+        applicationService.verifyApplication(created.get(4).getId());
+
+        Page<Application> verified = applicationService.getApplicationsByStatus(ApplicationStatus.VERIFIED, 0, 10);
+
+        assertEquals(2, verified.getTotalElements());
+        assertTrue(verified.getContent().stream().allMatch(app -> app.getStatus() == ApplicationStatus.VERIFIED));
+    }
+
+    @Test
+    void whenNoShardHasMatchesThenNotFoundIsThrown() {
+
+        createApplications(3);
+
+        assertThrows(ApplicationNotFoundException.class, () -> applicationService.getApplicationsByName("Missing", 0, 10));
+    }
+
+    @Test
+    void whenTransitioningApplicationsOnSeveralShardsThenEachShardIsUpdated() {
+
+        List<Long> ids = createApplications(6).stream().map(Application::getId).toList();
+
+        List<Application> verified = applicationService.transitionApplications(ids, ApplicationTransition.VERIFY);
+
+        assertEquals(6, verified.size());
+        assertEquals(6, applicationService.getApplicationsByStatus(ApplicationStatus.VERIFIED, 0, 10).getTotalElements());
+    }
+
+    @Test
+    void whenSearchingAcrossShardsThenHitsAreMergedByRankAndPagedWithACursor() {
+
+        List<Long> ids = new ArrayList<>();
+        for (int i = 1; i <= 5; i++) {
+            Application app = new Application();
+            app.setName("Searchable " + i);
+            app.setContent("shardword ".repeat(i) + "filler " + i);
+            ids.add(applicationService.createApplication(app).getId());
+        }
+
+        SearchPage first = applicationService.searchApplications("shardword", null, 3);
+        SearchPage second = applicationService.searchApplications("shardword", first.nextCursor(), 3);
+
+        assertEquals(List.of(ids.get(4), ids.get(3), ids.get(2)),
+                first.results().stream().map(result -> result.application().getId()).toList());
+        assertEquals(List.of(ids.get(1), ids.get(0)),
+                second.results().stream().map(result -> result.application().getId()).toList());
+        assertFalse(second.hasNext());
+    }
+
+    @Test
+    void whenCountingByStatusAcrossShardsThenCountsAreSummed() {
+
+        List<Long> ids = createApplications(7).stream().map(Application::getId).toList();
+        applicationService.transitionApplications(ids.subList(0, 3), ApplicationTransition.VERIFY);
+
+        Map<ApplicationStatus, Long> counts = applicationService.countApplicationsByStatus("Sharded");
+
+        assertEquals(4L, counts.get(ApplicationStatus.CREATED));
+        assertEquals(3L, counts.get(ApplicationStatus.VERIFIED));
+        assertEquals(0L, counts.get(ApplicationStatus.PUBLISHED));
+    }
+
+    @Test
+    void whenFilteringAcrossShardsThenPagesFollowTheRequestedSort() {
+
+        createApplications(9);
+        ApplicationFilter filter = ApplicationFilter.builder()
+                .namePrefix("Sharded")
+                .direction(Sort.Direction.DESC)
+                .build();
+
+        Slice<Application> first = applicationService.filterApplications(filter, 0, 4);
+        Slice<Application> last = applicationService.filterApplications(filter, 2, 4);
+
+        assertEquals(List.of("Sharded 8", "Sharded 7", "Sharded 6", "Sharded 5"), first.map(Application::getName).getContent());
+        assertTrue(first.hasNext());
+        assertEquals(List.of("Sharded 0"), last.map(Application::getName).getContent());
+        assertFalse(last.hasNext());
+    }
+
+    @Test
+    void whenWalkingFilteredPagesAcrossShardsThenEveryRowIsReturnedOnceInSortOrder() {
+
+        List<Application> created = createApplications(11);
+        List<String> expected = created.stream().map(Application::getName).sorted(Comparator.reverseOrder()).toList();
+        ApplicationFilter filter = ApplicationFilter.builder()
+                .namePrefix("Sharded")
+                .sort(ApplicationSortKey.NAME)
+                .direction(Sort.Direction.DESC)
+                .build();
+
+        List<String> walked = new ArrayList<>();
+        Slice<Application> slice;
+        int page = 0;
+        do {
+            slice = applicationService.filterApplications(filter, page++, 3);
+            walked.addAll(slice.map(Application::getName).getContent());
+        } while (slice.hasNext());
+
+        assertEquals(expected, walked);
+        assertEquals(4, page);
+    }
+
+    @Test
+    void whenRequestingADeepPageWithoutThePreviousOneThenItMatchesTheSequentialPage() {
+
+        List<Application> created = createApplications(11);
+        List<Long> expectedIds = created.stream().map(Application::getId).sorted().toList();
+
+        Page<Application> third = applicationService.getAllApplications(2, 4);
+        Page<Application> next = applicationService.getAllApplications(1, 4);
+        Page<Application> sequential = applicationService.getAllApplications(2, 4);
+
+        assertEquals(expectedIds.subList(8, 11), third.getContent().stream().map(Application::getId).toList());
+        assertEquals(expectedIds.subList(4, 8), next.getContent().stream().map(Application::getId).toList());
+        assertEquals(third.getContent().stream().map(Application::getId).toList(),
+                sequential.getContent().stream().map(Application::getId).toList());
+        assertEquals(11, sequential.getTotalElements());
+    }
+
+    @Test
+    void whenApplicationsArePublishedOnDifferentShardsThenTheRegistryServesAllOfThem() {
+
+        List<Long> ids = createApplications(4).stream().map(Application::getId).toList();
+        applicationService.transitionApplications(ids, ApplicationTransition.VERIFY);
+        applicationService.transitionApplications(ids, ApplicationTransition.ACCEPT);
+        List<Integer> numbers = applicationService.transitionApplications(ids, ApplicationTransition.PUBLISH).stream()
+                .map(Application::getPublishedNumber).sorted().toList();
+
+        for (int i = 0; i < ids.size(); i++) {
+            assertEquals(ApplicationStatus.PUBLISHED, applicationService.getApplication(ids.get(i)).getStatus());
+        }
+        for (Integer number : numbers) {
+            assertEquals(number, applicationService.getPublishedApplication(number).publishedNumber());
+        }
+        assertTrue(applicationService.getPublishedApplications(numbers.get(0), numbers.size()).isComplete());
+    }
+
+    @Test
+    void whenReadingChangesAcrossShardsThenTheCursorResumesEveryShardWithoutGapsOrRepeats() {
+
+        Set<Long> ids = new HashSet<>(createApplications(7).stream().map(Application::getId).toList());
+
+        Set<Long> seen = new HashSet<>();
+        String cursor = null;
+        ChangePage page;
+        do {
+            page = applicationService.getChanges(cursor, 3);
+            assertTrue(page.applications().size() <= 3);
+            page.applications().forEach(app -> assertTrue(seen.add(app.getId())));
+            cursor = page.nextCursor();
+        } while (page.hasMore());
+        assertEquals(ids, seen);
+
+        Long verified = ids.iterator().next();
+        applicationService.verifyApplication(verified);
+        ChangePage changes = applicationService.getChanges(cursor, 10);
+
+        assertEquals(List.of(verified), changes.applications().stream().map(Application::getId).toList());
+        assertEquals(ApplicationStatus.VERIFIED, changes.applications().get(0).getStatus());
+        assertTrue(applicationService.getChanges(changes.nextCursor(), 10).applications().isEmpty());
+    }
+
+    @Test
+    void whenReadingTransitionDurationsAcrossShardsThenHistogramsAreMerged() {
+
+        List<Long> ids = createApplications(6).stream().map(Application::getId).toList();
+        applicationService.transitionApplications(ids, ApplicationTransition.VERIFY);
+        durationRollup.flush();
+
+        for (int shard = 0; shard < dataSource.getShardCount(); shard++) {
+            int owner = shard;
+            assertEquals(ids.stream().filter(id -> id % dataSource.getShardCount() == owner).count(),
+                    shardJdbc(shard).queryForObject("SELECT COALESCE(SUM(samples), 0) FROM transition_duration_rollup "
+                            + "WHERE from_status = 'CREATED' AND to_status = 'VERIFIED'", Long.class));
+        }
+        LocalDateTime until = LocalDateTime.now().truncatedTo(ChronoUnit.HOURS).plusHours(1);
+        DurationReport report = applicationService.getTransitionDurations(ApplicationStatus.CREATED, ApplicationStatus.VERIFIED,
+                until.minusDays(1), until, Duration.ofDays(1));
+
+        assertEquals(1, report.windows().size());
+        assertEquals(6, report.windows().get(0).histogram().getCount());
+    }
+
+    private List<Application> createApplications(int count) {
+        List<Application> created = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Application app = new Application();
+            app.setName("Sharded " + i);
+            app.setContent("Content " + i);
+            created.add(applicationService.createApplication(app));
+        }
+        return created;
+    }
+
+    private int count(int shard, String sql, Object... args) {
+        return shardJdbc(shard).queryForObject(sql, Integer.class, args);
+    }
+
+    private JdbcTemplate shardJdbc(int shard) {
+        return new JdbcTemplate(dataSource.getShard(shard));
+    }
+}
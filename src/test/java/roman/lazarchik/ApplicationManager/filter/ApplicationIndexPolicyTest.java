@@ -0,0 +1,93 @@
+package roman.lazarchik.ApplicationManager.filter;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+import roman.lazarchik.ApplicationManager.exceptions.InvalidInputException;
+import roman.lazarchik.ApplicationManager.models.ApplicationStatus;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ApplicationIndexPolicyTest {
+
+    @Test
+    void whenNoFilterThenPrimaryKeyOrderIsUsed() {
+
+        ApplicationFilter filter = ApplicationFilter.builder().build();
+
+        assertEquals(ApplicationIndex.PRIMARY_KEY, ApplicationIndexPolicy.indexFor(filter));
+        assertEquals(Sort.by(Sort.Direction.ASC, "id"), filter.toSort());
+    }
+
+    @Test
+    void whenSingleStatusSortedByIdThenStatusIndexIsUsed() {
+
+        ApplicationFilter filter = ApplicationFilter.builder().statuses(Set.of(ApplicationStatus.ACCEPTED)).build();
+
+        assertEquals(ApplicationIndex.STATUS_ID, ApplicationIndexPolicy.indexFor(filter));
+    }
+
+    @Test
+    void whenRangeWithoutSortThenSortDefaultsToTheRangeKeyWithIdTieBreak() {
+
+        ApplicationFilter filter = ApplicationFilter.builder()
+                .createdFrom(LocalDateTime.of(2024, 1, 1, 0, 0))
+                .direction(Sort.Direction.DESC)
+                .build();
+
+        assertEquals(ApplicationIndex.CREATED_AT_ID, ApplicationIndexPolicy.indexFor(filter));
+        assertEquals(Sort.by(Sort.Direction.DESC, "createdAt", "id"), filter.toSort());
+    }
+
+    @Test
+    void whenNamePrefixSortedByNameThenNameIndexIsUsed() {
+
+        ApplicationFilter filter = ApplicationFilter.builder()
+                .namePrefix("Grant")
+                .nameContains("2024")
+                .statuses(Set.of(ApplicationStatus.CREATED, ApplicationStatus.VERIFIED))
+                .sort(ApplicationSortKey.NAME)
+                .build();
+
+        assertEquals(ApplicationIndex.NAME_ID, ApplicationIndexPolicy.indexFor(filter));
+    }
+
+    @Test
+    void whenRangeOnAnotherKeyThanSortThenQueryIsRejected() {
+
+        ApplicationFilter filter = ApplicationFilter.builder()
+                .publishedNumberFrom(10)
+                .sort(ApplicationSortKey.UPDATED_AT)
+                .build();
+
+        assertThrows(InvalidInputException.class, () -> ApplicationIndexPolicy.indexFor(filter));
+    }
+
+    @Test
+    void whenTwoRangesThenQueryIsRejected() {
+
+        ApplicationFilter filter = ApplicationFilter.builder()
+                .createdFrom(LocalDateTime.of(2024, 1, 1, 0, 0))
+                .updatedTo(LocalDateTime.of(2024, 2, 1, 0, 0))
+                .build();
+
+        assertThrows(InvalidInputException.class, () -> ApplicationIndexPolicy.indexFor(filter));
+    }
+
+    @Test
+    void whenRangeIsInvertedThenQueryIsRejected() {
+
+        ApplicationFilter filter = ApplicationFilter.builder().publishedNumberFrom(5).publishedNumberTo(4).build();
+
+        assertThrows(InvalidInputException.class, () -> ApplicationIndexPolicy.indexFor(filter));
+    }
+
+    @Test
+    void whenUnknownSortParameterThenItIsRejected() {
+
+        assertThrows(InvalidInputException.class, () -> ApplicationSortKey.fromParameter("content"));
+    }
+}
@@ -0,0 +1,82 @@
+package roman.lazarchik.ApplicationManager.limiter;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AimdLimiterTest {
+
+    private static final long FAST = Duration.ofMillis(10).toNanos();
+    private static final long SLOW = Duration.ofSeconds(1).toNanos();
+
+    @Test
+    void whenLimitIsReachedThenAcquireIsRejected() {
+
+        AimdLimiter limiter = new AimdLimiter(2, 1, 10, 0.5, Duration.ofMillis(100));
+
+        assertTrue(limiter.tryAcquire());
+        assertTrue(limiter.tryAcquire());
+        assertFalse(limiter.tryAcquire());
+        assertEquals(2, limiter.getInFlight());
+    }
+
+    @Test
+    void whenFastResponsesUnderLoadThenLimitIncreasesAdditively() {
+
+        AimdLimiter limiter = new AimdLimiter(2, 1, 10, 0.5, Duration.ofMillis(100));
+
+        limiter.tryAcquire();
+        limiter.tryAcquire();
+        limiter.release(FAST, false);
+
+        assertEquals(3, limiter.getLimit());
+        assertEquals(1, limiter.getInFlight());
+    }
+
+    @Test
+    void whenFastResponsesWithLittleLoadThenLimitIsUnchanged() {
+
+        AimdLimiter limiter = new AimdLimiter(8, 1, 10, 0.5, Duration.ofMillis(100));
+
+        limiter.tryAcquire();
+        limiter.release(FAST, false);
+
+        assertEquals(8, limiter.getLimit());
+    }
+
+    @Test
+    void whenSlowResponseThenLimitDecreasesMultiplicatively() {
+
+        AimdLimiter limiter = new AimdLimiter(8, 1, 10, 0.5, Duration.ofMillis(100));
+
+        limiter.tryAcquire();
+        limiter.release(SLOW, false);
+
+        assertEquals(4, limiter.getLimit());
+    }
+
+    @Test
+    void whenFailuresRepeatThenLimitStopsAtMinimum() {
+
+        AimdLimiter limiter = new AimdLimiter(8, 2, 10, 0.5, Duration.ofMillis(100));
+
+        for (int i = 0; i < 5; i++) {
+            limiter.tryAcquire();
+            limiter.release(FAST, true);
+        }
+
+        assertEquals(2, limiter.getLimit());
+    }
+
+    @Test
+    void whenLimitsAreInconsistentThenConstructionFails() {
+
+        assertThrows(IllegalArgumentException.class, () -> new AimdLimiter(20, 1, 10, 0.5, Duration.ofMillis(100)));
+        assertThrows(IllegalArgumentException.class, () -> new AimdLimiter(5, 1, 10, 1.5, Duration.ofMillis(100)));
+    }
+}
@@ -0,0 +1,68 @@
+package roman.lazarchik.ApplicationManager.limiter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ConcurrencyLimitFilterTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final AimdLimiter readLimiter = new AimdLimiter(1, 1, 10, 0.5, Duration.ofSeconds(1));
+    private final AimdLimiter writeLimiter = new AimdLimiter(1, 1, 10, 0.5, Duration.ofSeconds(1));
+    private final Counter rejectedReads = registry.counter("rejected", "kind", "read");
+    private final Counter rejectedWrites = registry.counter("rejected", "kind", "write");
+    private final ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter(readLimiter, writeLimiter, rejectedReads, rejectedWrites,
+            "/applications", Duration.ofSeconds(2), new ObjectMapper().registerModule(new JavaTimeModule()));
+
+    @Test
+    void whenReadLimitIsExhaustedThenRequestIsRejectedWithRetryAfter() throws Exception {
+
+        readLimiter.tryAcquire();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/applications"), response, new MockFilterChain());
+
+        assertEquals(503, response.getStatus());
+        assertEquals("2", response.getHeader("Retry-After"));
+        assertTrue(response.getContentAsString().contains("Service Overloaded"));
+        assertEquals(1.0, rejectedReads.count());
+    }
+
+    @Test
+    void whenReadLimitIsExhaustedThenWritesStillPass() throws Exception {
+
+        readLimiter.tryAcquire();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(new MockHttpServletRequest("PUT", "/applications/1/verify"), response, chain);
+
+        assertEquals(200, response.getStatus());
+        assertEquals(0, writeLimiter.getInFlight());
+        assertEquals(0.0, rejectedWrites.count());
+    }
+
+    @Test
+    void whenPathIsOutsideEndpointRootThenLimiterIsBypassed() throws Exception {
+
+        readLimiter.tryAcquire();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/actuator/health"), response, chain);
+
+        assertEquals(200, response.getStatus());
+        assertNull(response.getHeader("Retry-After"));
+    }
+}
@@ -0,0 +1,90 @@
+package roman.lazarchik.ApplicationManager.mapper;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import roman.lazarchik.ApplicationManager.dto.ApplicationPageResponse;
+import roman.lazarchik.ApplicationManager.models.Application;
+import roman.lazarchik.ApplicationManager.models.ApplicationStatus;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ApplicationPageSerializerTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final ApplicationMapper applicationMapper = new ApplicationMapper();
+
+    @Test
+    void whenSerializePageThenOutputMatchesDtoMap() throws Exception {
+
+        Application published = new Application();
+        published.setId(1L);
+        published.setName("Name \"1\"");
+        published.setContent("Content");
+        published.setStatus(ApplicationStatus.PUBLISHED);
+        published.setPublishedNumber(7);
+
+        Application rejected = new Application();
+        rejected.setId(2L);
+        rejected.setName("Name 2");
+        rejected.setContent("Content\n2");
+        rejected.setStatus(ApplicationStatus.REJECTED);
+        rejected.setReason("Reason");
+
+        Page<Application> page = new PageImpl<>(Arrays.asList(published, rejected), PageRequest.of(3, 2), 20);
+
+        Map<String, Object> legacy = new HashMap<>();
+        legacy.put("applications", page.map(applicationMapper::toDto).getContent());
+        legacy.put("currentPage", page.getNumber());
+        legacy.put("totalItems", page.getTotalElements());
+        legacy.put("totalPages", page.getTotalPages());
+
+        JsonNode expected = objectMapper.readTree(objectMapper.writeValueAsString(legacy));
+        JsonNode actual = objectMapper.readTree(objectMapper.writeValueAsString(ApplicationPageResponse.of(page)));
+
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    void whenSerializeEmptyPageThenApplicationsIsEmptyArray() throws Exception {
+
+        Page<Application> page = new PageImpl<>(List.of());
+
+        JsonNode actual = objectMapper.readTree(objectMapper.writeValueAsString(ApplicationPageResponse.of(page)));
+
+        assertEquals(0, actual.get("applications").size());
+        assertEquals(0, actual.get("totalItems").asInt());
+        assertEquals(1, actual.get("totalPages").asInt());
+    }
+
+    @Test
+    void whenSerializeFacetedSliceThenTotalsComeFromTheSelectedStatusCount() throws Exception {
+
+        Application created = new Application();
+        created.setId(1L);
+        created.setStatus(ApplicationStatus.CREATED);
+        Slice<Application> slice = new SliceImpl<>(List.of(created), PageRequest.of(0, 2), true);
+        Map<ApplicationStatus, Long> counts = new EnumMap<>(ApplicationStatus.class);
+        counts.put(ApplicationStatus.CREATED, 5L);
+        counts.put(ApplicationStatus.VERIFIED, 2L);
+
+        JsonNode actual = objectMapper.readTree(objectMapper.writeValueAsString(
+                ApplicationPageResponse.faceted(slice, counts, ApplicationStatus.CREATED)));
+
+        assertEquals(5, actual.get("totalItems").asInt());
+        assertEquals(3, actual.get("totalPages").asInt());
+        assertEquals(5, actual.get("statusCounts").get("CREATED").asInt());
+        assertEquals(2, actual.get("statusCounts").get("VERIFIED").asInt());
+    }
+}
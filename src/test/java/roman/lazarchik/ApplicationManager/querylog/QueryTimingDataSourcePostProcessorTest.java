@@ -0,0 +1,75 @@
+package roman.lazarchik.ApplicationManager.querylog;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import roman.lazarchik.ApplicationManager.models.Application;
+import roman.lazarchik.ApplicationManager.models.ApplicationStatus;
+import roman.lazarchik.ApplicationManager.repositories.ApplicationRepository;
+
+import javax.sql.DataSource;
+
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.startsWith;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "application.query-log.threshold=0ms",
+        "management.endpoints.web.exposure.include=slowqueries"
+})
+@AutoConfigureMockMvc
+class QueryTimingDataSourcePostProcessorTest {
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private ApplicationRepository applicationRepository;
+
+    @Autowired
+    private SlowQueryRegistry slowQueryRegistry;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        slowQueryRegistry.reset();
+    }
+
+    @Test
+    void whenRepositoryRunsStatementsThenTheyAreTimedThroughTheDataSourceProxy() {
+
+        Application application = new Application();
+        application.setName("Timed");
+        application.setContent("Content");
+        application.setStatus(ApplicationStatus.CREATED);
+        applicationRepository.save(application);
+
+        assertTrue(AopUtils.isCglibProxy(dataSource));
+        assertTrue(slowQueryRegistry.top().stream().anyMatch(query -> query.sql().startsWith("insert into application")));
+    }
+
+    @Test
+    void whenSlowQueriesEndpointIsCalledThenTopStatementsAreReturnedAndCanBeReset() throws Exception {
+
+        applicationRepository.count();
+
+        mockMvc.perform(get("/actuator/slowqueries"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].sql", hasItem(startsWith("select count("))));
+
+        mockMvc.perform(delete("/actuator/slowqueries"))
+                .andExpect(status().isNoContent());
+
+        assertTrue(slowQueryRegistry.top().isEmpty());
+    }
+}
@@ -0,0 +1,60 @@
+package roman.lazarchik.ApplicationManager.querylog;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@ExtendWith(OutputCaptureExtension.class)
+class SlowQueryLogTest {
+
+    private final SlowQueryRegistry registry = new SlowQueryRegistry(10);
+
+    @Test
+    void whenStatementExceedsThresholdThenItIsLoggedWithRedactedParameters(CapturedOutput output) {
+
+        SlowQueryLog log = new SlowQueryLog(Duration.ofMillis(100), 0.0, true, registry);
+
+        log.record("select * from application where name = ?", List.of("secret name"), Duration.ofMillis(150).toNanos());
+
+        assertTrue(output.getOut().contains("Slow query took 150 ms: select * from application where name = ? parameters=[<String>]"));
+        assertFalse(output.getOut().contains("secret name"));
+    }
+
+    @Test
+    void whenStatementIsFastAndNotSampledThenNothingIsLoggedButItIsRegistered(CapturedOutput output) {
+
+        SlowQueryLog log = new SlowQueryLog(Duration.ofMillis(100), 0.0, true, registry);
+
+        log.record("select 1", List.of(), Duration.ofMillis(5).toNanos());
+
+        assertFalse(output.getOut().contains("select 1"));
+        assertEquals(1, registry.top().size());
+    }
+
+    @Test
+    void whenSampleRateIsOneThenFastStatementsAreLogged(CapturedOutput output) {
+
+        SlowQueryLog log = new SlowQueryLog(Duration.ofMillis(100), 1.0, true, registry);
+
+        log.record("select 1", List.of(), Duration.ofMillis(5).toNanos());
+
+        assertTrue(output.getOut().contains("Sampled query took 5 ms: select 1"));
+    }
+
+    @Test
+    void whenRedactionIsDisabledThenParameterValuesAreRendered() {
+
+        SlowQueryLog log = new SlowQueryLog(Duration.ofMillis(100), 0.0, false, registry);
+
+        assertEquals("[name, 5, null]", log.render(Arrays.asList("name", 5L, null)));
+    }
+}
@@ -0,0 +1,59 @@
+package roman.lazarchik.ApplicationManager.querylog;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SlowQueryRegistryTest {
+
+    private static long millis(long millis) {
+        return Duration.ofMillis(millis).toNanos();
+    }
+
+    @Test
+    void whenStatementsAreRecordedThenTopIsOrderedBySlowestExecution() {
+
+        SlowQueryRegistry registry = new SlowQueryRegistry(5);
+
+        registry.record("select a", millis(10));
+        registry.record("select b", millis(30));
+        registry.record("select a", millis(50));
+
+        List<SlowQueryRegistry.SlowQuery> top = registry.top();
+
+        assertEquals(List.of("select a", "select b"), top.stream().map(SlowQueryRegistry.SlowQuery::sql).toList());
+        assertEquals(2, top.get(0).count());
+        assertEquals(50.0, top.get(0).maxMillis());
+        assertEquals(30.0, top.get(0).averageMillis());
+    }
+
+    @Test
+    void whenRegistryIsFullThenFasterStatementsAreIgnoredAndSlowerOnesEvictTheFastest() {
+
+        SlowQueryRegistry registry = new SlowQueryRegistry(2);
+
+        registry.record("select a", millis(10));
+        registry.record("select b", millis(20));
+        registry.record("select c", millis(5));
+        registry.record("select d", millis(40));
+
+        assertEquals(List.of("select d", "select b"), registry.top().stream().map(SlowQueryRegistry.SlowQuery::sql).toList());
+    }
+
+    @Test
+    void whenResetThenRegistryIsEmptyAndAcceptsFastStatementsAgain() {
+
+        SlowQueryRegistry registry = new SlowQueryRegistry(1);
+        registry.record("select a", millis(100));
+
+        registry.reset();
+        registry.record("select b", millis(1));
+
+        assertEquals(1, registry.top().size());
+        assertTrue(registry.top().get(0).sql().contains("b"));
+    }
+}
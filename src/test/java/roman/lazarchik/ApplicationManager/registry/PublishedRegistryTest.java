@@ -0,0 +1,194 @@
+package roman.lazarchik.ApplicationManager.registry;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.domain.Pageable;
+import roman.lazarchik.ApplicationManager.datasource.ShardResolver;
+import roman.lazarchik.ApplicationManager.repositories.ApplicationHistoryRepository;
+import roman.lazarchik.ApplicationManager.repositories.ApplicationRepository;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class PublishedRegistryTest {
+
+    private static final LocalDateTime SETTLED = LocalDateTime.now().minusMinutes(1);
+
+    private final ApplicationRepository repository = mock(ApplicationRepository.class);
+    private final ApplicationHistoryRepository historyRepository = mock(ApplicationHistoryRepository.class);
+
+    @SuppressWarnings("unchecked")
+    private final ObjectProvider<ShardResolver> noShards = mock(ObjectProvider.class);
+
+    @Test
+    void whenRegistryIsReadThenItIsLoadedOnceAndServedFromMemory() {
+
+        when(repository.findPublishedFrom(eq(1), any(Pageable.class)))
+                .thenReturn(List.of(published(10L, 1), published(11L, 2)));
+        PublishedRegistry registry = new PublishedRegistry(repository, historyRepository, noShards, Duration.ofHours(1), "", 10_000, Duration.ZERO);
+
+        assertEquals(10L, registry.find(1).orElseThrow().id());
+        assertEquals(11L, registry.find(2).orElseThrow().id());
+        assertEquals(2, registry.getMaxPublishedNumber());
+
+        verify(repository, times(1)).findPublishedFrom(anyInt(), any(Pageable.class));
+    }
+
+    @Test
+    void whenInitialLoadSpansSeveralPagesThenEachPageStartsAfterTheLastPublishedNumber() {
+
+        List<PublishedApplication> firstPage = IntStream.rangeClosed(1, 1000).mapToObj(number -> published(number, number)).toList();
+        when(repository.findPublishedFrom(eq(1), any(Pageable.class))).thenReturn(firstPage);
+        when(repository.findPublishedFrom(eq(1001), any(Pageable.class))).thenReturn(List.of(published(1001L, 1001)));
+        PublishedRegistry registry = new PublishedRegistry(repository, historyRepository, noShards, Duration.ofHours(1), "", 10_000, Duration.ZERO);
+
+        assertEquals(1001, registry.getMaxPublishedNumber());
+        assertEquals(500L, registry.find(500).orElseThrow().id());
+        verify(repository, times(2)).findPublishedFrom(anyInt(), any(Pageable.class));
+    }
+
+    @Test
+    void whenApplicationIsPublishedThenItIsAppendedBeyondTheInitialCapacity() {
+
+        when(repository.findPublishedFrom(eq(1), any(Pageable.class)))
+                .thenReturn(List.of(published(10L, 1)));
+        PublishedRegistry registry = new PublishedRegistry(repository, historyRepository, noShards, Duration.ofHours(1), "", 10_000, Duration.ZERO);
+        registry.find(1);
+
+        registry.onPublished(new ApplicationPublishedEvent(new PublishedApplication(99L, 5000, "Name", "Content")));
+
+        assertEquals(99L, registry.find(5000).orElseThrow().id());
+        assertEquals(5000, registry.getMaxPublishedNumber());
+        verify(repository, times(1)).findPublishedFrom(anyInt(), any(Pageable.class));
+    }
+
+    @Test
+    void whenRangeIsPartiallyPublishedThenItIsIncomplete() {
+
+        when(repository.findPublishedFrom(eq(1), any(Pageable.class)))
+                .thenReturn(List.of(published(10L, 1), published(11L, 2), published(12L, 3)));
+        PublishedRegistry registry = new PublishedRegistry(repository, historyRepository, noShards, Duration.ofHours(1), "", 10_000, Duration.ZERO);
+
+        PublishedRange complete = registry.range(2, 2);
+        PublishedRange partial = registry.range(2, 5);
+
+        assertEquals(List.of(11L, 12L), complete.applications().stream().map(PublishedApplication::id).toList());
+        assertTrue(complete.isComplete());
+        assertFalse(partial.isComplete());
+        assertFalse(complete.etag().equals(partial.etag()));
+    }
+
+    @Test
+    void whenLookupMissesThenTheTailIsReloadedAtMostOncePerInterval() {
+
+        when(repository.findPublishedFrom(eq(1), any(Pageable.class)))
+                .thenReturn(List.of(published(10L, 1)));
+        when(repository.findPublishedFrom(eq(2), any(Pageable.class)))
+                .thenReturn(List.of(published(11L, 2)));
+        PublishedRegistry registry = new PublishedRegistry(repository, historyRepository, noShards, Duration.ofHours(1), "", 10_000, Duration.ZERO);
+
+        assertEquals(11L, registry.find(2).orElseThrow().id());
+        assertTrue(registry.find(3).isEmpty());
+        assertTrue(registry.find(4).isEmpty());
+
+        verify(repository, times(2)).findPublishedFrom(anyInt(), any(Pageable.class));
+    }
+
+    @Test
+    void whenSnapshotIsEnabledThenRegistryCatchesUpFromTheHistoryLogAndWarmStartsFromTheFile(@TempDir Path dir) {
+
+        Path file = dir.resolve("published.snapshot");
+        when(historyRepository.findPublishedAfter(eq(0L), any(Pageable.class)))
+                .thenReturn(List.of(new PublishedLogEntry(100L, SETTLED, 10L, 1, "Name 10", "Content 10"),
+                        new PublishedLogEntry(105L, SETTLED, 12L, 3, "Name 12", (String) null)));
+        PublishedRegistry first = new PublishedRegistry(repository, historyRepository, noShards, Duration.ofHours(1), file.toString(), 10_000, Duration.ZERO);
+
+        assertEquals(12L, first.find(3).orElseThrow().id());
+        first.destroy();
+        assertTrue(Files.exists(file));
+
+        clearInvocations(historyRepository);
+        when(historyRepository.findPublishedAfter(eq(105L), any(Pageable.class)))
+                .thenReturn(List.of(new PublishedLogEntry(107L, SETTLED, 11L, 2, "Name 11", "Content 11")));
+        PublishedRegistry second = new PublishedRegistry(repository, historyRepository, noShards, Duration.ofHours(1), file.toString(), 10_000, Duration.ZERO);
+
+        assertEquals("Name 10", second.find(1).orElseThrow().name());
+        assertEquals(11L, second.find(2).orElseThrow().id());
+        assertEquals(null, second.find(3).orElseThrow().content());
+        assertEquals(List.of(1, 2, 3), second.range(1, 3).applications().stream().map(PublishedApplication::publishedNumber).toList());
+        verify(historyRepository, times(1)).findPublishedAfter(eq(105L), any(Pageable.class));
+        verify(repository, never()).findPublishedFrom(anyInt(), any(Pageable.class));
+    }
+
+    @Test
+    void whenTailReachesTheRewriteThresholdThenSnapshotIsRewritten(@TempDir Path dir) throws Exception {
+
+        Path file = dir.resolve("published.snapshot");
+        when(historyRepository.findPublishedAfter(anyLong(), any(Pageable.class))).thenReturn(List.of());
+        PublishedRegistry registry = new PublishedRegistry(repository, historyRepository, noShards, Duration.ofHours(1), file.toString(), 2, Duration.ZERO);
+        registry.find(1);
+
+        registry.onPublished(new ApplicationPublishedEvent(new PublishedApplication(10L, 1, "Name", "Content")));
+        assertFalse(Files.exists(file));
+        registry.onPublished(new ApplicationPublishedEvent(new PublishedApplication(11L, 2, "Name", "Content")));
+        for (int attempt = 0; attempt < 50 && !Files.exists(file); attempt++) {
+            Thread.sleep(20);
+        }
+        assertEquals(2, PublishedSnapshot.open(file).getMaxPublishedNumber());
+        registry.onPublished(new ApplicationPublishedEvent(new PublishedApplication(12L, 3, "Name", "Content")));
+        registry.destroy();
+
+        assertEquals(3, PublishedSnapshot.open(file).getMaxPublishedNumber());
+        assertEquals(11L, registry.find(2).orElseThrow().id());
+        assertEquals(12L, registry.find(3).orElseThrow().id());
+    }
+
+    @Test
+    void whenHistoryRowsAreYoungerThanTheSettleWindowThenTheWatermarkIsHeldBack(@TempDir Path dir) {
+
+        Path file = dir.resolve("published.snapshot");
+        when(historyRepository.findPublishedAfter(eq(0L), any(Pageable.class)))
+                .thenReturn(List.of(new PublishedLogEntry(100L, SETTLED, 10L, 1, "Name 10", "Content 10"),
+                        new PublishedLogEntry(105L, LocalDateTime.now(), 12L, 3, "Name 12", "Content 12"),
+                        new PublishedLogEntry(106L, SETTLED, 13L, 4, "Name 13", "Content 13")));
+        PublishedRegistry first = new PublishedRegistry(repository, historyRepository, noShards, Duration.ofHours(1), file.toString(), 10_000,
+                Duration.ofSeconds(30));
+
+        assertEquals(12L, first.find(3).orElseThrow().id());
+        assertEquals(13L, first.find(4).orElseThrow().id());
+        first.destroy();
+
+        clearInvocations(historyRepository);
+        when(historyRepository.findPublishedAfter(eq(100L), any(Pageable.class)))
+                .thenReturn(List.of(new PublishedLogEntry(102L, SETTLED, 11L, 2, "Name 11", "Content 11")));
+        PublishedRegistry second = new PublishedRegistry(repository, historyRepository, noShards, Duration.ofHours(1), file.toString(), 10_000,
+                Duration.ofSeconds(30));
+
+        assertEquals(11L, second.find(2).orElseThrow().id());
+        assertEquals(13L, second.find(4).orElseThrow().id());
+        verify(historyRepository, times(1)).findPublishedAfter(eq(100L), any(Pageable.class));
+    }
+
+    private static PublishedApplication published(long id, int publishedNumber) {
+        return new PublishedApplication(id, publishedNumber, "Name " + id, "Content " + id);
+    }
+}
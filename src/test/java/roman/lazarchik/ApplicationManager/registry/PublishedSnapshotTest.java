@@ -0,0 +1,83 @@
+package roman.lazarchik.ApplicationManager.registry;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class PublishedSnapshotTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void whenSnapshotIsWrittenThenEveryEntryIsReadBackFromTheMappedFile() throws Exception {
+
+        Path file = dir.resolve("published.snapshot");
+        Map<Integer, PublishedApplication> entries = Map.of(
+                1, new PublishedApplication(7L, 1, "Név", "Tartalom ✓"),
+                4, new PublishedApplication(9L, 4, null, ""));
+
+        PublishedSnapshot.write(file, 4, entries::get, new long[]{120L, 80L});
+        PublishedSnapshot snapshot = PublishedSnapshot.open(file);
+
+        assertEquals(4, snapshot.getMaxPublishedNumber());
+        assertArrayEquals(new long[]{120L, 80L}, snapshot.getHistoryWatermarks());
+        assertEquals(entries.get(1), snapshot.get(1));
+        assertEquals(entries.get(4), snapshot.get(4));
+        assertNull(snapshot.get(2));
+        assertNull(snapshot.get(0));
+        assertNull(snapshot.get(5));
+    }
+
+    @Test
+    void whenSnapshotIsRewrittenThenTheFileIsReplacedAtomically() throws Exception {
+
+        Path file = dir.resolve("published.snapshot");
+        PublishedSnapshot.write(file, 1, number -> new PublishedApplication(1L, number, "Old", "Old"), new long[1]);
+        PublishedSnapshot.write(file, 2, number -> new PublishedApplication(number, number, "New", "New"), new long[1]);
+
+        PublishedSnapshot snapshot = PublishedSnapshot.open(file);
+
+        assertEquals("New", snapshot.get(1).name());
+        assertEquals(2L, snapshot.get(2).id());
+        try (var files = Files.list(dir)) {
+            assertEquals(1, files.count());
+        }
+    }
+
+    @Test
+    void whenFileIsNotASnapshotThenOpenFails() throws Exception {
+
+        Path file = dir.resolve("published.snapshot");
+        Files.writeString(file, "not a snapshot at all");
+
+        assertThrows(IOException.class, () -> PublishedSnapshot.open(file));
+    }
+
+    @Test
+    void whenRecordsStraddleMappedSegmentsThenTheyAreReadBackWhole() throws Exception {
+
+        Path file = dir.resolve("published.snapshot");
+        Map<Integer, PublishedApplication> entries = Map.of(
+                1, new PublishedApplication(7L, 1, "Név", "Tartalom ✓"),
+                2, new PublishedApplication(Long.MAX_VALUE, 2, "Second", (String) null),
+                3, new PublishedApplication(11L, 3, "Third", "x".repeat(100)));
+
+        PublishedSnapshot.write(file, 3, entries::get, new long[]{Long.MIN_VALUE});
+        PublishedSnapshot snapshot = PublishedSnapshot.open(file, 7);
+
+        assertArrayEquals(new long[]{Long.MIN_VALUE}, snapshot.getHistoryWatermarks());
+        assertEquals(entries.get(1), snapshot.get(1));
+        assertEquals(entries.get(2), snapshot.get(2));
+        assertEquals(entries.get(3), snapshot.get(3));
+    }
+}
@@ -0,0 +1,38 @@
+package roman.lazarchik.ApplicationManager.repositories;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import roman.lazarchik.ApplicationManager.datasource.DatabaseDialect;
+import roman.lazarchik.ApplicationManager.models.ApplicationStatus;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@Import({ApplicationCountEstimator.class, ReasonDictionary.class, DatabaseDialect.class})
+class ApplicationCountEstimatorTest {
+
+    @Autowired
+    private ApplicationCountEstimator countEstimator;
+
+    @Test
+    void whenParsePostgresPlanThenReturnPlanRows() {
+
+        String plan = "[{\"Plan\": {\"Node Type\": \"Seq Scan\", \"Relation Name\": \"application\", \"Plan Rows\": 4213}}]";
+
+        assertThat(ApplicationCountEstimator.parsePlanRows(plan)).hasValue(4213);
+    }
+
+    @Test
+    void whenParseMalformedPlanThenReturnEmpty() {
+
+        assertThat(ApplicationCountEstimator.parsePlanRows("not a plan")).isEmpty();
+    }
+
+    @Test
+    void whenDatabaseHasNoPlannerEstimatesThenReturnEmpty() {
+
+        assertThat(countEstimator.estimateCount("Name", ApplicationStatus.CREATED)).isEmpty();
+    }
+}
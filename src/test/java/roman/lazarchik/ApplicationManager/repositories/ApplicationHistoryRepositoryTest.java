@@ -0,0 +1,80 @@
+package roman.lazarchik.ApplicationManager.repositories;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import roman.lazarchik.ApplicationManager.changes.ChangeLogEntry;
+import roman.lazarchik.ApplicationManager.datasource.DatabaseDialect;
+import roman.lazarchik.ApplicationManager.models.Application;
+import roman.lazarchik.ApplicationManager.models.ApplicationHistory;
+import roman.lazarchik.ApplicationManager.models.ApplicationStatus;
+import roman.lazarchik.ApplicationManager.registry.PublishedApplication;
+import roman.lazarchik.ApplicationManager.registry.PublishedLogEntry;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@Import({ReasonDictionary.class, DatabaseDialect.class})
+class ApplicationHistoryRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private ApplicationHistoryRepository historyRepository;
+
+    @Test
+    public void whenFindPublishedAfterThenOnlyLaterPublishEntriesAreReturnedInLogOrder() {
+
+        Application first = published("First", 1);
+        Application second = published("Second", 2);
+        long firstPublished = history(first, ApplicationStatus.PUBLISHED).getId();
+        history(second, ApplicationStatus.ACCEPTED);
+        long secondPublished = history(second, ApplicationStatus.PUBLISHED).getId();
+        entityManager.flush();
+
+        List<PublishedLogEntry> all = historyRepository.findPublishedAfter(0, PageRequest.of(0, 10));
+        List<PublishedLogEntry> later = historyRepository.findPublishedAfter(firstPublished, PageRequest.of(0, 10));
+
+        assertThat(all).extracting(PublishedLogEntry::publishedNumber).containsExactly(1, 2);
+        assertThat(later).extracting(PublishedLogEntry::historyId).containsExactly(secondPublished);
+        assertThat(later.get(0).timestamp()).isNotNull();
+        assertThat(later.get(0).toApplication()).isEqualTo(new PublishedApplication(second.getId(), 2, "Second", "Content of Second"));
+    }
+
+    @Test
+    public void whenFindChangesAfterThenEveryLaterHistoryRowIsReturnedInIdOrder() {
+
+        Application first = published("First", 1);
+        Application second = published("Second", 2);
+        long skipped = history(first, ApplicationStatus.CREATED).getId();
+        long secondCreated = history(second, ApplicationStatus.CREATED).getId();
+        long firstVerified = history(first, ApplicationStatus.VERIFIED).getId();
+        entityManager.flush();
+
+        List<ChangeLogEntry> changes = historyRepository.findChangesAfter(skipped, PageRequest.of(0, 10));
+
+        assertThat(changes).extracting(ChangeLogEntry::historyId).containsExactly(secondCreated, firstVerified);
+        assertThat(changes).extracting(ChangeLogEntry::applicationId).containsExactly(second.getId(), first.getId());
+        assertThat(historyRepository.findChangesAfter(skipped, PageRequest.of(0, 1))).hasSize(1);
+    }
+
+    private Application published(String name, int publishedNumber) {
+        Application app = new Application();
+        app.setName(name);
+        app.setContent("Content of " + name);
+        app.setStatus(ApplicationStatus.PUBLISHED);
+        app.setPublishedNumber(publishedNumber);
+        return entityManager.persist(app);
+    }
+
+    private ApplicationHistory history(Application app, ApplicationStatus status) {
+        return entityManager.persist(new ApplicationHistory(app, status, false, LocalDateTime.now()));
+    }
+}
@@ -1,19 +1,37 @@
 package roman.lazarchik.ApplicationManager.repositories;
 
+import org.hibernate.Hibernate;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import roman.lazarchik.ApplicationManager.datasource.DatabaseDialect;
+import roman.lazarchik.ApplicationManager.filter.ApplicationFilter;
+import roman.lazarchik.ApplicationManager.filter.ApplicationSortKey;
 import roman.lazarchik.ApplicationManager.models.Application;
 import roman.lazarchik.ApplicationManager.models.ApplicationStatus;
+import roman.lazarchik.ApplicationManager.models.ContentCodec;
+import roman.lazarchik.ApplicationManager.models.ReasonCodec;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
 
-@DataJpaTest
+@DataJpaTest(properties = "application.reasons.stock=Incomplete documents")
+@Import({ReasonDictionary.class, DatabaseDialect.class})
 class ApplicationRepositoryTest {
 
     @Autowired
@@ -22,6 +40,9 @@ class ApplicationRepositoryTest {
     @Autowired
     private ApplicationRepository applicationRepository;
 
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
     @Test
     public void whenFindByNameContainingAndStatusThenReturnApplications() {
 
@@ -104,14 +125,13 @@ class ApplicationRepositoryTest {
         app.setContent("Content");
         app.setStatus(ApplicationStatus.CREATED);
         app.setReason(null);
-        app.setHistories(null);
         app.setPublishedNumber(0);
         entityManager.persist(app);
 
         entityManager.flush();
         entityManager.clear();
 
-        Application found = applicationRepository.findByNameAndContent("Name", "Content");
+        Application found = applicationRepository.findByNameAndContentHash("Name", ContentCodec.hash("Content"));
 
         assertThat(found).isNotNull();
         assertThat(found.getName()).isEqualTo("Name");
@@ -147,4 +167,298 @@ class ApplicationRepositoryTest {
 
         assertThat(maxPublishedNumber).isNotPresent();
     }
-}
\ No newline at end of file
+
+    @Test
+    public void whenFindSliceByStatusThenReturnSliceWithoutTotal() {
+
+        for (int i = 1; i <= 3; i++) {
+            Application app = new Application();
+            app.setName("Name " + i);
+            app.setStatus(ApplicationStatus.CREATED);
+            entityManager.persist(app);
+        }
+
+        entityManager.flush();
+        entityManager.clear();
+
+        Slice<Application> first = applicationRepository.findSliceByStatus(ApplicationStatus.CREATED, PageRequest.of(0, 2));
+        Slice<Application> last = applicationRepository.findSliceByStatus(ApplicationStatus.CREATED, PageRequest.of(1, 2));
+
+        assertThat(first).isNotInstanceOf(Page.class);
+        assertThat(first.getContent()).hasSize(2);
+        assertThat(first.hasNext()).isTrue();
+        assertThat(last.getContent()).hasSize(1);
+        assertThat(last.hasNext()).isFalse();
+    }
+
+    @Test
+    public void whenFindSliceByThenReturnAllApplications() {
+
+        Application app1 = new Application();
+        app1.setName("Name 1");
+        app1.setStatus(ApplicationStatus.CREATED);
+        entityManager.persist(app1);
+
+        Application app2 = new Application();
+        app2.setName("Name 2");
+        app2.setStatus(ApplicationStatus.VERIFIED);
+        entityManager.persist(app2);
+
+        entityManager.flush();
+        entityManager.clear();
+
+        Slice<Application> result = applicationRepository.findSliceBy(PageRequest.of(0, 10));
+
+        assertThat(result.getContent()).hasSize(2);
+        assertThat(result.hasNext()).isFalse();
+    }
+
+    @Test
+    public void whenFindClaimableThenSkipActiveLeasesAndReturnOldestFirst() {
+
+        LocalDateTime now = LocalDateTime.now();
+        Application leased = claimable("Leased", now.plusMinutes(5));
+        Application expired = claimable("Expired", now.minusMinutes(1));
+        Application free = claimable("Free", null);
+        Application other = new Application();
+        other.setName("Verified");
+        other.setStatus(ApplicationStatus.VERIFIED);
+        entityManager.persist(other);
+
+        entityManager.flush();
+        entityManager.clear();
+
+        List<Application> result = applicationRepository.findClaimable(ApplicationStatus.CREATED.name(), now, 10);
+
+        assertThat(result).extracting(Application::getId).containsExactly(expired.getId(), free.getId());
+        assertThat(result).extracting(Application::getId).doesNotContain(leased.getId());
+    }
+
+    @Test
+    public void whenFindClaimableWithLimitThenReturnAtMostLimit() {
+
+        claimable("First", null);
+        claimable("Second", null);
+        entityManager.flush();
+
+        List<Application> result = applicationRepository.findClaimable(ApplicationStatus.CREATED.name(), LocalDateTime.now(), 1);
+
+        assertThat(result).hasSize(1);
+        assertThat(result.get(0).getName()).isEqualTo("First");
+    }
+
+    @Test
+    public void whenCountGroupedByStatusThenEachStatusHasItsCount() {
+
+        persist("Grant A", ApplicationStatus.CREATED);
+        persist("Grant B", ApplicationStatus.CREATED);
+        persist("Loan", ApplicationStatus.PUBLISHED);
+        entityManager.flush();
+
+        Map<ApplicationStatus, Long> counts = applicationRepository.countGroupedByStatus().stream()
+                .collect(Collectors.toMap(StatusCount::getStatus, StatusCount::getCount));
+
+        assertThat(counts).containsEntry(ApplicationStatus.CREATED, 2L).containsEntry(ApplicationStatus.PUBLISHED, 1L).hasSize(2);
+    }
+
+    @Test
+    public void whenCountGroupedByStatusWithNameContainingThenLikeWildcardsAreEscaped() {
+
+        persist("Grant 100%", ApplicationStatus.CREATED);
+        persist("Grant 1000", ApplicationStatus.VERIFIED);
+        persist("Grant 100% extra", ApplicationStatus.VERIFIED);
+        entityManager.flush();
+
+        Map<ApplicationStatus, Long> counts = applicationRepository.countGroupedByStatusWithNameContaining("100%").stream()
+                .collect(Collectors.toMap(StatusCount::getStatus, StatusCount::getCount));
+
+        assertThat(counts).containsEntry(ApplicationStatus.CREATED, 1L).containsEntry(ApplicationStatus.VERIFIED, 1L).hasSize(2);
+    }
+
+    @Test
+    public void whenFindSliceWithFilterThenMatchingApplicationsAreSortedByTheRequestedKey() {
+
+        persist("Grant_B", ApplicationStatus.CREATED);
+        persist("Grant_A", ApplicationStatus.VERIFIED);
+        persist("GrantXC", ApplicationStatus.CREATED);
+        persist("Grant_D", ApplicationStatus.PUBLISHED);
+        persist("Loan", ApplicationStatus.CREATED);
+        entityManager.flush();
+
+        ApplicationFilter filter = ApplicationFilter.builder()
+                .namePrefix("Grant_")
+                .statuses(Set.of(ApplicationStatus.CREATED, ApplicationStatus.VERIFIED))
+                .direction(Sort.Direction.DESC)
+                .build();
+        Slice<Application> first = applicationRepository.findSlice(ApplicationSpecifications.matching(filter), PageRequest.of(0, 1, filter.toSort()));
+        Slice<Application> second = applicationRepository.findSlice(ApplicationSpecifications.matching(filter), PageRequest.of(1, 1, filter.toSort()));
+
+        assertThat(first.getContent()).extracting(Application::getName).containsExactly("Grant_B");
+        assertThat(first.hasNext()).isTrue();
+        assertThat(second.getContent()).extracting(Application::getName).containsExactly("Grant_A");
+        assertThat(second.hasNext()).isFalse();
+    }
+
+    @Test
+    public void whenFindSliceWithTimeRangeThenOnlyApplicationsInRangeAreReturned() {
+
+        persist("Before", ApplicationStatus.CREATED);
+        entityManager.flush();
+        LocalDateTime from = LocalDateTime.now();
+        persist("After 1", ApplicationStatus.CREATED);
+        persist("After 2", ApplicationStatus.CREATED);
+        entityManager.flush();
+
+        ApplicationFilter filter = ApplicationFilter.builder().createdFrom(from).build();
+        Slice<Application> result = applicationRepository.findSlice(ApplicationSpecifications.matching(filter), PageRequest.of(0, 10, filter.toSort()));
+
+        assertThat(result.getContent()).extracting(Application::getName).containsExactly("After 1", "After 2");
+        assertThat(result.getContent()).allSatisfy(app -> assertThat(app.getUpdatedAt()).isNotNull());
+    }
+
+    @Test
+    void whenWalkingDeepFilteredPagesThenEachPageContinuesAfterThePreviousBoundary() {
+
+        Integer[] publishedNumbers = {3, null, 1, 4, null, 2, 5};
+        for (int i = 0; i < publishedNumbers.length; i++) {
+            Application app = new Application();
+            app.setName("Walk " + i);
+            app.setContent("Content of walk " + i);
+            app.setStatus(ApplicationStatus.CREATED);
+            app.setPublishedNumber(publishedNumbers[i]);
+            entityManager.persist(app);
+        }
+        entityManager.flush();
+
+        ApplicationFilter filter = ApplicationFilter.builder().namePrefix("Walk ").sort(ApplicationSortKey.PUBLISHED_NUMBER).build();
+        List<Application> expected = applicationRepository.findSlice(ApplicationSpecifications.matching(filter),
+                PageRequest.of(0, 100, filter.toSort())).getContent();
+        List<Application> walked = new ArrayList<>();
+        for (int page = 0; page < 4; page++) {
+            walked.addAll(applicationRepository.findSlice(ApplicationSpecifications.matching(filter),
+                    PageRequest.of(page, 2, filter.toSort())).getContent());
+        }
+        Slice<Application> beyond = applicationRepository.findSlice(ApplicationSpecifications.matching(filter),
+                PageRequest.of(4, 2, filter.toSort()));
+
+        assertThat(expected).extracting(Application::getPublishedNumber).containsExactly(1, 2, 3, 4, 5, null, null);
+        assertThat(walked).extracting(Application::getId).containsExactlyElementsOf(expected.stream().map(Application::getId).toList());
+        assertThat(beyond.getContent()).isEmpty();
+        assertThat(beyond.hasNext()).isFalse();
+    }
+
+    @Test
+    void whenApplicationsShareContentThenOneCompressedBlobIsStored() {
+
+        String content = "Same content ".repeat(50);
+        Application first = new Application();
+        first.setName("First");
+        first.setContent(content);
+        entityManager.persist(first);
+        Application second = new Application();
+        second.setName("Second");
+        second.setContent(content);
+        entityManager.persist(second);
+        entityManager.flush();
+        entityManager.clear();
+
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM application_content", Integer.class)).isEqualTo(1);
+        assertThat(jdbcTemplate.queryForObject("SELECT LENGTH(data) FROM application_content", Integer.class)).isLessThan(content.length());
+        assertThat(applicationRepository.findById(second.getId()).orElseThrow().getContent()).isEqualTo(content);
+    }
+
+    @Test
+    void whenContentChangesThenNewBlobIsWrittenOnlyForTheNewContent() {
+
+        Application app = new Application();
+        app.setName("Name");
+        app.setContent("Old");
+        entityManager.persist(app);
+        entityManager.flush();
+        entityManager.clear();
+
+        Application found = applicationRepository.findById(app.getId()).orElseThrow();
+        found.setStatus(ApplicationStatus.VERIFIED);
+        entityManager.flush();
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM application_content", Integer.class)).isEqualTo(1);
+
+        found.setContent("New");
+        entityManager.flush();
+        entityManager.clear();
+
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM application_content", Integer.class)).isEqualTo(2);
+        assertThat(applicationRepository.findById(app.getId()).orElseThrow().getContent()).isEqualTo("New");
+    }
+
+    @Test
+    void whenFindByIdThenContentIsNotLoadedUntilItIsRead() {
+
+        Application app = new Application();
+        app.setName("Name");
+        app.setContent("Content");
+        entityManager.persist(app);
+        entityManager.flush();
+        entityManager.clear();
+
+        Application found = applicationRepository.findById(app.getId()).orElseThrow();
+
+        assertThat(Hibernate.isInitialized(found.getContentBlob())).isFalse();
+        assertThat(found.getContent()).isEqualTo("Content");
+        assertThat(Hibernate.isInitialized(found.getContentBlob())).isTrue();
+    }
+
+    @Test
+    void whenFindWithContentByIdThenContentIsFetchedWithTheRow() {
+
+        Application app = new Application();
+        app.setName("Name");
+        app.setContent("Content");
+        entityManager.persist(app);
+        entityManager.flush();
+        entityManager.clear();
+
+        Application found = applicationRepository.findWithContentById(app.getId()).orElseThrow();
+
+        assertThat(Hibernate.isInitialized(found.getContentBlob())).isTrue();
+        assertThat(found.getContent()).isEqualTo("Content");
+    }
+
+    @Test
+    void whenReasonIsAStockPhraseThenItIsStoredAsACodeAndFreeTextAsAnOverride() {
+
+        for (String name : List.of("First", "Second", "Third")) {
+            Application app = new Application();
+            app.setName(name);
+            app.setStatus(ApplicationStatus.REJECTED);
+            app.setReason(name.equals("Third") ? "Out of scope" : "Incomplete documents");
+            entityManager.persist(app);
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        assertThat(jdbcTemplate.queryForList("SELECT text FROM application_reason", String.class)).containsExactly("Incomplete documents");
+        assertThat(jdbcTemplate.queryForList("SELECT reason FROM application WHERE reason IS NOT NULL", String.class)).containsExactly("Out of scope");
+        assertThat(applicationRepository.findAll()).extracting(Application::getReason)
+                .containsExactlyInAnyOrder("Incomplete documents", "Incomplete documents", "Out of scope");
+        assertThat(applicationRepository.countGroupedByReason(ApplicationStatus.REJECTED))
+                .extracting(ReasonCount::getCode, ReasonCount::getCount)
+                .containsExactly(tuple(ReasonCodec.code("Incomplete documents"), 2L));
+    }
+
+    private Application claimable(String name, LocalDateTime claimExpiresAt) {
+        Application app = new Application();
+        app.setName(name);
+        app.setStatus(ApplicationStatus.CREATED);
+        app.setClaimedBy(claimExpiresAt == null ? null : "reviewer");
+        app.setClaimExpiresAt(claimExpiresAt);
+        return entityManager.persist(app);
+    }
+
+    private void persist(String name, ApplicationStatus status) {
+        Application app = new Application();
+        app.setName(name);
+        app.setContent("Content of " + name);
+        app.setStatus(status);
+        entityManager.persist(app);
+    }
+}
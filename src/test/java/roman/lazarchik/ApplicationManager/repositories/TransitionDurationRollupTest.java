@@ -0,0 +1,85 @@
+package roman.lazarchik.ApplicationManager.repositories;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import roman.lazarchik.ApplicationManager.analytics.DurationHistogram;
+import roman.lazarchik.ApplicationManager.analytics.TransitionSample;
+import roman.lazarchik.ApplicationManager.datasource.DatabaseDialect;
+import roman.lazarchik.ApplicationManager.models.ApplicationStatus;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@Import({TransitionDurationRollup.class, ReasonDictionary.class, DatabaseDialect.class})
+class TransitionDurationRollupTest {
+
+    private static final LocalDateTime HOUR = LocalDateTime.of(2024, 3, 1, 10, 0);
+
+    @Autowired
+    private TransitionDurationRollup rollup;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM transition_duration_rollup");
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void whenSamplesFallIntoTheSameHourAndBucketThenOneRowIsIncremented() {
+
+        rollup.record(List.of(
+                sample(HOUR.plusMinutes(5), Duration.ofMinutes(30)),
+                sample(HOUR.plusMinutes(50), Duration.ofMinutes(30))));
+        rollup.record(List.of(sample(HOUR.plusMinutes(59), Duration.ofMinutes(30))));
+        rollup.record(List.of(sample(HOUR.plusHours(1), Duration.ofDays(2))));
+        rollup.flush();
+
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM transition_duration_rollup", Integer.class)).isEqualTo(2);
+
+        Map<LocalDateTime, DurationHistogram> hourly = rollup.findHourly(ApplicationStatus.CREATED, ApplicationStatus.PUBLISHED,
+                HOUR, HOUR.plusHours(2));
+
+        assertThat(hourly).containsOnlyKeys(HOUR, HOUR.plusHours(1));
+        assertThat(hourly.get(HOUR).getCount()).isEqualTo(3);
+        assertThat(hourly.get(HOUR).percentile(0.5)).isBetween(Duration.ofMinutes(30), Duration.ofMinutes(36));
+        assertThat(hourly.get(HOUR.plusHours(1)).getCount()).isEqualTo(1);
+        assertThat(rollup.findHourly(ApplicationStatus.CREATED, ApplicationStatus.VERIFIED, HOUR, HOUR.plusHours(2))).isEmpty();
+    }
+
+    private static TransitionSample sample(LocalDateTime at, Duration duration) {
+        return new TransitionSample(ApplicationStatus.CREATED, ApplicationStatus.PUBLISHED, at, duration);
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void whenRecordingTransactionRollsBackOrIsStillOpenThenNothingIsWritten() {
+
+        transactionTemplate.executeWithoutResult(status -> {
+            rollup.record(List.of(sample(HOUR, Duration.ofMinutes(30))));
+            rollup.flush();
+            assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM transition_duration_rollup", Integer.class)).isZero();
+            status.setRollbackOnly();
+        });
+        rollup.flush();
+
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM transition_duration_rollup", Integer.class)).isZero();
+    }
+}
@@ -0,0 +1,71 @@
+package roman.lazarchik.ApplicationManager.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class InvertedIndexTest {
+
+    private final InvertedIndex index = new InvertedIndex();
+
+    @Test
+    void whenTokenizingThenTextIsLowercasedAndSplitOnNonAlphanumerics() {
+
+        assertEquals(List.of("grant", "proposal", "2024", "v2"), InvertedIndex.tokenize("Grant-proposal, 2024 (v2)!"));
+    }
+
+    @Test
+    void whenSearchingSeveralWordsThenOnlyDocumentsContainingAllOfThemMatch() {
+
+        index.put(1L, "solar panel grant");
+        index.put(2L, "solar roof");
+        index.put(3L, "grant for solar research");
+
+        assertEquals(List.of(1L, 3L), ids(index.search("Solar grant", null, 10)));
+        assertTrue(index.search("solar wind", null, 10).isEmpty());
+    }
+
+    @Test
+    void whenSearchingThenHitsAreRankedByTermFrequencyAndPagedAfterTheCursor() {
+
+        index.put(1L, "river");
+        index.put(2L, "river river river");
+        index.put(3L, "river river");
+        index.put(4L, "river river");
+
+        List<SearchHit> first = index.search("river", null, 2);
+        List<SearchHit> second = index.search("river", first.get(1), 2);
+
+        assertEquals(List.of(2L, 3L), ids(first));
+        assertEquals(List.of(4L, 1L), ids(second));
+        assertEquals(3.0, first.get(0).rank());
+    }
+
+    @Test
+    void whenContentIsReplacedThenOldWordsNoLongerMatch() {
+
+        index.put(1L, "draft content");
+        index.put(1L, "final content");
+
+        assertTrue(index.search("draft", null, 10).isEmpty());
+        assertEquals(List.of(1L), ids(index.search("final", null, 10)));
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    void whenDocumentIsRemovedThenItNoLongerMatches() {
+
+        index.put(1L, "archived");
+        index.remove(1L);
+
+        assertTrue(index.search("archived", null, 10).isEmpty());
+        assertEquals(0, index.size());
+    }
+
+    private static List<Long> ids(List<SearchHit> hits) {
+        return hits.stream().map(SearchHit::id).toList();
+    }
+}
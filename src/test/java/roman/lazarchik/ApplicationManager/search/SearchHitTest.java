@@ -0,0 +1,39 @@
+package roman.lazarchik.ApplicationManager.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SearchHitTest {
+
+    @Test
+    void whenHitIsEncodedAsCursorThenItDecodesToTheSameRankAndId() {
+
+        SearchHit hit = new SearchHit(42L, 0.060793);
+
+        assertEquals(hit, SearchHit.fromCursor(hit.toCursor()));
+        assertEquals(new BigDecimal("0.060793"), BigDecimal.valueOf(SearchHit.fromCursor(hit.toCursor()).rank()));
+    }
+
+    @Test
+    void whenCursorIsMalformedThenIllegalArgumentExceptionIsThrown() {
+
+        assertThrows(IllegalArgumentException.class, () -> SearchHit.fromCursor("not-a-cursor"));
+    }
+
+    @Test
+    void whenComparingHitsThenHigherRankComesFirstAndTiesAreOrderedById() {
+
+        SearchHit cursor = new SearchHit(5L, 2.0);
+
+        assertTrue(new SearchHit(1L, 1.0).isAfter(cursor));
+        assertTrue(new SearchHit(6L, 2.0).isAfter(cursor));
+        assertFalse(new SearchHit(4L, 2.0).isAfter(cursor));
+        assertFalse(new SearchHit(9L, 3.0).isAfter(cursor));
+    }
+}
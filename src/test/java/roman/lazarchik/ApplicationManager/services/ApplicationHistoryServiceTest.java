@@ -11,6 +11,8 @@ import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 
+import java.time.LocalDateTime;
+
 @SpringBootTest
 class ApplicationHistoryServiceTest {
 
@@ -23,8 +25,7 @@ class ApplicationHistoryServiceTest {
     @Test
     void whenSaveHistoryThenHistoryIsSaved() {
 
-        ApplicationHistory history = new ApplicationHistory();
-        history.setStatus(ApplicationStatus.CREATED);
+        ApplicationHistory history = new ApplicationHistory(null, ApplicationStatus.CREATED, false, LocalDateTime.now());
 
         service.saveHistory(history);
 
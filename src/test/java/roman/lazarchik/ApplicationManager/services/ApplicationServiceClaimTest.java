@@ -0,0 +1,133 @@
+package roman.lazarchik.ApplicationManager.services;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import roman.lazarchik.ApplicationManager.exceptions.InvalidInputException;
+import roman.lazarchik.ApplicationManager.models.Application;
+import roman.lazarchik.ApplicationManager.models.ApplicationStatus;
+import roman.lazarchik.ApplicationManager.repositories.ApplicationHistoryRepository;
+import roman.lazarchik.ApplicationManager.repositories.ApplicationRepository;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = "application.claim.lease=1m")
+class ApplicationServiceClaimTest {
+
+    @Autowired
+    private ApplicationService applicationService;
+
+    @Autowired
+    private ApplicationRepository applicationRepository;
+
+    @Autowired
+    private ApplicationHistoryRepository applicationHistoryRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void setUp() {
+        applicationHistoryRepository.deleteAll();
+        applicationRepository.deleteAll();
+        for (int i = 0; i < 4; i++) {
+            Application app = new Application();
+            app.setName("Claim " + i);
+            app.setContent("Content " + i);
+            applicationService.createApplication(app);
+        }
+    }
+
+    @Test
+    void whenReviewersClaimConcurrentlyThenTheyReceiveDisjointApplicationsWithoutWaiting() throws Exception {
+
+        CountDownLatch firstClaimed = new CountDownLatch(1);
+        CountDownLatch releaseFirst = new CountDownLatch(1);
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+
+        CompletableFuture<List<Long>> first = CompletableFuture.supplyAsync(() -> transaction.execute(status -> {
+            List<Long> ids = ids(applicationService.claimApplications("alice", ApplicationStatus.CREATED, 2));
+            firstClaimed.countDown();
+            await(releaseFirst);
+            return ids;
+        }));
+        assertTrue(firstClaimed.await(5, TimeUnit.SECONDS));
+
+        List<Long> second = CompletableFuture
+                .supplyAsync(() -> ids(applicationService.claimApplications("bob", ApplicationStatus.CREATED, 2)))
+                .get(5, TimeUnit.SECONDS);
+        releaseFirst.countDown();
+
+        Set<Long> all = new HashSet<>(first.get(5, TimeUnit.SECONDS));
+        all.addAll(second);
+        assertEquals(2, second.size());
+        assertEquals(4, all.size());
+    }
+
+    @Test
+    void whenLeaseIsActiveThenApplicationIsNotClaimedAgain() {
+
+        applicationService.claimApplications("alice", ApplicationStatus.CREATED, 4);
+
+        assertTrue(applicationService.claimApplications("bob", ApplicationStatus.CREATED, 4).isEmpty());
+    }
+
+    @Test
+    void whenLeaseExpiresThenApplicationCanBeReclaimed() {
+
+        List<Application> claimed = applicationService.claimApplications("alice", ApplicationStatus.CREATED, 1);
+        Application app = applicationRepository.findById(claimed.get(0).getId()).orElseThrow();
+        app.setClaimExpiresAt(LocalDateTime.now().minusSeconds(1));
+        applicationRepository.save(app);
+
+        List<Application> reclaimed = applicationService.claimApplications("bob", ApplicationStatus.CREATED, 1);
+
+        assertEquals(app.getId(), reclaimed.get(0).getId());
+        assertEquals("bob", applicationRepository.findById(app.getId()).orElseThrow().getClaimedBy());
+    }
+
+    @Test
+    void whenClaimedApplicationTransitionsThenLeaseIsReleased() {
+
+        Long id = applicationService.claimApplications("alice", ApplicationStatus.CREATED, 1).get(0).getId();
+
+        applicationService.verifyApplication(id);
+
+        Application verified = applicationRepository.findById(id).orElseThrow();
+        assertNull(verified.getClaimedBy());
+        assertNull(verified.getClaimExpiresAt());
+    }
+
+    @Test
+    void whenStatusHasNoOutgoingTransitionThenClaimIsRejected() {
+
+        assertThrows(InvalidInputException.class,
+                () -> applicationService.claimApplications("alice", ApplicationStatus.PUBLISHED, 1));
+    }
+
+    private static List<Long> ids(List<Application> applications) {
+        return applications.stream().map(Application::getId).toList();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
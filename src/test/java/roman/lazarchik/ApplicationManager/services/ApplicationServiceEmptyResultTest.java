@@ -0,0 +1,69 @@
+package roman.lazarchik.ApplicationManager.services;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import roman.lazarchik.ApplicationManager.models.Application;
+import roman.lazarchik.ApplicationManager.models.ApplicationStatus;
+import roman.lazarchik.ApplicationManager.repositories.ApplicationRepository;
+
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest(properties = "application.search.empty-result-not-found=false")
+class ApplicationServiceEmptyResultTest {
+
+    @Autowired
+    private ApplicationService applicationService;
+
+    @MockBean
+    private ApplicationRepository applicationRepository;
+
+    @MockBean
+    private ApplicationHistoryService applicationHistoryService;
+
+    @Test
+    void whenGetApplicationsByNameAndStatusFindsNothingThenReturnEmptyPage() {
+
+        when(applicationRepository.findByNameContainingAndStatus(anyString(), any(ApplicationStatus.class), any(PageRequest.class)))
+                .thenReturn(new PageImpl<>(Collections.emptyList()));
+
+        Page<Application> result = applicationService.getApplicationsByNameAndStatus("Name", ApplicationStatus.CREATED, 0, 10);
+
+        assertTrue(result.isEmpty());
+        assertEquals(0, result.getTotalElements());
+    }
+
+    @Test
+    void whenGetApplicationsByStatusFindsNothingThenReturnEmptyPage() {
+
+        when(applicationRepository.findByStatus(any(ApplicationStatus.class), any(PageRequest.class)))
+                .thenReturn(new PageImpl<>(Collections.emptyList()));
+
+        Page<Application> result = applicationService.getApplicationsByStatus(ApplicationStatus.PUBLISHED, 0, 10);
+
+        assertTrue(result.isEmpty());
+    }
+
+    @Test
+    void whenGetApplicationsSliceFindsNothingThenReturnEmptySlice() {
+
+        when(applicationRepository.findSliceByNameContaining(anyString(), any(PageRequest.class)))
+                .thenReturn(new SliceImpl<>(Collections.emptyList()));
+
+        Slice<Application> result = applicationService.getApplicationsSlice("Name", null, 0, 10);
+
+        assertTrue(result.isEmpty());
+    }
+}
@@ -0,0 +1,150 @@
+package roman.lazarchik.ApplicationManager.services;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+import roman.lazarchik.ApplicationManager.analytics.DurationHistogram;
+import roman.lazarchik.ApplicationManager.analytics.DurationReport;
+import roman.lazarchik.ApplicationManager.analytics.DurationWindow;
+import roman.lazarchik.ApplicationManager.models.Application;
+import roman.lazarchik.ApplicationManager.models.ApplicationHistory;
+import roman.lazarchik.ApplicationManager.models.ApplicationStatus;
+import roman.lazarchik.ApplicationManager.models.ApplicationTransition;
+import roman.lazarchik.ApplicationManager.repositories.ApplicationHistoryRepository;
+import roman.lazarchik.ApplicationManager.repositories.ApplicationRepository;
+import roman.lazarchik.ApplicationManager.repositories.TransitionDurationRollup;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class ApplicationServiceHistoryTest {
+
+    @Autowired
+    private ApplicationService applicationService;
+
+    @Autowired
+    private ApplicationRepository applicationRepository;
+
+    @Autowired
+    private ApplicationHistoryRepository applicationHistoryRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransitionDurationRollup durationRollup;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        applicationHistoryRepository.deleteAll();
+        applicationRepository.deleteAll();
+        durationRollup.flush();
+        jdbcTemplate.update("DELETE FROM transition_duration_rollup");
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void whenApplicationIsTransitionedThenHistoryIsOnlyAppended() {
+
+        Long id = create("Single").getId();
+        statistics.clear();
+
+        applicationService.verifyApplication(id);
+
+        assertEquals(0, statistics.getCollectionLoadCount());
+        assertEquals(0, statistics.getCollectionUpdateCount());
+        assertEquals(1, statistics.getEntityInsertCount());
+        assertEquals(1, statistics.getEntityUpdateCount());
+        assertEquals(4, statistics.getPrepareStatementCount());
+        assertEquals(2, applicationHistoryRepository.count());
+    }
+
+    @Test
+    void whenApplicationsAreTransitionedInBulkThenOneHistoryInsertIsIssuedPerApplication() {
+
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            ids.add(create("Bulk " + i).getId());
+        }
+        statistics.clear();
+
+        applicationService.transitionApplications(ids, ApplicationTransition.VERIFY);
+
+        assertEquals(0, statistics.getCollectionLoadCount());
+        assertEquals(0, statistics.getCollectionUpdateCount());
+        assertEquals(5, statistics.getEntityInsertCount());
+        assertEquals(5, statistics.getEntityUpdateCount());
+        assertEquals(11, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void whenHistoryEntryIsLoadedInAWriteTransactionThenNoUpdateIsIssued() {
+
+        create("Immutable");
+        Long historyId = applicationHistoryRepository.findAll().get(0).getId();
+        statistics.clear();
+
+        transactionTemplate.executeWithoutResult(status -> applicationHistoryRepository.findById(historyId).orElseThrow());
+
+        assertEquals(0, statistics.getEntityUpdateCount());
+        assertEquals(ApplicationStatus.CREATED, applicationHistoryRepository.findById(historyId).map(ApplicationHistory::getStatus).orElseThrow());
+    }
+
+    @Test
+    void whenApplicationsArePublishedThenTransitionDurationsAreRolledUp() {
+
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            ids.add(create("Rollup " + i).getId());
+        }
+        applicationService.transitionApplications(ids, ApplicationTransition.VERIFY);
+        applicationService.transitionApplications(ids, ApplicationTransition.ACCEPT);
+        applicationService.publishApplication(ids.get(0));
+        durationRollup.flush();
+
+        LocalDateTime until = LocalDateTime.now().truncatedTo(ChronoUnit.HOURS).plusHours(1);
+        DurationReport published = applicationService.getTransitionDurations(ApplicationStatus.CREATED, ApplicationStatus.PUBLISHED,
+                until.minusHours(3), until, Duration.ofHours(1));
+        DurationReport accepted = applicationService.getTransitionDurations(ApplicationStatus.VERIFIED, ApplicationStatus.ACCEPTED,
+                until.minusHours(3), until, Duration.ofHours(3));
+
+        assertEquals(3, published.windows().size());
+        assertEquals(1, published.windows().get(2).histogram().getCount());
+        assertEquals(1, count(published));
+        assertEquals(1, accepted.windows().size());
+        assertEquals(3, count(accepted));
+        assertEquals(3, count(applicationService.getTransitionDurations(ApplicationStatus.CREATED, ApplicationStatus.ACCEPTED,
+                until.minusHours(3), until, Duration.ofHours(1))));
+    }
+
+    private static long count(DurationReport report) {
+        return report.windows().stream().map(DurationWindow::histogram).mapToLong(DurationHistogram::getCount).sum();
+    }
+
+    private Application create(String name) {
+        Application app = new Application();
+        app.setName(name);
+        app.setContent("Content of " + name);
+        return applicationService.createApplication(app);
+    }
+}
@@ -0,0 +1,86 @@
+package roman.lazarchik.ApplicationManager.services;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import roman.lazarchik.ApplicationManager.exceptions.InvalidInputException;
+import roman.lazarchik.ApplicationManager.models.Application;
+import roman.lazarchik.ApplicationManager.search.SearchPage;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = "application.search.max-limit=5")
+class ApplicationServiceSearchTest {
+
+    @Autowired
+    private ApplicationService applicationService;
+
+    private final String word = "w" + UUID.randomUUID().toString().replace("-", "");
+
+    @Test
+    void whenApplicationsAreCreatedThenTheyAreFoundByWordsInTheirContent() {
+
+        Application once = create("Search once", word + " appears once");
+        Application twice = create("Search twice", word + " appears " + word);
+        create("Search none", "unrelated text");
+
+        SearchPage page = applicationService.searchApplications(word.toUpperCase() + " appears", null, 5);
+
+        assertEquals(List.of(twice.getId(), once.getId()), ids(page));
+        assertFalse(page.hasNext());
+        assertNull(page.nextCursor());
+    }
+
+    @Test
+    void whenContentIsUpdatedThenSearchReflectsTheNewContent() {
+
+        Application app = create("Search update", "old wording");
+
+        applicationService.updateContent(app.getId(), "new " + word);
+
+        assertEquals(List.of(app.getId()), ids(applicationService.searchApplications(word, null, 5)));
+        assertTrue(applicationService.searchApplications(word + " old", null, 5).results().isEmpty());
+    }
+
+    @Test
+    void whenMoreHitsThanLimitThenNextCursorContinuesWithoutOverlap() {
+
+        for (int i = 0; i < 4; i++) {
+            create("Search page " + i, word + " number " + i);
+        }
+
+        SearchPage first = applicationService.searchApplications(word, null, 3);
+        SearchPage second = applicationService.searchApplications(word, first.nextCursor(), 3);
+
+        assertTrue(first.hasNext());
+        assertEquals(3, first.results().size());
+        assertEquals(1, second.results().size());
+        assertFalse(ids(first).contains(ids(second).get(0)));
+    }
+
+    @Test
+    void whenQueryHasNoWordsOrLimitIsOutOfRangeThenInvalidInputExceptionIsThrown() {
+
+        assertThrows(InvalidInputException.class, () -> applicationService.searchApplications(" ,. ", null, 5));
+        assertThrows(InvalidInputException.class, () -> applicationService.searchApplications(word, null, 6));
+        assertThrows(InvalidInputException.class, () -> applicationService.searchApplications(word, "%%%", 5));
+    }
+
+    private Application create(String name, String content) {
+        Application app = new Application();
+        app.setName(name + " " + word);
+        app.setContent(content);
+        return applicationService.createApplication(app);
+    }
+
+    private static List<Long> ids(SearchPage page) {
+        return page.results().stream().map(result -> result.application().getId()).toList();
+    }
+}
@@ -11,22 +11,43 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
-import roman.lazarchik.ApplicationManager.dto.ApplicationDTO;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import roman.lazarchik.ApplicationManager.analytics.DurationReport;
+import roman.lazarchik.ApplicationManager.changes.ChangeCursor;
+import roman.lazarchik.ApplicationManager.changes.ChangeLogEntry;
+import roman.lazarchik.ApplicationManager.changes.ChangePage;
+import roman.lazarchik.ApplicationManager.dto.ApplicationPageResponse;
 import roman.lazarchik.ApplicationManager.dto.DeleteDTO;
 import roman.lazarchik.ApplicationManager.dto.RejectDTO;
 import roman.lazarchik.ApplicationManager.exceptions.*;
+import roman.lazarchik.ApplicationManager.filter.ApplicationFilter;
+import roman.lazarchik.ApplicationManager.filter.ApplicationSortKey;
 import roman.lazarchik.ApplicationManager.models.Application;
 import roman.lazarchik.ApplicationManager.models.ApplicationHistory;
 import roman.lazarchik.ApplicationManager.models.ApplicationStatus;
+import roman.lazarchik.ApplicationManager.models.ApplicationTransition;
+import roman.lazarchik.ApplicationManager.models.ContentCodec;
+import roman.lazarchik.ApplicationManager.models.Reason;
+import roman.lazarchik.ApplicationManager.models.ReasonCodec;
 import roman.lazarchik.ApplicationManager.repositories.ApplicationRepository;
+import roman.lazarchik.ApplicationManager.repositories.ReasonDictionary;
+import roman.lazarchik.ApplicationManager.repositories.ReasonCount;
+import roman.lazarchik.ApplicationManager.repositories.StatusCount;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.*;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.AdditionalAnswers.returnsFirstArg;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @SpringBootTest
@@ -42,6 +63,12 @@ class ApplicationServiceTest {
     @MockBean
     private ApplicationHistoryService applicationHistoryService;
 
+    @MockBean
+    private PublishedNumberAllocator publishedNumberAllocator;
+
+    @Autowired
+    private ReasonDictionary reasonDictionary;
+
     @Test
     void whenCreateApplicationWithValidInputThenApplicationIsCreated() {
 
@@ -124,7 +151,7 @@ class ApplicationServiceTest {
         app.setName("Name");
         app.setContent("Content");
 
-        when(applicationRepository.findByNameAndContent("Name", "Content")).thenReturn(app);
+        when(applicationRepository.findByNameAndContentHash("Name", ContentCodec.hash("Content"))).thenReturn(app);
 
         Application newApp = new Application();
         newApp.setName("Name");
@@ -132,7 +159,7 @@ class ApplicationServiceTest {
 
         Application result = applicationService.createApplication(newApp);
 
-        verify(applicationRepository, times(1)).findByNameAndContent("Name", "Content");
+        verify(applicationRepository, times(1)).findByNameAndContentHash("Name", ContentCodec.hash("Content"));
         verify(applicationRepository, never()).save(any(Application.class));
         assertEquals(app, result);
     }
@@ -170,6 +197,20 @@ class ApplicationServiceTest {
         verify(applicationRepository, never()).save(any(Application.class));
     }
 
+    @Test
+    void whenUpdateContentThrowsExceptionApplicationNotFoundThenStackTraceIsNotCaptured() {
+
+        long someId = 1L;
+
+        when(applicationRepository.findById(someId)).thenReturn(Optional.empty());
+
+        ApplicationNotFoundException ex = assertThrows(ApplicationNotFoundException.class,
+                () -> applicationService.updateContent(someId, "New Content"));
+
+        assertEquals("Application not found with ID: " + someId, ex.getMessage());
+        assertEquals(0, ex.getStackTrace().length);
+    }
+
     @Test
     void whenUpdateContentThrowsExceptionContentEditNotAllowed() {
 
@@ -652,7 +693,7 @@ class ApplicationServiceTest {
         app.setStatus(ApplicationStatus.ACCEPTED);
 
         when(applicationRepository.findById(someId)).thenReturn(Optional.of(app));
-        when(applicationRepository.findMaxPublishedNumber()).thenReturn(Optional.of(10));
+        when(publishedNumberAllocator.allocate(1)).thenReturn(11);
         when(applicationRepository.save(any(Application.class))).then(returnsFirstArg());
 
         Application publishedApplication = applicationService.publishApplication(someId);
@@ -743,8 +784,8 @@ class ApplicationServiceTest {
     @Test
     public void whenGetApplicationsByNameAndStatusWithValidInput() {
 
-        Application app1 = new Application(1L, "Name1", "Content1", ApplicationStatus.CREATED, null, null, 0);
-        Application app2 = new Application(2L, "Name2", "Content2", ApplicationStatus.CREATED, null, null, 0);
+        Application app1 = new Application(1L, "Name1", "Content1", ApplicationStatus.CREATED, null, 0, null, null, null, null);
+        Application app2 = new Application(2L, "Name2", "Content2", ApplicationStatus.CREATED, null, 0, null, null, null, null);
         List<Application> applications = Arrays.asList(app1, app2);
 
         Page<Application> expectedPage = new PageImpl<>(applications);
@@ -797,8 +838,8 @@ class ApplicationServiceTest {
     @Test
     public void whenGetApplicationsByNameWithValidInput() {
 
-        Application app1 = new Application(1L, "Name1", "Content1", ApplicationStatus.CREATED, null, null, 0);
-        Application app2 = new Application(2L, "Name2", "Content2", ApplicationStatus.CREATED, null, null, 0);
+        Application app1 = new Application(1L, "Name1", "Content1", ApplicationStatus.CREATED, null, 0, null, null, null, null);
+        Application app2 = new Application(2L, "Name2", "Content2", ApplicationStatus.CREATED, null, 0, null, null, null, null);
         List<Application> applications = Arrays.asList(app1, app2);
 
         Page<Application> expectedPage = new PageImpl<>(applications);
@@ -851,8 +892,8 @@ class ApplicationServiceTest {
     @Test
     public void whenGetApplicationsByStatusWithValidInput() {
 
-        Application app1 = new Application(1L, "Name1", "Content1", ApplicationStatus.CREATED, null, null, 0);
-        Application app2 = new Application(2L, "Name2", "Content2", ApplicationStatus.CREATED, null, null, 0);
+        Application app1 = new Application(1L, "Name1", "Content1", ApplicationStatus.CREATED, null, 0, null, null, null, null);
+        Application app2 = new Application(2L, "Name2", "Content2", ApplicationStatus.CREATED, null, 0, null, null, null, null);
         List<Application> applications = Arrays.asList(app1, app2);
 
         Page<Application> expectedPage = new PageImpl<>(applications);
@@ -895,8 +936,8 @@ class ApplicationServiceTest {
     @Test
     public void whenGetAllApplicationsThenReturnsPaginatedApplications() {
 
-        Application app1 = new Application(1L, "Name1", "Content1", ApplicationStatus.CREATED, null, null, 0);
-        Application app2 = new Application(2L, "Name2", "Content2", ApplicationStatus.CREATED, null, null, 0);
+        Application app1 = new Application(1L, "Name1", "Content1", ApplicationStatus.CREATED, null, 0, null, null, null, null);
+        Application app2 = new Application(2L, "Name2", "Content2", ApplicationStatus.CREATED, null, 0, null, null, null, null);
         List<Application> applications = Arrays.asList(app1, app2);
 
         Page<Application> expectedPage = new PageImpl<>(applications);
@@ -925,58 +966,393 @@ class ApplicationServiceTest {
         verify(applicationRepository, times(1)).findAll(any(PageRequest.class));
     }
 
+    @Test
+    public void whenGetApplicationsSliceByStatusThenCountIsNotQueried() {
+
+        Application app1 = new Application(1L, "Name1", "Content1", ApplicationStatus.CREATED, null, 0, null, null, null, null);
+        Slice<Application> expectedSlice = new SliceImpl<>(List.of(app1), PageRequest.of(0, 1), true);
+
+        when(applicationRepository.findSliceByStatus(any(ApplicationStatus.class), any(PageRequest.class)))
+                .thenReturn(expectedSlice);
+
+        Slice<Application> result = applicationService.getApplicationsSlice(null, ApplicationStatus.CREATED, 0, 1);
+
+        assertTrue(result.hasNext());
+        verify(applicationRepository, times(1)).findSliceByStatus(any(ApplicationStatus.class), any(PageRequest.class));
+        verify(applicationRepository, never()).findByStatus(any(ApplicationStatus.class), any(PageRequest.class));
+    }
+
+    @Test
+    public void whenGetApplicationsSliceWithoutFiltersThenReturnsSlice() {
+
+        when(applicationRepository.findSliceBy(any(PageRequest.class))).thenReturn(new SliceImpl<>(Collections.emptyList()));
+
+        Slice<Application> result = applicationService.getApplicationsSlice(null, null, 0, 10);
+
+        assertTrue(result.isEmpty());
+        verify(applicationRepository, times(1)).findSliceBy(any(PageRequest.class));
+    }
+
+    @Test
+    void whenGetApplicationsSliceByNameThrowsExceptionApplicationNotFound() {
+
+        when(applicationRepository.findSliceByNameContaining(anyString(), any(PageRequest.class)))
+                .thenReturn(new SliceImpl<>(Collections.emptyList()));
+
+        assertThrows(ApplicationNotFoundException.class, () ->
+                applicationService.getApplicationsSlice("Name", null, 0, 10));
+    }
+
+    @Test
+    void whenGetApplicationsSliceThrowsExceptionInvalidInput() {
+
+        assertThrows(InvalidInputException.class, () ->
+                applicationService.getApplicationsSlice(" ", ApplicationStatus.CREATED, 0, 10));
+
+        verify(applicationRepository, never()).findSliceByNameContainingAndStatus(anyString(), any(ApplicationStatus.class), any(PageRequest.class));
+    }
+
+    @Test
+    public void whenGetApproximateApplicationsResponseThenTotalIsFlaggedApproximate() {
+
+        List<Application> applications = Arrays.asList(new Application(), new Application());
+        Slice<Application> slice = new SliceImpl<>(applications, PageRequest.of(0, 2), true);
+
+        ApplicationPageResponse response = applicationService.getPaginatedApplicationsResponse(slice, 41L);
+
+        assertTrue(response.isTotalApproximate());
+        assertEquals(41L, response.getTotalItems());
+        assertEquals(21, response.getTotalPages());
+    }
+
+    @Test
+    public void whenGetApproximateApplicationsResponseWithLowEstimateThenTotalCoversSeenRows() {
+
+        List<Application> applications = Arrays.asList(new Application(), new Application());
+        Slice<Application> slice = new SliceImpl<>(applications, PageRequest.of(3, 2), true);
+
+        ApplicationPageResponse response = applicationService.getPaginatedApplicationsResponse(slice, 0L);
+
+        assertEquals(9L, response.getTotalItems());
+    }
+
     @Test
     public void whenGetPaginatedApplicationsResponseWithFullPage() {
 
-        List<ApplicationDTO> applicationList = Arrays.asList(new ApplicationDTO(), new ApplicationDTO());
-        Page<ApplicationDTO> applicationPage = new PageImpl<>(applicationList);
+        List<Application> applicationList = Arrays.asList(new Application(), new Application());
+        Page<Application> applicationPage = new PageImpl<>(applicationList);
 
-        Map<String, Object> response = applicationService.getPaginatedApplicationsResponse(applicationPage);
+        ApplicationPageResponse response = applicationService.getPaginatedApplicationsResponse(applicationPage);
 
-        assertEquals(applicationList, response.get("applications"));
-        assertEquals(0, response.get("currentPage"));
-        assertEquals(2L, response.get("totalItems"));
-        assertEquals(1, response.get("totalPages"));
+        assertEquals(applicationList, response.getApplications());
+        assertEquals(0, response.getCurrentPage());
+        assertEquals(2L, response.getTotalItems());
+        assertEquals(1, response.getTotalPages());
     }
 
     @Test
     public void whenGetPaginatedApplicationsResponseWithEmptyList() {
 
-        Page<ApplicationDTO> applicationPage = new PageImpl<>(Collections.emptyList());
-
-        Map<String, Object> response = applicationService.getPaginatedApplicationsResponse(applicationPage);
+        Page<Application> applicationPage = new PageImpl<>(Collections.emptyList());
 
-        assertTrue(response.containsKey("applications"));
-        assertTrue(response.containsKey("currentPage"));
-        assertTrue(response.containsKey("totalItems"));
-        assertTrue(response.containsKey("totalPages"));
+        ApplicationPageResponse response = applicationService.getPaginatedApplicationsResponse(applicationPage);
 
-        assertEquals(Collections.emptyList(), response.get("applications"));
+        assertEquals(Collections.emptyList(), response.getApplications());
 
-        assertEquals(0, response.get("currentPage"));
-        assertEquals(0L, response.get("totalItems"));
-        assertEquals(1, response.get("totalPages"));
+        assertEquals(0, response.getCurrentPage());
+        assertEquals(0L, response.getTotalItems());
+        assertEquals(1, response.getTotalPages());
     }
 
     @Test
     public void whenGetPaginatedApplicationsResponseWithLargeDataset() {
 
         long totalElements = 100;
-        List<ApplicationDTO> applications = new ArrayList<>();
+        List<Application> applications = new ArrayList<>();
         for (int i = 0; i < totalElements; i++) {
-            applications.add(new ApplicationDTO());
+            applications.add(new Application());
         }
 
         int page = 5;
         int size = 10;
-        Page<ApplicationDTO> applicationPage = new PageImpl<>(applications, PageRequest.of(page, size), totalElements);
+        Page<Application> applicationPage = new PageImpl<>(applications, PageRequest.of(page, size), totalElements);
+
+        ApplicationPageResponse response = applicationService.getPaginatedApplicationsResponse(applicationPage);
+
+        assertNotNull(response.getApplications());
+        assertEquals(page, response.getCurrentPage());
+        assertEquals(totalElements, response.getTotalItems());
+        assertEquals((int) Math.ceil((double) totalElements / size), response.getTotalPages());
+
+    }
+
+    @Test
+    void whenGetApplicationTwiceThenRepositoryIsQueriedOnce() {
+
+        Application app = new Application();
+        app.setId(700L);
+        app.setStatus(ApplicationStatus.CREATED);
+
+        when(applicationRepository.findWithContentById(700L)).thenReturn(Optional.of(app));
+
+        assertEquals(app, applicationService.getApplication(700L));
+        assertEquals(app, applicationService.getApplication(700L));
+
+        verify(applicationRepository, times(1)).findWithContentById(700L);
+    }
+
+    @Test
+    void whenApplicationChangesThenCachedApplicationIsEvicted() {
+
+        Application app = new Application();
+        app.setId(701L);
+        app.setStatus(ApplicationStatus.CREATED);
+
+        when(applicationRepository.findById(701L)).thenReturn(Optional.of(app));
+        when(applicationRepository.findWithContentById(701L)).thenReturn(Optional.of(app));
+        when(applicationRepository.save(any(Application.class))).then(returnsFirstArg());
+
+        applicationService.getApplication(701L);
+        applicationService.verifyApplication(701L);
+        Application reloaded = applicationService.getApplication(701L);
+
+        assertEquals(ApplicationStatus.VERIFIED, reloaded.getStatus());
+        verify(applicationRepository, times(2)).findWithContentById(701L);
+        verify(applicationRepository, times(1)).findById(701L);
+    }
+
+    @Test
+    void whenGetMissingApplicationThenNotFoundIsThrown() {
+
+        when(applicationRepository.findWithContentById(702L)).thenReturn(Optional.empty());
+
+        assertThrows(ApplicationNotFoundException.class, () -> applicationService.getApplication(702L));
+    }
+
+    @Test
+    void whenTransitionApplicationsThenAllAreMovedAndHistoryIsSaved() {
+
+        Application first = new Application();
+        first.setId(801L);
+        first.setStatus(ApplicationStatus.CREATED);
+        Application second = new Application();
+        second.setId(802L);
+        second.setStatus(ApplicationStatus.CREATED);
+
+        when(applicationRepository.findAllById(List.of(801L, 802L))).thenReturn(List.of(first, second));
+
+        List<Application> result = applicationService.transitionApplications(List.of(801L, 802L), ApplicationTransition.VERIFY);
+
+        assertTrue(result.stream().allMatch(app -> app.getStatus() == ApplicationStatus.VERIFIED));
+        verify(applicationRepository, times(1)).saveAll(List.of(first, second));
+        verify(applicationHistoryService, times(1)).saveHistories(argThat(histories -> histories.size() == 2));
+    }
+
+    @Test
+    void whenTransitionApplicationsWithWrongStatusThenNoneAreSaved() {
+
+        Application first = new Application();
+        first.setId(803L);
+        first.setStatus(ApplicationStatus.CREATED);
+        Application second = new Application();
+        second.setId(804L);
+        second.setStatus(ApplicationStatus.ACCEPTED);
+
+        when(applicationRepository.findAllById(List.of(803L, 804L))).thenReturn(List.of(first, second));
+
+        assertThrows(InvalidApplicationStatusException.class,
+                () -> applicationService.transitionApplications(List.of(803L, 804L), ApplicationTransition.VERIFY));
+
+        verify(applicationRepository, never()).saveAll(any());
+        assertEquals(ApplicationStatus.CREATED, first.getStatus());
+    }
+
+    @Test
+    void whenTransitionApplicationsWithMissingIdThenNotFoundIsThrown() {
+
+        when(applicationRepository.findAllById(List.of(805L, 806L))).thenReturn(List.of(new Application()));
+
+        assertThrows(ApplicationNotFoundException.class,
+                () -> applicationService.transitionApplications(List.of(805L, 806L), ApplicationTransition.ACCEPT));
+    }
+
+    @Test
+    void whenCountApplicationsByStatusThenEveryStatusIsPresentAndMissingOnesAreZero() {
+
+        StatusCount created = statusCount(ApplicationStatus.CREATED, 4);
+        when(applicationRepository.countGroupedByStatusWithNameContaining("Name")).thenReturn(List.of(created));
+
+        Map<ApplicationStatus, Long> counts = applicationService.countApplicationsByStatus("Name");
+
+        assertEquals(ApplicationStatus.values().length, counts.size());
+        assertEquals(4L, counts.get(ApplicationStatus.CREATED));
+        assertEquals(0L, counts.get(ApplicationStatus.PUBLISHED));
+        verify(applicationRepository, never()).countGroupedByStatus();
+    }
+
+    @Test
+    void whenCountApplicationsByStatusWithBlankNameThenInvalidInputIsThrown() {
+
+        assertThrows(InvalidInputException.class, () -> applicationService.countApplicationsByStatus(" "));
+
+        verify(applicationRepository, never()).countGroupedByStatusWithNameContaining(anyString());
+    }
+
+    private static StatusCount statusCount(ApplicationStatus status, long count) {
+        return new StatusCount() {
+            @Override
+            public ApplicationStatus getStatus() {
+                return status;
+            }
+
+            @Override
+            public long getCount() {
+                return count;
+            }
+        };
+    }
+
+    @Test
+    void whenFilterApplicationsThenSliceIsFetchedWithTheFilterSort() {
+
+        ApplicationFilter filter = ApplicationFilter.builder().publishedNumberFrom(3).direction(Sort.Direction.DESC).build();
+        Slice<Application> slice = new SliceImpl<>(List.of(new Application()), PageRequest.of(1, 5, filter.toSort()), false);
+        when(applicationRepository.findSlice(any(), eq(PageRequest.of(1, 5, Sort.by(Sort.Direction.DESC, "publishedNumber", "id")))))
+                .thenReturn(slice);
+
+        assertSame(slice, applicationService.filterApplications(filter, 1, 5));
+    }
+
+    @Test
+    void whenFilterIsNotIndexBackedThenRepositoryIsNotQueried() {
+
+        ApplicationFilter filter = ApplicationFilter.builder().namePrefix("Grant").sort(ApplicationSortKey.CREATED_AT).build();
+
+        assertThrows(InvalidInputException.class, () -> applicationService.filterApplications(filter, 0, 5));
+
+        verify(applicationRepository, never()).findSlice(any(), any());
+    }
+
+    @Test
+    void whenPublishedRangeIsTooLargeThenInvalidInputIsThrown() {
+
+        assertThrows(InvalidInputException.class, () -> applicationService.getPublishedApplications(1, 100_000));
+        assertThrows(InvalidInputException.class, () -> applicationService.getPublishedApplications(0, 10));
+    }
+
+    @Test
+    void whenRejectWithReasonCodeThenStockTextIsUsedAndFreeTextOverridesIt() {
+
+        long code = ReasonCodec.code("Incomplete documents");
+        reasonDictionary.intern(code, "Incomplete documents");
+        Application stock = new Application();
+        stock.setId(800L);
+        stock.setStatus(ApplicationStatus.VERIFIED);
+        Application overridden = new Application();
+        overridden.setId(801L);
+        overridden.setStatus(ApplicationStatus.VERIFIED);
+
+        when(applicationRepository.findById(800L)).thenReturn(Optional.of(stock));
+        when(applicationRepository.findById(801L)).thenReturn(Optional.of(overridden));
+
+        applicationService.rejectApplication(800L, new RejectDTO(null, ReasonCodec.format(code)));
+        applicationService.rejectApplication(801L, new RejectDTO("Passport page missing", ReasonCodec.format(code)));
+
+        assertEquals("Incomplete documents", stock.getReason());
+        assertEquals(code, stock.getReasonCode());
+        assertNull(stock.getReasonOverride());
+        assertEquals("Passport page missing", overridden.getReason());
+        assertEquals(code, overridden.getReasonCode());
+    }
+
+    @Test
+    void whenRejectWithUnknownReasonCodeThenInvalidInputIsThrown() {
+
+        Application app = new Application();
+        app.setId(802L);
+        app.setStatus(ApplicationStatus.VERIFIED);
+        when(applicationRepository.findById(802L)).thenReturn(Optional.of(app));
+
+        assertThrows(InvalidInputException.class,
+                () -> applicationService.rejectApplication(802L, new RejectDTO(null, ReasonCodec.format(42L))));
+        assertThrows(InvalidInputException.class,
+                () -> applicationService.rejectApplication(802L, new RejectDTO(null, "not-a-code")));
+        verify(applicationRepository, never()).save(any());
+    }
+
+    @Test
+    void whenCountApplicationsByReasonThenCodesAreResolvedToText() {
+
+        long code = ReasonCodec.code("Duplicate submission");
+        reasonDictionary.intern(code, "Duplicate submission");
+        ReasonCount count = mock(ReasonCount.class);
+        when(count.getCode()).thenReturn(code);
+        when(count.getCount()).thenReturn(7L);
+        when(applicationRepository.countGroupedByReason(ApplicationStatus.REJECTED)).thenReturn(List.of(count));
+
+        Map<Reason, Long> counts = applicationService.countApplicationsByReason(ApplicationStatus.REJECTED);
+
+        assertEquals(Map.of(new Reason(ReasonCodec.format(code), "Duplicate submission"), 7L), counts);
+        assertThrows(InvalidInputException.class, () -> applicationService.countApplicationsByReason(ApplicationStatus.CREATED));
+    }
+
+    @Test
+    void whenChangesAreInsideTheSettleWindowThenTheCursorStopsBeforeThem() {
+
+        LocalDateTime settled = LocalDateTime.now().minusMinutes(1);
+        LocalDateTime recent = LocalDateTime.now().plusSeconds(1);
+        Application first = new Application();
+        first.setId(1L);
+        Application second = new Application();
+        second.setId(2L);
+
+        when(applicationHistoryService.findChangesAfter(5L, 4)).thenReturn(List.of(
+                new ChangeLogEntry(6L, 1L, settled),
+                new ChangeLogEntry(7L, 2L, settled),
+                new ChangeLogEntry(8L, 1L, settled),
+                new ChangeLogEntry(9L, 2L, recent)));
+        when(applicationRepository.findWithContentByIdIn(any())).thenReturn(List.of(first, second));
+
+        ChangePage page = applicationService.getChanges(ChangeCursor.START.advance(0, 5).encode(), 4);
+
+        assertEquals(List.of(second, first), page.applications());
+        assertEquals(8L, page.next().position(0));
+        assertFalse(page.hasMore());
+    }
+
+    @Test
+    void whenChangesLimitOrCursorIsInvalidThenInvalidInputIsThrown() {
+
+        assertThrows(InvalidInputException.class, () -> applicationService.getChanges(null, 0));
+        assertThrows(InvalidInputException.class, () -> applicationService.getChanges(null, 1001));
+        assertThrows(InvalidInputException.class, () -> applicationService.getChanges("broken", 10));
+        verify(applicationHistoryService, never()).findChangesAfter(anyLong(), anyInt());
+    }
+
+    @Test
+    void whenDurationWindowsAreInvalidThenInvalidInputIsThrown() {
+
+        LocalDateTime until = LocalDateTime.now();
+
+        assertThrows(InvalidInputException.class, () -> applicationService.getTransitionDurations(
+                ApplicationStatus.CREATED, ApplicationStatus.CREATED, until.minusDays(1), until, Duration.ofHours(1)));
+        assertThrows(InvalidInputException.class, () -> applicationService.getTransitionDurations(
+                ApplicationStatus.CREATED, ApplicationStatus.PUBLISHED, until.minusDays(1), until, Duration.ofMinutes(90)));
+        assertThrows(InvalidInputException.class, () -> applicationService.getTransitionDurations(
+                ApplicationStatus.CREATED, ApplicationStatus.PUBLISHED, until, until.minusDays(1), Duration.ofHours(1)));
+        assertThrows(InvalidInputException.class, () -> applicationService.getTransitionDurations(
+                ApplicationStatus.CREATED, ApplicationStatus.PUBLISHED, until.minusDays(365), until, Duration.ofHours(1)));
+    }
+
+    @Test
+    void whenDurationRangeIsShorterThanAMinuteThenOneWindowIsReturned() {
 
-        Map<String, Object> response = applicationService.getPaginatedApplicationsResponse(applicationPage);
+        LocalDateTime since = LocalDateTime.now().truncatedTo(ChronoUnit.HOURS);
 
-        assertNotNull(response.get("applications"));
-        assertEquals(page, response.get("currentPage"));
-        assertEquals(totalElements, response.get("totalItems"));
-        assertEquals((int) Math.ceil((double) totalElements / size), response.get("totalPages"));
+        DurationReport report = applicationService.getTransitionDurations(
+                ApplicationStatus.CREATED, ApplicationStatus.PUBLISHED, since, since.plusSeconds(30), Duration.ofHours(1));
 
+        assertEquals(1, report.windows().size());
+        assertEquals(since.plusHours(1), report.windows().get(0).end());
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,135 @@
+package roman.lazarchik.ApplicationManager.services;
+
+import org.junit.jupiter.api.Test;
+import roman.lazarchik.ApplicationManager.analytics.TransitionSample;
+import roman.lazarchik.ApplicationManager.exceptions.ContentEditNotAllowedException;
+import roman.lazarchik.ApplicationManager.exceptions.InvalidApplicationStatusException;
+import roman.lazarchik.ApplicationManager.models.Application;
+import roman.lazarchik.ApplicationManager.models.ApplicationStatus;
+import roman.lazarchik.ApplicationManager.models.ApplicationTransition;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ApplicationStateMachineTest {
+
+    private final List<TransitionSample> recorded = new ArrayList<>();
+    private final ApplicationStateMachine stateMachine = new ApplicationStateMachine(count -> 41, recorded::addAll);
+
+    @Test
+    void whenAskingAllowedTransitionsThenMatrixMatchesLifecycle() {
+
+        assertEquals(EnumSet.of(ApplicationTransition.VERIFY, ApplicationTransition.DELETE, ApplicationTransition.EDIT_CONTENT),
+                stateMachine.allowedFrom(ApplicationStatus.CREATED));
+        assertEquals(EnumSet.of(ApplicationTransition.ACCEPT, ApplicationTransition.REJECT, ApplicationTransition.EDIT_CONTENT),
+                stateMachine.allowedFrom(ApplicationStatus.VERIFIED));
+        assertEquals(EnumSet.of(ApplicationTransition.PUBLISH, ApplicationTransition.REJECT),
+                stateMachine.allowedFrom(ApplicationStatus.ACCEPTED));
+        assertTrue(stateMachine.allowedFrom(ApplicationStatus.PUBLISHED).isEmpty());
+    }
+
+    @Test
+    void whenBatchMixesStatusesThenMaskCheckCoversAllOfThem() {
+
+        int mask = ApplicationStateMachine.statusMask(List.of(app(ApplicationStatus.VERIFIED), app(ApplicationStatus.ACCEPTED)));
+
+        assertTrue(ApplicationTransition.REJECT.isAllowedFromAll(mask));
+        assertFalse(ApplicationTransition.ACCEPT.isAllowedFromAll(mask));
+    }
+
+    @Test
+    void whenBatchIsPublishedThenNumbersAreAssignedFromOneBlock() {
+
+        List<Application> applications = List.of(app(ApplicationStatus.ACCEPTED), app(ApplicationStatus.ACCEPTED));
+
+        stateMachine.apply(ApplicationTransition.PUBLISH, applications, app -> {
+        });
+
+        assertEquals(41, applications.get(0).getPublishedNumber());
+        assertEquals(42, applications.get(1).getPublishedNumber());
+        assertTrue(applications.stream().allMatch(app -> app.getStatus() == ApplicationStatus.PUBLISHED));
+    }
+
+    @Test
+    void whenAnyApplicationIsInWrongStatusThenNothingChanges() {
+
+        List<Application> applications = List.of(app(ApplicationStatus.ACCEPTED), app(ApplicationStatus.CREATED));
+
+        InvalidApplicationStatusException exception = assertThrows(InvalidApplicationStatusException.class,
+                () -> stateMachine.apply(ApplicationTransition.PUBLISH, applications, app -> {
+                }));
+
+        assertEquals("Application can only be published in the ACCEPTED status", exception.getMessage());
+        assertNull(applications.get(0).getPublishedNumber());
+        assertEquals(ApplicationStatus.ACCEPTED, applications.get(0).getStatus());
+    }
+
+    @Test
+    void whenContentEditIsNotAllowedThenContentEditExceptionIsThrown() {
+
+        assertThrows(ContentEditNotAllowedException.class,
+                () -> stateMachine.apply(ApplicationTransition.EDIT_CONTENT, List.of(app(ApplicationStatus.ACCEPTED)), app -> {
+                }));
+    }
+
+    @Test
+    void whenHooksAreRegisteredThenTheyRunAfterEffectAndBeforeStatusChange() {
+
+        List<String> calls = new ArrayList<>();
+        stateMachine.on(ApplicationTransition.VERIFY, applications -> calls.add("hook:" + applications.get(0).getStatus()));
+
+        Application app = app(ApplicationStatus.CREATED);
+        stateMachine.apply(ApplicationTransition.VERIFY, List.of(app), ignored -> calls.add("effect"));
+
+        assertEquals(List.of("effect", "hook:CREATED"), calls);
+        assertEquals(ApplicationStatus.VERIFIED, app.getStatus());
+    }
+
+    @Test
+    void whenApplicationChangesStatusThenStepAndSinceCreationDurationsAreRecorded() {
+
+        LocalDateTime created = LocalDateTime.now().minusHours(3);
+        Application app = app(ApplicationStatus.VERIFIED);
+        app.setCreatedAt(created);
+        app.setStatusChangedAt(created.plusHours(1));
+
+        stateMachine.apply(ApplicationTransition.ACCEPT, List.of(app), ignored -> {
+        });
+
+        assertEquals(2, recorded.size());
+        assertEquals(ApplicationStatus.VERIFIED, recorded.get(0).from());
+        assertEquals(ApplicationStatus.ACCEPTED, recorded.get(0).to());
+        assertEquals(Duration.between(created.plusHours(1), recorded.get(0).at()), recorded.get(0).duration());
+        assertEquals(ApplicationStatus.CREATED, recorded.get(1).from());
+        assertEquals(Duration.between(created, recorded.get(1).at()), recorded.get(1).duration());
+        assertEquals(recorded.get(0).at(), app.getStatusChangedAt());
+    }
+
+    @Test
+    void whenContentIsEditedThenNoDurationIsRecorded() {
+
+        Application app = app(ApplicationStatus.CREATED);
+        app.setCreatedAt(LocalDateTime.now());
+
+        stateMachine.apply(ApplicationTransition.EDIT_CONTENT, List.of(app), ignored -> {
+        });
+
+        assertTrue(recorded.isEmpty());
+        assertNull(app.getStatusChangedAt());
+    }
+
+    private static Application app(ApplicationStatus status) {
+        Application app = new Application();
+        app.setStatus(status);
+        return app;
+    }
+}
@@ -0,0 +1,114 @@
+package roman.lazarchik.ApplicationManager.services;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import roman.lazarchik.ApplicationManager.models.Application;
+import roman.lazarchik.ApplicationManager.models.ApplicationHistory;
+import roman.lazarchik.ApplicationManager.models.ApplicationStatus;
+import roman.lazarchik.ApplicationManager.repositories.ApplicationHistoryRepository;
+import roman.lazarchik.ApplicationManager.repositories.ApplicationRepository;
+import roman.lazarchik.ApplicationManager.repositories.SchedulerLock;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = {
+        "application.auto-publish.enabled=true",
+        "application.auto-publish.interval=3600000",
+        "application.auto-publish.chunk-size=2"
+})
+class AutoPublisherTest {
+
+    @Autowired
+    private AutoPublisher autoPublisher;
+
+    @Autowired
+    private ApplicationService applicationService;
+
+    @Autowired
+    private ApplicationRepository applicationRepository;
+
+    @Autowired
+    private ApplicationHistoryRepository applicationHistoryRepository;
+
+    @Autowired
+    private SchedulerLock schedulerLock;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        applicationHistoryRepository.deleteAll();
+        applicationRepository.deleteAll();
+        jdbcTemplate.update("DELETE FROM published_number_counter");
+    }
+
+    @Test
+    void whenAcceptedApplicationsExistThenAllArePublishedWithContiguousNumbers() {
+
+        List<Long> ids = acceptApplications(5);
+        Application created = new Application();
+        created.setName("Still created");
+        created.setContent("Content");
+        applicationService.createApplication(created);
+
+        autoPublisher.publishAccepted();
+
+        List<Integer> numbers = applicationRepository.findAllById(ids).stream()
+                .peek(app -> assertEquals(ApplicationStatus.PUBLISHED, app.getStatus()))
+                .map(Application::getPublishedNumber)
+                .sorted()
+                .toList();
+        assertEquals(List.of(1, 2, 3, 4, 5), numbers);
+        assertEquals(ApplicationStatus.CREATED, applicationRepository.findById(created.getId()).orElseThrow().getStatus());
+        assertEquals(5, applicationHistoryRepository.findAll().stream()
+                .map(ApplicationHistory::getStatus)
+                .filter(status -> status == ApplicationStatus.PUBLISHED)
+                .count());
+    }
+
+    @Test
+    void whenAnotherNodeHoldsTheLockThenChunkIsSkipped() throws Exception {
+
+        acceptApplications(2);
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+
+        List<Application> published = transaction.execute(status -> {
+            assertTrue(schedulerLock.tryLock(SchedulerLock.AUTO_PUBLISH));
+            try {
+                return CompletableFuture.supplyAsync(() -> applicationService.publishAcceptedChunk(2)).get(5, TimeUnit.SECONDS);
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+
+        assertTrue(published.isEmpty());
+        assertEquals(2, applicationService.publishAcceptedChunk(2).size());
+    }
+
+    private List<Long> acceptApplications(int count) {
+        return IntStream.range(0, count).mapToObj(i -> {
+            Application app = new Application();
+            app.setName("Auto " + i);
+            app.setContent("Content " + i);
+            Long id = applicationService.createApplication(app).getId();
+            applicationService.verifyApplication(id);
+            applicationService.acceptApplication(id);
+            return id;
+        }).toList();
+    }
+}
@@ -0,0 +1,91 @@
+package roman.lazarchik.ApplicationManager.services;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import roman.lazarchik.ApplicationManager.datasource.DatabaseDialect;
+import roman.lazarchik.ApplicationManager.repositories.ReasonDictionary;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@Import({CounterPublishedNumberAllocator.class, ReasonDictionary.class, DatabaseDialect.class})
+class CounterPublishedNumberAllocatorTest {
+
+    private static final int THREADS = 8;
+    private static final int ALLOCATIONS = 25;
+
+    @Autowired
+    private CounterPublishedNumberAllocator allocator;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM published_number_counter");
+        jdbcTemplate.update("DELETE FROM application");
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void whenTheCounterIsMissingThenItStartsAboveTheHighestPublishedNumber() {
+
+        jdbcTemplate.update("INSERT INTO application (name, status, published_number) VALUES ('Published', 'PUBLISHED', 41)");
+
+        assertThat(allocator.allocate(3)).isEqualTo(42);
+        assertThat(allocator.allocate(1)).isEqualTo(45);
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void whenRangesAreAllocatedConcurrentlyThenTheyNeverOverlap() throws Exception {
+
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<List<Integer>>> futures = new ArrayList<>();
+        for (int thread = 0; thread < THREADS; thread++) {
+            int count = thread % 3 + 1;
+            futures.add(executor.submit(allocations(start, count)));
+        }
+        start.countDown();
+
+        List<Integer> numbers = new ArrayList<>();
+        for (Future<List<Integer>> future : futures) {
+            numbers.addAll(future.get(30, TimeUnit.SECONDS));
+        }
+        executor.shutdown();
+
+        assertThat(numbers).doesNotHaveDuplicates();
+        assertThat(numbers).containsExactlyInAnyOrderElementsOf(IntStream.rangeClosed(1, numbers.size()).boxed().toList());
+    }
+
+    private Callable<List<Integer>> allocations(CountDownLatch start, int count) {
+        return () -> {
+            start.await();
+            List<Integer> numbers = new ArrayList<>();
+            for (int i = 0; i < ALLOCATIONS; i++) {
+                int first = allocator.allocate(count);
+                for (int offset = 0; offset < count; offset++) {
+                    numbers.add(first + offset);
+                }
+            }
+            return numbers;
+        };
+    }
+}